@@ -132,7 +132,7 @@ public class BlogControllerIT {
 		controller.deleteArticle(savedArticle.getId());
 		List<Article> retrievedArticles = service.getAllArticles();
 		assertThat(retrievedArticles).isEmpty();
-		verify(view).articleDeleted();
+		verify(view).articleDeleted(savedArticle.getId());
 	}
 	
 	@Test
@@ -0,0 +1,114 @@
+package com.michael.app.blog.repository.mongo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testcontainers.mongodb.MongoDBContainer;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.repository.ArticleChangeFeed.Subscription;
+import com.michael.app.blog.repository.ArticleChangeListener;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+
+public class BlogMongoChangeFeedIT {
+
+	private static MongoDBContainer mongoContainer;
+	private String databaseName = "blog";
+	private String collectionName = "blog";
+	private MongoClient client;
+	private MongoCollection<Document> articleCollection;
+	private BlockingQueue<Object> events;
+	private Subscription subscription;
+
+	@BeforeClass
+	public static void setUpContainer() {
+		mongoContainer = new MongoDBContainer("mongo:5").withReplicaSet();
+		mongoContainer.start();
+	}
+
+	@AfterClass
+	public static void tearDownContainer() {
+		mongoContainer.stop();
+	}
+
+	@Before
+	public void setUp() {
+		client = MongoClients.create(mongoContainer.getReplicaSetUrl());
+		client.getDatabase(databaseName).drop();
+		articleCollection = client.getDatabase(databaseName).getCollection(collectionName);
+		articleCollection.insertOne(new Document("_id", new ObjectId()));
+		articleCollection.deleteMany(new Document());
+		events = new LinkedBlockingQueue<>();
+		subscription = new BlogMongoChangeFeed(client, databaseName, collectionName)
+			.watch(new ArticleChangeListener() {
+				@Override
+				public void articleChanged(Article article) {
+					events.add(article);
+				}
+
+				@Override
+				public void articleRemoved(String id) {
+					events.add(id);
+				}
+			});
+	}
+
+	@After
+	public void tearDown() {
+		subscription.close();
+		client.close();
+	}
+
+	@Test
+	public void testInsertReplaceAndDeleteAreDelivered() throws InterruptedException {
+		ObjectId id = new ObjectId();
+		awaitStreamOpened();
+		articleCollection.insertOne(articleDocument(id, "Parmesan eggplants"));
+		articleCollection.replaceOne(new Document("_id", id), articleDocument(id, "Steak"));
+		articleCollection.deleteOne(new Document("_id", id));
+		assertThat(nextEvent()).isEqualTo(new Article(id.toString(), "Parmesan eggplants", "I like them"));
+		assertThat(((Article) nextEvent()).getTitle()).isEqualTo("Steak");
+		assertThat(nextEvent()).isEqualTo(id.toString());
+	}
+
+	private void awaitStreamOpened() throws InterruptedException {
+		// the stream only reports changes made after it was opened, so probe until one arrives
+		ObjectId probe = new ObjectId();
+		for(int i = 0; i < 20 && events.isEmpty(); i++) {
+			articleCollection.replaceOne(new Document("_id", probe), articleDocument(probe, "probe"),
+				new ReplaceOptions().upsert(true));
+			Thread.sleep(BlogMongoChangeFeed.MAX_AWAIT_MILLIS);
+		}
+		articleCollection.deleteOne(new Document("_id", probe));
+		while(!(nextEvent() instanceof String))
+			;
+		events.clear();
+	}
+
+	private Object nextEvent() throws InterruptedException {
+		Object event = events.poll(10, TimeUnit.SECONDS);
+		assertThat(event).isNotNull();
+		return event;
+	}
+
+	private Document articleDocument(ObjectId id, String title) {
+		return new Document("_id", id)
+			.append("title", title)
+			.append("content", "I like them")
+			.append("tags", Arrays.asList());
+	}
+}
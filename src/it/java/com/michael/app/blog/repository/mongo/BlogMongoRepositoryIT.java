@@ -79,7 +79,7 @@ public class BlogMongoRepositoryIT {
 		Article article1 = new Article(id1, "Parmesan eggplants", "I like them");
 		Tag tag = new Tag("cooking");
 		Article article2 = new Article(id2, "Parmesan eggplants", "I like them");
-		article1.addTag(tag);
+		article1 = article1.withTag(tag);
 		addArticle(article1);
 		addArticle(article2);
 		assertThat(blogRepository.findAllWithTag(tag)).contains(article1);
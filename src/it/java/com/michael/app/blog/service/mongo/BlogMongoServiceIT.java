@@ -20,6 +20,7 @@ import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.michael.app.blog.guice.BlogSwingMongoDefaultModule;
 import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
 import com.michael.app.blog.model.Tag;
 import com.michael.app.blog.repository.BlogRepositoryFactory;
 import com.mongodb.client.MongoClient;
@@ -76,12 +77,28 @@ public class BlogMongoServiceIT {
 	public void testGetArticlesByTag() {
 		Article article = new Article(id , "Fettuccine Alfredo", "America thinks it's something special");
 		Tag tag = new Tag("cooking");
-		article.addTag(tag);
+		article = article.withTag(tag);
 		addArticle(article);
 		List<Article> retrievedArticles = service.getArticlesByTag("cooking");
 		assertThat(retrievedArticles).containsExactly(article);
 	}
 	
+	@Test
+	public void testGetArticlesPageWalksTheCollectionInIdOrder() {
+		Article first = service.saveArticle("Fettuccine Alfredo", "America thinks it's something special", Collections.emptySet());
+		Article second = service.saveArticle("Parmesan eggplants", "I like them", Set.of("cooking"));
+		assertThat(service.getArticlesPage(null, 1))
+			.extracting(ArticleSummary::getId)
+			.containsExactly(first.getId());
+		assertThat(service.getArticlesPage(first.getId(), 1))
+			.extracting(ArticleSummary::getId)
+			.containsExactly(second.getId());
+		assertThat(service.getArticlesPage(second.getId(), 1)).isEmpty();
+		assertThat(service.getArticlesByTagPage("cooking", null, 5))
+			.extracting(ArticleSummary::getTitle)
+			.containsExactly("Parmesan eggplants");
+	}
+	
 	@Test
 	public void testSaveArticle() {
 		tagLabels = Set.of("cooking");
@@ -104,7 +121,7 @@ public class BlogMongoServiceIT {
 	public void testUpdateArticle() {
 		tagLabels = Set.of("cooking");
 		Article article = service.saveArticle("Fettuccine Alfredo", "America thinks it's something special", Collections.emptySet());
-		article.addTag(new Tag("cooking"));
+		article = article.withTag(new Tag("cooking"));
 		Article updatedArticle = service.updateArticle(article.getId(), "Fettuccine Alfredo", "America thinks it's something special", tagLabels);
 		assertThat(article).isEqualTo(updatedArticle);
 	}
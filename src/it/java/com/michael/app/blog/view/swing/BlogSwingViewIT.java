@@ -109,9 +109,8 @@ public class BlogSwingViewIT extends AssertJSwingJUnitTestCase{
 		window.textBox("ContentTextBox").setText("");
 		window.textBox("ContentTextBox").enterText("test");
 		window.button(JButtonMatcher.withText("Save")).click();
-		article.setTitle("test");
-		article.setContent("test");
-		assertThat(window.list("articleList").contents()).containsExactly(article.toString());
+		Article updatedArticle = new Article(article.getId(), "test", "test", article.getTags());
+		assertThat(window.list("articleList").contents()).containsExactly(updatedArticle.toString());
 	}
 	
 	@Test
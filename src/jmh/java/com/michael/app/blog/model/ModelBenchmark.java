@@ -0,0 +1,84 @@
+package com.michael.app.blog.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ModelBenchmark {
+
+	@Param({ "0", "8" })
+	private int tagCount;
+
+	/**
+	 * A normalized label is found by {@link TagPool#intern(String)} without building a {@link Tag};
+	 * a raw one is trimmed and lower-cased into a new tag before the pooled one is returned.
+	 */
+	@Param({ "cooking", "  Cooking  " })
+	private String label;
+
+	private Tag tag;
+	private Article article;
+	private Article sameArticle;
+	private Article otherArticle;
+
+	@Setup
+	public void setUp() {
+		tag = new Tag("benchmark");
+		article = article("My favourite");
+		sameArticle = article("My favourite");
+		otherArticle = article("My favourite!");
+	}
+
+	@Benchmark
+	public Tag tagConstruction() {
+		return new Tag(label);
+	}
+
+	@Benchmark
+	public Tag tagIntern() {
+		return TagPool.intern(label);
+	}
+
+	@Benchmark
+	public int articleHashCode() {
+		return article.hashCode();
+	}
+
+	@Benchmark
+	public boolean articleEqualsEqual() {
+		return article.equals(sameArticle);
+	}
+
+	@Benchmark
+	public boolean articleEqualsDifferent() {
+		return article.equals(otherArticle);
+	}
+
+	@Benchmark
+	public Article articleWithTag() {
+		return article.withTag(tag);
+	}
+
+	private Article article(String content) {
+		Article built = new Article("000000000000000000000000", "Steak", content.repeat(50));
+		for(int i = 0; i < tagCount; i++)
+			built = built.withTag(new Tag("tag" + i));
+		return built;
+	}
+}
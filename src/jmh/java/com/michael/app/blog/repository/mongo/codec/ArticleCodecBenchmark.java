@@ -0,0 +1,91 @@
+package com.michael.app.blog.repository.mongo.codec;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
+import com.michael.app.blog.model.Tag;
+
+/**
+ * Article mapping to and from BSON. The codecs replaced the old Document mapping of the
+ * repository, so {@link #decodeDocument} keeps the generic Document decoding as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ArticleCodecBenchmark {
+
+	@Param({ "0", "8" })
+	private int tagCount;
+
+	@Param({ "100", "10000" })
+	private int contentLength;
+
+	private final ArticleCodec articleCodec = new ArticleCodec();
+	private final ArticleSummaryCodec summaryCodec = new ArticleSummaryCodec();
+	private final DocumentCodec documentCodec = new DocumentCodec();
+	private Article article;
+	private byte[] encoded;
+
+	@Setup
+	public void setUp() {
+		char[] content = new char[contentLength];
+		Arrays.fill(content, 'a');
+		article = new Article("000000000000000000000000", "Steak", new String(content));
+		for(int i = 0; i < tagCount; i++)
+			article = article.withTag(new Tag("tag" + i));
+		BasicOutputBuffer output = new BasicOutputBuffer();
+		articleCodec.encode(new BsonBinaryWriter(output), article, EncoderContext.builder().build());
+		encoded = output.toByteArray();
+	}
+
+	@Benchmark
+	public int encodeArticle() {
+		BasicOutputBuffer output = new BasicOutputBuffer();
+		articleCodec.encode(new BsonBinaryWriter(output), article, EncoderContext.builder().build());
+		return output.getSize();
+	}
+
+	@Benchmark
+	public Article decodeArticle() {
+		return articleCodec.decode(reader(), DecoderContext.builder().build());
+	}
+
+	@Benchmark
+	public ArticleSummary decodeSummary() {
+		return summaryCodec.decode(reader(), DecoderContext.builder().build());
+	}
+
+	@Benchmark
+	public Document decodeDocument() {
+		return documentCodec.decode(reader(), DecoderContext.builder().build());
+	}
+
+	private BsonBinaryReader reader() {
+		return new BsonBinaryReader(ByteBuffer.wrap(encoded));
+	}
+}
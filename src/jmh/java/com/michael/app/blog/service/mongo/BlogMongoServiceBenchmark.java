@@ -0,0 +1,105 @@
+package com.michael.app.blog.service.mongo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.mongodb.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.michael.app.blog.guice.BlogSwingMongoDefaultModule;
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.IndexManager;
+import com.mongodb.client.MongoClient;
+
+/**
+ * Service calls against the same MongoDB replica set container as the integration tests, so the
+ * numbers include the driver and a local round trip. Needs Docker, like the ITs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class BlogMongoServiceBenchmark {
+
+	private static final int ARTICLES = 1_000;
+	private static final int PAGE_SIZE = 20;
+
+	private MongoDBContainer mongoContainer;
+	private MongoClient client;
+	private BlogMongoService service;
+	private String id;
+	private String middleId;
+
+	@SuppressWarnings("resource")
+	@Setup
+	public void setUp() {
+		mongoContainer = new MongoDBContainer(DockerImageName.parse("mongo:5")).withReplicaSet();
+		mongoContainer.start();
+		Injector injector = Guice.createInjector(
+			new BlogSwingMongoDefaultModule()
+			.mongoHost(mongoContainer.getReplicaSetUrl())
+			.databaseName("benchmark-blog")
+			.collectionName("benchmark-blog"));
+		client = injector.getInstance(MongoClient.class);
+		service = injector.getInstance(BlogMongoService.class);
+		injector.getInstance(IndexManager.class).ensureIndexes();
+		List<Article> articles = new ArrayList<>();
+		for(int i = 0; i < ARTICLES; i++) {
+			Article article = new Article(null, "Recipe " + i, "Slow cooked for " + i + " minutes");
+			articles.add(article.withTag(new Tag(i % 2 == 0 ? "even" : "odd")));
+		}
+		List<Article> saved = service.saveArticles(articles, 100).getSavedArticles();
+		id = saved.get(0).getId();
+		middleId = saved.get(ARTICLES / 2).getId();
+	}
+
+	@TearDown
+	public void tearDown() {
+		client.close();
+		mongoContainer.stop();
+	}
+
+	@Benchmark
+	public Article getArticle() {
+		return service.getArticle(id);
+	}
+
+	@Benchmark
+	public List<ArticleSummary> getArticlesPage() {
+		return service.getArticlesPage(middleId, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<ArticleSummary> getArticlesByTagPage() {
+		return service.getArticlesByTagPage("even", middleId, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<ArticleSummary> searchArticles() {
+		return service.searchArticles("cooked 500", PAGE_SIZE);
+	}
+
+	@Benchmark
+	public Article updateArticle() {
+		return service.updateArticle(id, "Recipe 0", "Slow cooked for 0 minutes", Set.of("even"));
+	}
+}
@@ -1,73 +1,169 @@
 package com.michael.app.blog.controller;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
+import com.michael.app.blog.guice.ServiceExecutor;
+import com.michael.app.blog.guice.ViewExecutor;
+import com.michael.app.blog.metrics.MetricsRegistry;
+import com.michael.app.blog.metrics.OperationStats;
 import com.michael.app.blog.model.Article;
 import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.ArticleChangeFeed.Subscription;
+import com.michael.app.blog.repository.ArticleChangeListener;
 import com.michael.app.blog.service.BlogService;
 import com.michael.app.blog.view.BlogView;
 
 public class BlogController {
 	private BlogService service;
 	private BlogView view;
-	
+	private Executor serviceExecutor;
+	private Executor viewExecutor;
+	private MetricsRegistry metrics;
+	private final LatestRequest listing = new LatestRequest();
+	private final LatestRequest selection = new LatestRequest();
+	private Subscription articleChanges;
+
 	@Inject
-	public BlogController(BlogService service, @Assisted BlogView view) {
+	public BlogController(BlogService service, @Assisted BlogView view,
+		@ServiceExecutor Executor serviceExecutor, @ViewExecutor Executor viewExecutor, MetricsRegistry metrics) {
 		this.service = service;
 		this.view = view;
+		this.serviceExecutor = serviceExecutor;
+		this.viewExecutor = viewExecutor;
+		this.metrics = metrics;
 	}
-	
+
 	public void allArticles() {
-		try {
-			view.showAllArticles(service.getAllArticles());
-		} catch(Exception e) {
-			view.showError(e.getMessage());
-		}
+		submitLatest("allArticles", listing, service::getAllArticles, view::showAllArticles);
 	}
-	
+
 	public void allArticlesWithTag(String tagLabel) {
-		try {
-			view.showAllArticles(service.getArticlesByTag(tagLabel));
-		} catch(Exception e) {
-			view.showError(e.getMessage());
-		}
+		submitLatest("allArticlesWithTag", listing, () -> service.getArticlesByTag(tagLabel), view::showAllArticles);
 	}
-	
+
+	public void articlesPage(String afterId, int limit) {
+		submitLatest("articlesPage", listing, () -> service.getArticlesPage(afterId, limit),
+			page -> view.showArticlesPage(afterId, page), message -> view.showPageError(afterId, message));
+	}
+
+	public void articlesPageWithTag(String tagLabel, String afterId, int limit) {
+		submitLatest("articlesPageWithTag", listing, () -> service.getArticlesByTagPage(tagLabel, afterId, limit),
+			page -> view.showArticlesPage(afterId, page), message -> view.showPageError(afterId, message));
+	}
+
+	public void searchArticles(String query, int limit) {
+		submitLatest("searchArticles", listing, () -> service.searchArticles(query, limit), view::showSearchResults);
+	}
+
+	public void article(String id) {
+		submitLatest("article", selection, () -> service.getArticle(id), view::showArticle);
+	}
+
 	public void saveArticle(String title, String content, Set<String> tagLabels) {
-		try {
-			Article savedArticle = service.saveArticle(title, content, tagLabels);
-			view.articleAdded(savedArticle);
-		} catch(Exception e) {
-			view.showError("Error in article save - " + e.getMessage());
-		}
+		submit("saveArticle", () -> service.saveArticle(title, content, tagLabels),
+			view::articleAdded,
+			e -> view.showError("Error in article save - " + e.getMessage()));
 	}
-	
+
 	public void updateArticle(String id, String title, String content, Set<String> tagLabels) {
-		try {
-			Article updatedArticle = service.updateArticle(id, title, content, tagLabels);
-			view.articleUpdated(updatedArticle);
-		} catch(Exception e) {
-			view.showError("Error in article update - " + e.getMessage());
-		}
+		submit("updateArticle", () -> service.updateArticle(id, title, content, tagLabels),
+			view::articleUpdated,
+			e -> view.showError("Error in article update - " + e.getMessage()));
 	}
-	
+
 	public void deleteArticle(String id) {
+		submit("deleteArticle", () -> {
+				service.deleteArticle(id);
+				return id;
+			},
+			view::articleDeleted,
+			e -> view.showError("Error in article delete - " + e.getMessage()));
+	}
+
+	public synchronized void watchArticles() {
+		if(articleChanges != null)
+			articleChanges.close();
 		try {
-			service.deleteArticle(id);
-			view.articleDeleted();
+			articleChanges = service.watchArticles(new ArticleChangeListener() {
+				@Override
+				public void articleChanged(Article article) {
+					view.articleChanged(article);
+				}
+
+				@Override
+				public void articleRemoved(String id) {
+					view.articleRemoved(id);
+				}
+			});
 		} catch(Exception e) {
-			view.showError("Error in article delete - " + e.getMessage());
+			articleChanges = null;
+			view.showError(e.getMessage());
 		}
 	}
 
+	public synchronized void stopWatchingArticles() {
+		if(articleChanges != null)
+			articleChanges.close();
+		articleChanges = null;
+	}
+
 	public void tag(String tagLabel) {
 		try {
 			Tag tag = new Tag(tagLabel);
-			view.addedTag(tag);	
+			view.addedTag(tag);
 		} catch(Exception e) {
 			view.showError(e.getMessage());
 		}
 	}
+
+	private <T> void submitLatest(String action, LatestRequest latest, Supplier<T> query, Consumer<T> display) {
+		submitLatest(action, latest, query, display, view::showError);
+	}
+
+	private synchronized <T> void submitLatest(String action, LatestRequest latest, Supplier<T> query, Consumer<T> display,
+			Consumer<String> displayError) {
+		long request = latest.generation.incrementAndGet();
+		if(latest.pending != null)
+			latest.pending.cancel(false);
+		latest.pending = submit(action, query,
+			result -> {
+				if(request == latest.generation.get())
+					display.accept(result);
+			},
+			e -> {
+				if(request == latest.generation.get())
+					displayError.accept(e.getMessage());
+			});
+	}
+
+	private <T> CompletableFuture<T> submit(String action, Supplier<T> call, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+		OperationStats stats = metrics.operation("BlogController", action);
+		CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> stats.time(call), serviceExecutor);
+		future.whenCompleteAsync((result, error) -> {
+			if(error == null)
+				onSuccess.accept(result);
+			else
+				onError.accept(unwrap(error));
+		}, viewExecutor);
+		return future;
+	}
+
+	private Throwable unwrap(Throwable error) {
+		if(error instanceof CompletionException && error.getCause() != null)
+			return error.getCause();
+		return error;
+	}
+
+	private static class LatestRequest {
+		private final AtomicLong generation = new AtomicLong();
+		private CompletableFuture<?> pending;
+	}
 }
@@ -0,0 +1,50 @@
+package com.michael.app.blog.guice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.michael.app.blog.repository.ArticleChangeFeed;
+import com.michael.app.blog.repository.IndexManager;
+import com.michael.app.blog.repository.embedded.EmbeddedArticleStore;
+import com.michael.app.blog.repository.memory.BlogInMemoryChangeFeed;
+import com.michael.app.blog.repository.memory.BlogInMemoryIndexManager;
+import com.michael.app.blog.repository.memory.CommitPublisher;
+import com.michael.app.blog.transaction.BlogEmbeddedTransactionManager;
+import com.michael.app.blog.transaction.TransactionManager;
+
+/**
+ * Storage bindings of the embedded backend, which keeps the articles in a local log file. Like
+ * {@link BlogInMemoryModule}, install it as an override of {@link BlogSwingMongoDefaultModule}.
+ */
+public class BlogEmbeddedModule extends AbstractModule {
+
+	private Path dataFile = Paths.get("blog-articles.log");
+
+	@Override
+	protected void configure() {
+		bind(CommitPublisher.class).to(EmbeddedArticleStore.class);
+		bind(TransactionManager.class).annotatedWith(BackendTransactionManager.class).to(BlogEmbeddedTransactionManager.class).in(Singleton.class);
+		bind(IndexManager.class).to(BlogInMemoryIndexManager.class).in(Singleton.class);
+		bind(ArticleChangeFeed.class).to(BlogInMemoryChangeFeed.class).in(Singleton.class);
+	}
+
+	public BlogEmbeddedModule dataFile(Path dataFile) {
+		this.dataFile = dataFile;
+		return this;
+	}
+
+	@Provides
+	@Singleton
+	EmbeddedArticleStore articleStore() {
+		try {
+			return new EmbeddedArticleStore(dataFile);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open article log " + dataFile, e);
+		}
+	}
+}
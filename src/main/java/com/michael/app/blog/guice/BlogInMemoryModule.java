@@ -0,0 +1,29 @@
+package com.michael.app.blog.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Singleton;
+import com.michael.app.blog.repository.ArticleChangeFeed;
+import com.michael.app.blog.repository.IndexManager;
+import com.michael.app.blog.repository.memory.BlogInMemoryChangeFeed;
+import com.michael.app.blog.repository.memory.BlogInMemoryIndexManager;
+import com.michael.app.blog.repository.memory.CommitPublisher;
+import com.michael.app.blog.repository.memory.InMemoryArticleStore;
+import com.michael.app.blog.transaction.BlogInMemoryTransactionManager;
+import com.michael.app.blog.transaction.TransactionManager;
+
+/**
+ * Storage bindings of the in-memory backend. Install it as an override of
+ * {@link BlogSwingMongoDefaultModule}, whose Mongo client is then never created:
+ * {@code Modules.override(new BlogSwingMongoDefaultModule()).with(new BlogInMemoryModule())}.
+ */
+public class BlogInMemoryModule extends AbstractModule {
+
+	@Override
+	protected void configure() {
+		bind(InMemoryArticleStore.class).in(Singleton.class);
+		bind(CommitPublisher.class).to(InMemoryArticleStore.class);
+		bind(TransactionManager.class).annotatedWith(BackendTransactionManager.class).to(BlogInMemoryTransactionManager.class).in(Singleton.class);
+		bind(IndexManager.class).to(BlogInMemoryIndexManager.class).in(Singleton.class);
+		bind(ArticleChangeFeed.class).to(BlogInMemoryChangeFeed.class).in(Singleton.class);
+	}
+}
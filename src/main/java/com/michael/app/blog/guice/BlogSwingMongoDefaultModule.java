@@ -5,25 +5,56 @@ import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import com.michael.app.blog.controller.BlogController;
 import com.michael.app.blog.controller.BlogControllerFactory;
+import com.michael.app.blog.metrics.MeteredTransactionManager;
+import com.michael.app.blog.metrics.MetricsRegistry;
+import com.michael.app.blog.repository.ArticleChangeFeed;
 import com.michael.app.blog.repository.BlogRepository;
 import com.michael.app.blog.repository.BlogRepositoryFactory;
+import com.michael.app.blog.repository.IndexManager;
+import com.michael.app.blog.repository.cache.ArticleCache;
+import com.michael.app.blog.repository.cache.CachingTransactionManager;
+import com.michael.app.blog.repository.mongo.BlogMongoChangeFeed;
+import com.michael.app.blog.repository.mongo.CommandStatistics;
+import com.michael.app.blog.repository.mongo.ConnectionPoolStatistics;
+import com.michael.app.blog.repository.mongo.BlogMongoIndexManager;
 import com.michael.app.blog.repository.mongo.BlogMongoRepository;
 import com.michael.app.blog.service.BlogService;
 import com.michael.app.blog.service.mongo.BlogMongoService;
 import com.michael.app.blog.transaction.BlogMongoTransactionManager;
+import com.michael.app.blog.transaction.RetryPolicy;
+import com.michael.app.blog.transaction.TransactionProfile;
+import com.michael.app.blog.transaction.TransactionProfiles;
 import com.michael.app.blog.transaction.TransactionManager;
 import com.michael.app.blog.view.BlogView;
 import com.michael.app.blog.view.swing.BlogSwingView;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.TransactionOptions;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import javax.swing.SwingUtilities;
+
 public class BlogSwingMongoDefaultModule  extends AbstractModule {
 	
 	private String mongoHost = "mongodb://localhost";
 	private int mongoPort = 27017;
 	private String databaseName = "blog";
 	private String collectionName = "blog";
+	private boolean asyncController = false;
+	private ReadConcern readConcern = ReadConcern.DEFAULT;
+	private ReadPreference readPreference = ReadPreference.primary();
+	private long cacheMaxBytes = 0;
+	private long slowCommandMillis = 0;
+	private RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+	private MongoConnectionSettings connectionSettings = new MongoConnectionSettings();
+	private Map<TransactionProfile, TransactionOptions> transactionOptions = new EnumMap<>(TransactionProfile.class);
 
 	@Override
 	protected void configure() {
@@ -31,8 +62,16 @@ public class BlogSwingMongoDefaultModule  extends AbstractModule {
 		bind(Integer.class).annotatedWith(MongoPort.class).toInstance(mongoPort);
 		bind(String.class).annotatedWith(MongoDbName.class).toInstance(databaseName);
 		bind(String.class).annotatedWith(MongoCollectionName.class).toInstance(collectionName);
-		bind(TransactionManager.class).to(BlogMongoTransactionManager.class).in(Singleton.class);
+		bind(ReadConcern.class).toInstance(readConcern);
+		bind(ReadPreference.class).toInstance(readPreference);
+		bind(RetryPolicy.class).toInstance(retryPolicy);
+		bind(TransactionProfiles.class).toInstance(new TransactionProfiles(transactionOptions));
+		bind(ConnectionPoolStatistics.class).in(Singleton.class);
+		bind(TransactionManager.class).annotatedWith(BackendTransactionManager.class)
+			.to(BlogMongoTransactionManager.class).in(Singleton.class);
 		bind(BlogService.class).to(BlogMongoService.class).in(Singleton.class);
+		bind(IndexManager.class).to(BlogMongoIndexManager.class).in(Singleton.class);
+		bind(ArticleChangeFeed.class).to(BlogMongoChangeFeed.class).in(Singleton.class);
 		bind(BlogView.class).to(BlogSwingView.class);
 		install(new FactoryModuleBuilder()
 			.implement(BlogController.class, BlogController.class)
@@ -62,10 +101,104 @@ public class BlogSwingMongoDefaultModule  extends AbstractModule {
 		return this;
 	}
 	
+	public BlogSwingMongoDefaultModule readConcern(ReadConcern readConcern) {
+		this.readConcern = readConcern;
+		return this;
+	}
+	
+	public BlogSwingMongoDefaultModule readPreference(ReadPreference readPreference) {
+		this.readPreference = readPreference;
+		return this;
+	}
+	
+	public BlogSwingMongoDefaultModule cacheMaxBytes(long cacheMaxBytes) {
+		this.cacheMaxBytes = cacheMaxBytes;
+		return this;
+	}
+	
+	public BlogSwingMongoDefaultModule slowCommandMillis(long slowCommandMillis) {
+		this.slowCommandMillis = slowCommandMillis;
+		return this;
+	}
+	
+	public BlogSwingMongoDefaultModule retryPolicy(RetryPolicy retryPolicy) {
+		this.retryPolicy = retryPolicy;
+		return this;
+	}
+	
+	public BlogSwingMongoDefaultModule transactionOptions(TransactionProfile profile, TransactionOptions options) {
+		this.transactionOptions.put(profile, options);
+		return this;
+	}
+	
+	public BlogSwingMongoDefaultModule connectionSettings(MongoConnectionSettings connectionSettings) {
+		this.connectionSettings = connectionSettings;
+		return this;
+	}
+	
+	public BlogSwingMongoDefaultModule asyncController(boolean asyncController) {
+		this.asyncController = asyncController;
+		return this;
+	}
+	
+	@Provides
+	@Singleton
+	@ServiceExecutor
+	Executor serviceExecutor() {
+		if(!asyncController)
+			return Runnable::run;
+		return Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "blog-service");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	@Provides
+	@Singleton
+	@ViewExecutor
+	Executor viewExecutor() {
+		if(!asyncController)
+			return Runnable::run;
+		return SwingUtilities::invokeLater;
+	}
+	
+	@Provides
+	@Singleton
+	ArticleCache articleCache(ArticleChangeFeed changeFeed) {
+		ArticleCache cache = new ArticleCache(cacheMaxBytes);
+		// writes made by other processes only reach the cache through the change feed
+		if(cacheMaxBytes > 0)
+			changeFeed.watch(cache);
+		return cache;
+	}
+	
+	@Provides
+	@Singleton
+	MetricsRegistry metricsRegistry() {
+		return MetricsRegistry.platform();
+	}
+	
+	@Provides
+	@Singleton
+	TransactionManager transactionManager(@BackendTransactionManager TransactionManager backend, ArticleCache cache,
+			MetricsRegistry metrics) {
+		if(cacheMaxBytes > 0)
+			backend = new CachingTransactionManager(backend, cache);
+		return new MeteredTransactionManager(backend, metrics);
+	}
+	
+	@Provides
+	@Singleton
+	CommandStatistics commandStatistics(MetricsRegistry metrics) {
+		return new CommandStatistics(metrics, slowCommandMillis);
+	}
+	
 	@Provides
 	@Singleton
-	MongoClient mongoClient(@MongoHost String host, @MongoPort int port) {
-		return MongoClients.create(host + ":" + port);
+	MongoClient mongoClient(@MongoHost String host, @MongoPort int port, ConnectionPoolStatistics poolStatistics,
+			CommandStatistics commandStatistics) {
+		return MongoClients.create(connectionSettings.toClientSettings(host + ":" + port, poolStatistics, commandStatistics));
 	}
 	
 	@Provides
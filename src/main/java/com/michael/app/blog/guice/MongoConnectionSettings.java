@@ -0,0 +1,150 @@
+package com.michael.app.blog.guice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.ConnectionPoolListener;
+
+/**
+ * Connection pool, timeout and wire compression settings for the Mongo client.
+ * Settings left unset keep the value from the connection string or the driver default.
+ */
+public class MongoConnectionSettings {
+
+	private static final Logger LOGGER = Logger.getLogger(MongoConnectionSettings.class.getName());
+
+	private Integer maxPoolSize;
+	private Integer minPoolSize;
+	private Integer maxConnecting;
+	private Long maxWaitTimeMillis;
+	private Long maxConnectionIdleTimeMillis;
+	private Long maxConnectionLifeTimeMillis;
+	private Long serverSelectionTimeoutMillis;
+	private Long connectTimeoutMillis;
+	private Long readTimeoutMillis;
+	private List<String> compressors = new ArrayList<>();
+
+	public MongoConnectionSettings maxPoolSize(Integer maxPoolSize) {
+		this.maxPoolSize = maxPoolSize;
+		return this;
+	}
+
+	public MongoConnectionSettings minPoolSize(Integer minPoolSize) {
+		this.minPoolSize = minPoolSize;
+		return this;
+	}
+
+	public MongoConnectionSettings maxConnecting(Integer maxConnecting) {
+		this.maxConnecting = maxConnecting;
+		return this;
+	}
+
+	public MongoConnectionSettings maxWaitTimeMillis(Long maxWaitTimeMillis) {
+		this.maxWaitTimeMillis = maxWaitTimeMillis;
+		return this;
+	}
+
+	public MongoConnectionSettings maxConnectionIdleTimeMillis(Long maxConnectionIdleTimeMillis) {
+		this.maxConnectionIdleTimeMillis = maxConnectionIdleTimeMillis;
+		return this;
+	}
+
+	public MongoConnectionSettings maxConnectionLifeTimeMillis(Long maxConnectionLifeTimeMillis) {
+		this.maxConnectionLifeTimeMillis = maxConnectionLifeTimeMillis;
+		return this;
+	}
+
+	public MongoConnectionSettings serverSelectionTimeoutMillis(Long serverSelectionTimeoutMillis) {
+		this.serverSelectionTimeoutMillis = serverSelectionTimeoutMillis;
+		return this;
+	}
+
+	public MongoConnectionSettings connectTimeoutMillis(Long connectTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+		return this;
+	}
+
+	public MongoConnectionSettings readTimeoutMillis(Long readTimeoutMillis) {
+		this.readTimeoutMillis = readTimeoutMillis;
+		return this;
+	}
+
+	/**
+	 * Compressors in order of preference, among zstd, snappy and zlib. The server picks the
+	 * first one it also supports; zstd and snappy are skipped when their library is missing.
+	 */
+	public MongoConnectionSettings compressors(List<String> compressors) {
+		this.compressors = new ArrayList<>(compressors);
+		return this;
+	}
+
+	public MongoClientSettings toClientSettings(String connectionString, ConnectionPoolListener poolListener,
+			CommandListener commandListener) {
+		MongoClientSettings.Builder builder = MongoClientSettings.builder()
+			.applyConnectionString(new ConnectionString(connectionString))
+			.addCommandListener(commandListener)
+			.applyToConnectionPoolSettings(pool -> {
+				if(maxPoolSize != null)
+					pool.maxSize(maxPoolSize);
+				if(minPoolSize != null)
+					pool.minSize(minPoolSize);
+				if(maxConnecting != null)
+					pool.maxConnecting(maxConnecting);
+				if(maxWaitTimeMillis != null)
+					pool.maxWaitTime(maxWaitTimeMillis, TimeUnit.MILLISECONDS);
+				if(maxConnectionIdleTimeMillis != null)
+					pool.maxConnectionIdleTime(maxConnectionIdleTimeMillis, TimeUnit.MILLISECONDS);
+				if(maxConnectionLifeTimeMillis != null)
+					pool.maxConnectionLifeTime(maxConnectionLifeTimeMillis, TimeUnit.MILLISECONDS);
+				pool.addConnectionPoolListener(poolListener);
+			})
+			.applyToClusterSettings(cluster -> {
+				if(serverSelectionTimeoutMillis != null)
+					cluster.serverSelectionTimeout(serverSelectionTimeoutMillis, TimeUnit.MILLISECONDS);
+			})
+			.applyToSocketSettings(socket -> {
+				if(connectTimeoutMillis != null)
+					socket.connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS);
+				if(readTimeoutMillis != null)
+					socket.readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS);
+			});
+		if(!compressors.isEmpty())
+			builder.compressorList(availableCompressors());
+		return builder.build();
+	}
+
+	private List<MongoCompressor> availableCompressors() {
+		List<MongoCompressor> available = new ArrayList<>();
+		for(String name : compressors) {
+			switch(name.trim().toLowerCase()) {
+				case "zstd" -> {
+					if(onClasspath("com.github.luben.zstd.Zstd"))
+						available.add(MongoCompressor.createZstdCompressor());
+				}
+				case "snappy" -> {
+					if(onClasspath("org.xerial.snappy.Snappy"))
+						available.add(MongoCompressor.createSnappyCompressor());
+				}
+				case "zlib" -> available.add(MongoCompressor.createZlibCompressor());
+				default -> throw new IllegalArgumentException("Unknown compressor: " + name);
+			}
+		}
+		return available;
+	}
+
+	private static boolean onClasspath(String className) {
+		try {
+			Class.forName(className, false, MongoConnectionSettings.class.getClassLoader());
+			return true;
+		} catch(ClassNotFoundException e) {
+			LOGGER.info(() -> "Compression library " + className + " not found, compressor skipped");
+			return false;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.michael.app.blog.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.michael.app.blog.metrics.Histogram;
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.service.BlogService;
+
+/**
+ * Drives a {@link BlogService} from a pool of threads, each picking operations at random with the
+ * weights of the mix, and records the latency of every call per operation. Reads and writes target
+ * the articles saved by {@link #seed}; writes rewrite them in place, so the data set keeps its size,
+ * and {@link #deleteSeeded} removes them once the run is over.
+ */
+public class LoadGenerator {
+
+	public enum Operation {
+		/** Fetches one article by id. */
+		READ,
+		/** Rewrites an article, as an editor saving it would. */
+		WRITE,
+		/** Fetches the first page of articles with a tag. */
+		FILTER
+	}
+
+	static final int TAGS = 10;
+	static final int PAGE_SIZE = 20;
+	private static final int SEED_CHUNK_SIZE = 100;
+
+	private BlogService service;
+	private Map<Operation, Integer> mix;
+	private int threads;
+	private int totalWeight;
+	private final List<String> ids = new ArrayList<>();
+
+	public LoadGenerator(BlogService service, Map<Operation, Integer> mix, int threads) {
+		if(threads <= 0)
+			throw new IllegalArgumentException("Thread count must be positive!");
+		if(mix.values().stream().anyMatch(weight -> weight < 0))
+			throw new IllegalArgumentException("Operation weights cannot be negative!");
+		totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+		if(totalWeight <= 0)
+			throw new IllegalArgumentException("Operation mix must have a positive weight!");
+		this.service = service;
+		this.mix = new EnumMap<>(mix);
+		this.threads = threads;
+	}
+
+	/** Saves the articles the operations work on. */
+	public void seed(int articles) {
+		if(articles <= 0)
+			throw new IllegalArgumentException("Seed article count must be positive!");
+		List<Article> seeds = new ArrayList<>();
+		for(int i = 0; i < articles; i++)
+			seeds.add(new Article(null, "Load article " + i, content(i)).withTag(new Tag(tag(i))));
+		service.saveArticles(seeds, SEED_CHUNK_SIZE).getSavedArticles().forEach(article -> ids.add(article.getId()));
+	}
+
+	/** Deletes the seeded articles, so a run leaves nothing behind in the database. */
+	public void deleteSeeded() {
+		for(String id : ids)
+			service.deleteArticle(id);
+		ids.clear();
+	}
+
+	/**
+	 * Runs until the duration elapses or, if positive, the given number of operations has been issued,
+	 * whichever comes first.
+	 */
+	public LoadReport run(Duration duration, long operations) throws InterruptedException {
+		if(ids.isEmpty())
+			throw new IllegalStateException("No articles to load, seed first!");
+		Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+		Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+		for(Operation operation : Operation.values()) {
+			latencies.put(operation, new Histogram());
+			errors.put(operation, new AtomicLong());
+		}
+		AtomicLong remaining = new AtomicLong(operations > 0 ? operations : Long.MAX_VALUE);
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "blog-load-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		long start = System.nanoTime();
+		long deadline = start + duration.toNanos();
+		for(int i = 0; i < threads; i++)
+			executor.execute(() -> {
+				while(System.nanoTime() - deadline < 0 && remaining.getAndDecrement() > 0) {
+					Operation operation = pick();
+					long begin = System.nanoTime();
+					try {
+						perform(operation);
+						latencies.get(operation).record(System.nanoTime() - begin);
+					} catch (RuntimeException e) {
+						errors.get(operation).incrementAndGet();
+					}
+				}
+			});
+		executor.shutdown();
+		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+		errors.forEach((operation, count) -> errorCounts.put(operation, count.get()));
+		return new LoadReport(System.nanoTime() - start, latencies, errorCounts);
+	}
+
+	private Operation pick() {
+		int choice = ThreadLocalRandom.current().nextInt(totalWeight);
+		for(Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+			choice -= weight.getValue();
+			if(choice < 0)
+				return weight.getKey();
+		}
+		throw new IllegalStateException("Operation mix changed while running");
+	}
+
+	private void perform(Operation operation) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		switch(operation) {
+			case READ -> service.getArticle(ids.get(random.nextInt(ids.size())));
+			case WRITE -> {
+				int article = random.nextInt(ids.size());
+				service.updateArticle(ids.get(article), "Load article " + article, content(random.nextInt()),
+					Set.of(tag(article)));
+			}
+			case FILTER -> service.getArticlesByTagPage(tag(random.nextInt(TAGS)), null, PAGE_SIZE);
+		}
+	}
+
+	private static String tag(int article) {
+		return "load" + Math.floorMod(article, TAGS);
+	}
+
+	private static String content(int revision) {
+		return "Revision " + revision + " of an article written by the load generator.";
+	}
+}
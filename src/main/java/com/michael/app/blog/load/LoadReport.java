@@ -0,0 +1,55 @@
+package com.michael.app.blog.load;
+
+import java.io.PrintWriter;
+import java.util.Map;
+
+import com.michael.app.blog.load.LoadGenerator.Operation;
+import com.michael.app.blog.metrics.Histogram;
+
+/** Latencies and error counts of one load run, per operation. */
+public class LoadReport {
+
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+	private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+	private long elapsedNanos;
+	private Map<Operation, Histogram> latencies;
+	private Map<Operation, Long> errors;
+
+	public LoadReport(long elapsedNanos, Map<Operation, Histogram> latencies, Map<Operation, Long> errors) {
+		this.elapsedNanos = elapsedNanos;
+		this.latencies = latencies;
+		this.errors = errors;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public Histogram getLatencies(Operation operation) {
+		return latencies.get(operation);
+	}
+
+	public long getErrors(Operation operation) {
+		return errors.getOrDefault(operation, 0L);
+	}
+
+	/** Successful operations per second. */
+	public double throughput(Operation operation) {
+		return latencies.get(operation).getCount() / (elapsedNanos / NANOS_PER_SECOND);
+	}
+
+	public void print(PrintWriter out) {
+		out.printf("Ran for %.1f s%n", elapsedNanos / NANOS_PER_SECOND);
+		out.printf("%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+			"op", "count", "errors", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+		for(Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+			Histogram histogram = entry.getValue();
+			out.printf("%-8s %10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f%n",
+				entry.getKey(), histogram.getCount(), getErrors(entry.getKey()), throughput(entry.getKey()),
+				histogram.percentile(50) / NANOS_PER_MILLI, histogram.percentile(99) / NANOS_PER_MILLI,
+				histogram.percentile(99.9) / NANOS_PER_MILLI, histogram.getMax() / NANOS_PER_MILLI);
+		}
+		out.flush();
+	}
+}
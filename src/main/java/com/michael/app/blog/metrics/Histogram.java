@@ -0,0 +1,74 @@
+package com.michael.app.blog.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram of non-negative values, such as latencies in nanoseconds or result sizes. Each
+ * power of two is split into 32 buckets, so a reported percentile is at most about 3% above the true
+ * value, and the memory used does not grow with the number of samples.
+ */
+public class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private final AtomicLongArray counts = new AtomicLongArray((Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	public void record(long value) {
+		if(value < 0)
+			throw new IllegalArgumentException("Histogram value cannot be negative!");
+		counts.incrementAndGet(index(value));
+		count.incrementAndGet();
+		total.addAndGet(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long samples = count.get();
+		return samples == 0 ? 0 : (double) total.get() / samples;
+	}
+
+	/** The value at or below which the given percentage of the samples fall, 0 when empty. */
+	public long percentile(double percent) {
+		if(percent < 0 || percent > 100)
+			throw new IllegalArgumentException("Percentile must be between 0 and 100!");
+		long samples = count.get();
+		if(samples == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(percent / 100 * samples));
+		long seen = 0;
+		for(int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if(seen >= rank)
+				return Math.min(highestValue(i), max.get());
+		}
+		return max.get();
+	}
+
+	static int index(long value) {
+		if(value < SUB_BUCKETS)
+			return (int) value;
+		int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+	}
+
+	static long highestValue(int index) {
+		if(index < SUB_BUCKETS)
+			return index;
+		int shift = index / SUB_BUCKETS - 1;
+		long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,79 @@
+package com.michael.app.blog.metrics;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.BlogRepository;
+import com.michael.app.blog.repository.BulkSaveResult;
+
+/** Times every call to the wrapped repository. {@link #streamAll} is timed until the stream is opened. */
+public class MeteredBlogRepository implements BlogRepository {
+
+	private static final String COMPONENT = "BlogRepository";
+
+	private BlogRepository repository;
+	private MetricsRegistry metrics;
+
+	public MeteredBlogRepository(BlogRepository repository, MetricsRegistry metrics) {
+		this.repository = repository;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public List<Article> findAll() {
+		return metrics.operation(COMPONENT, "findAll").time(repository::findAll);
+	}
+
+	@Override
+	public List<Article> findAllWithTag(Tag tag) {
+		return metrics.operation(COMPONENT, "findAllWithTag").time(() -> repository.findAllWithTag(tag));
+	}
+
+	@Override
+	public List<ArticleSummary> findPage(String afterId, int limit) {
+		return metrics.operation(COMPONENT, "findPage").time(() -> repository.findPage(afterId, limit));
+	}
+
+	@Override
+	public List<ArticleSummary> findPageWithTag(Tag tag, String afterId, int limit) {
+		return metrics.operation(COMPONENT, "findPageWithTag").time(() -> repository.findPageWithTag(tag, afterId, limit));
+	}
+
+	@Override
+	public List<ArticleSummary> search(String query, int limit) {
+		return metrics.operation(COMPONENT, "search").time(() -> repository.search(query, limit));
+	}
+
+	@Override
+	public Stream<Article> streamAll(int batchSize) {
+		return metrics.operation(COMPONENT, "streamAll").time(() -> repository.streamAll(batchSize));
+	}
+
+	@Override
+	public Article findById(String id) {
+		return metrics.operation(COMPONENT, "findById").time(() -> repository.findById(id));
+	}
+
+	@Override
+	public Article save(Article article) {
+		return metrics.operation(COMPONENT, "save").time(() -> repository.save(article));
+	}
+
+	@Override
+	public BulkSaveResult saveAll(List<Article> articles) {
+		return metrics.operation(COMPONENT, "saveAll").time(() -> repository.saveAll(articles));
+	}
+
+	@Override
+	public long update(Article article) {
+		return metrics.operation(COMPONENT, "update").time(() -> repository.update(article));
+	}
+
+	@Override
+	public long delete(String id) {
+		return metrics.operation(COMPONENT, "delete").time(() -> repository.delete(id));
+	}
+}
@@ -0,0 +1,50 @@
+package com.michael.app.blog.metrics;
+
+import com.michael.app.blog.repository.BlogRepository;
+import com.michael.app.blog.transaction.TransactionCode;
+import com.michael.app.blog.transaction.TransactionManager;
+import com.michael.app.blog.transaction.TransactionProfile;
+
+/**
+ * Times the transactions of the wrapped manager per profile, counting commits and aborts, and times
+ * the repository calls made inside and outside transactions, whatever the backend.
+ */
+public class MeteredTransactionManager implements TransactionManager {
+
+	private TransactionManager transactionManager;
+	private MetricsRegistry metrics;
+
+	public MeteredTransactionManager(TransactionManager transactionManager, MetricsRegistry metrics) {
+		this.transactionManager = transactionManager;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public <T> T doInTransaction(TransactionProfile profile, TransactionCode<T> code) {
+		TransactionStats stats = metrics.transaction(profile.name());
+		long start = System.nanoTime();
+		T result;
+		try {
+			result = transactionManager.doInTransaction(profile, repository -> code.apply(metered(repository)));
+		} catch (RuntimeException e) {
+			stats.aborted(System.nanoTime() - start);
+			throw e;
+		}
+		stats.committed(System.nanoTime() - start);
+		return result;
+	}
+
+	@Override
+	public <T> T doWithoutTransaction(TransactionCode<T> code) {
+		return metrics.operation("TransactionManager", "withoutTransaction")
+			.time(() -> transactionManager.doWithoutTransaction(repository -> code.apply(metered(repository))));
+	}
+
+	public TransactionManager getTransactionManager() {
+		return transactionManager;
+	}
+
+	private BlogRepository metered(BlogRepository repository) {
+		return new MeteredBlogRepository(repository, metrics);
+	}
+}
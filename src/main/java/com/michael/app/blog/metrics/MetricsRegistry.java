@@ -0,0 +1,77 @@
+package com.michael.app.blog.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Creates the statistics of each instrumented operation on first use and registers them as MBeans
+ * named {@value #DOMAIN}:type=&lt;component&gt;,name=&lt;operation&gt;, so JConsole or any JMX client can
+ * read them. An MBean left by an earlier registry in the same JVM is replaced.
+ */
+public class MetricsRegistry {
+
+	public static final String DOMAIN = "com.michael.app.blog";
+
+	private static final Logger LOGGER = Logger.getLogger(MetricsRegistry.class.getName());
+
+	private final MBeanServer server;
+	private final Map<String, Object> stats = new ConcurrentHashMap<>();
+
+	/** @param server where to register the MBeans, or null to keep the statistics unpublished */
+	public MetricsRegistry(MBeanServer server) {
+		this.server = server;
+	}
+
+	public static MetricsRegistry platform() {
+		return new MetricsRegistry(ManagementFactory.getPlatformMBeanServer());
+	}
+
+	public OperationStats operation(String component, String operation) {
+		return register(component, operation, OperationStats.class, OperationStats::new);
+	}
+
+	public TransactionStats transaction(String profile) {
+		return register("Transaction", profile, TransactionStats.class, TransactionStats::new);
+	}
+
+	/** Looks the statistics up by a plain string key, so the ObjectName is only built on first use. */
+	private <T> T register(String component, String operation, Class<T> type, Supplier<T> factory) {
+		String key = component + '/' + operation;
+		Object existing = stats.get(key);
+		if(existing != null)
+			return type.cast(existing);
+		return type.cast(stats.computeIfAbsent(key, absent -> {
+			T created = factory.get();
+			publish(name(component, operation), created);
+			return created;
+		}));
+	}
+
+	private void publish(ObjectName name, Object mbean) {
+		if(server == null)
+			return;
+		try {
+			if(server.isRegistered(name))
+				server.unregisterMBean(name);
+			server.registerMBean(mbean, name);
+		} catch (JMException e) {
+			LOGGER.log(Level.WARNING, "Cannot register MBean " + name, e);
+		}
+	}
+
+	private static ObjectName name(String component, String operation) {
+		try {
+			return new ObjectName(DOMAIN + ":type=" + component + ",name=" + operation);
+		} catch (JMException e) {
+			throw new IllegalArgumentException("Invalid metric name: " + component + "/" + operation, e);
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.michael.app.blog.metrics;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/** Latency, failures and result sizes of the calls to one operation. */
+public class OperationStats extends TimerStats implements OperationStatsMBean {
+
+	private final LongAdder errors = new LongAdder();
+	private volatile Histogram resultSizes = new Histogram();
+
+	/**
+	 * Runs the call and records how long it took, whether it threw, and the size of its result
+	 * when it is a collection.
+	 */
+	public <T> T time(Supplier<T> call) {
+		long start = System.nanoTime();
+		T result;
+		try {
+			result = call.get();
+		} catch (RuntimeException e) {
+			failed(System.nanoTime() - start);
+			throw e;
+		}
+		if(result instanceof Collection<?> collection)
+			succeeded(System.nanoTime() - start, collection.size());
+		else
+			recordLatency(System.nanoTime() - start);
+		return result;
+	}
+
+	/** Records a call timed elsewhere, such as by the driver, that returned the given number of results. */
+	public void succeeded(long nanos, long resultSize) {
+		recordLatency(nanos);
+		resultSizes.record(resultSize);
+	}
+
+	public void failed(long nanos) {
+		recordLatency(nanos);
+		errors.increment();
+	}
+
+	@Override
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	@Override
+	public double getMeanResultSize() {
+		return resultSizes.getMean();
+	}
+
+	@Override
+	public long getP99ResultSize() {
+		return resultSizes.percentile(99);
+	}
+
+	@Override
+	public long getMaxResultSize() {
+		return resultSizes.getMax();
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		errors.reset();
+		resultSizes = new Histogram();
+	}
+}
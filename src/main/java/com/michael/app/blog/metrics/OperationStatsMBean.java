@@ -0,0 +1,13 @@
+package com.michael.app.blog.metrics;
+
+public interface OperationStatsMBean extends TimerStatsMBean {
+
+	long getErrors();
+
+	/** Mean number of elements returned by the calls that return a collection. */
+	double getMeanResultSize();
+
+	long getP99ResultSize();
+
+	long getMaxResultSize();
+}
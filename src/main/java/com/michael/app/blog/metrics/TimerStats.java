@@ -0,0 +1,48 @@
+package com.michael.app.blog.metrics;
+
+/** Latency histogram of an operation, exposed in milliseconds. */
+public abstract class TimerStats implements TimerStatsMBean {
+
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+	private volatile Histogram latencies = new Histogram();
+
+	protected void recordLatency(long nanos) {
+		latencies.record(nanos);
+	}
+
+	@Override
+	public long getCount() {
+		return latencies.getCount();
+	}
+
+	@Override
+	public double getMeanMillis() {
+		return latencies.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getP50Millis() {
+		return latencies.percentile(50) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getP99Millis() {
+		return latencies.percentile(99) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getP999Millis() {
+		return latencies.percentile(99.9) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getMaxMillis() {
+		return latencies.getMax() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public void reset() {
+		latencies = new Histogram();
+	}
+}
@@ -0,0 +1,19 @@
+package com.michael.app.blog.metrics;
+
+/** Latency attributes shared by every timed operation, in milliseconds since start or the last reset. */
+public interface TimerStatsMBean {
+
+	long getCount();
+
+	double getMeanMillis();
+
+	double getP50Millis();
+
+	double getP99Millis();
+
+	double getP999Millis();
+
+	double getMaxMillis();
+
+	void reset();
+}
@@ -0,0 +1,37 @@
+package com.michael.app.blog.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Latency and outcome of the transactions run with one profile. */
+public class TransactionStats extends TimerStats implements TransactionStatsMBean {
+
+	private final LongAdder commits = new LongAdder();
+	private final LongAdder aborts = new LongAdder();
+
+	public void committed(long nanos) {
+		recordLatency(nanos);
+		commits.increment();
+	}
+
+	public void aborted(long nanos) {
+		recordLatency(nanos);
+		aborts.increment();
+	}
+
+	@Override
+	public long getCommits() {
+		return commits.sum();
+	}
+
+	@Override
+	public long getAborts() {
+		return aborts.sum();
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		commits.reset();
+		aborts.reset();
+	}
+}
@@ -0,0 +1,9 @@
+package com.michael.app.blog.metrics;
+
+public interface TransactionStatsMBean extends TimerStatsMBean {
+
+	long getCommits();
+
+	/** Transactions rolled back, whether the code failed or the retries ran out. */
+	long getAborts();
+}
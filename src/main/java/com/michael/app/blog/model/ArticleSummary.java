@@ -0,0 +1,77 @@
+package com.michael.app.blog.model;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable listing entry of an article. The hash code is computed once on creation,
+ * and {@link #hasSameId} compares ids only, for callers that locate an article in a
+ * list or cache without comparing every field.
+ */
+public class ArticleSummary {
+	private final String id;
+	private final String title;
+	private final TagSet tags;
+	private final int hash;
+
+	public ArticleSummary(String id, String title, Set<Tag> tags) {
+		this(id, title, tags, null);
+	}
+
+	ArticleSummary(String id, String title, Set<Tag> tags, String content) {
+		if(title == null) throw new IllegalArgumentException("Article title cannot be null!");
+		if(title.trim().equals("")) throw new IllegalArgumentException("Article title cannot be an empty string!");
+		this.id = id;
+		this.title = title;
+		this.tags = TagSet.copyOf(tags);
+		this.hash = Objects.hash(id, this.tags, title, content);
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public TagSet getTags() {
+		return tags;
+	}
+
+	public ArticleSummary withTag(Tag tag) {
+		if(tag == null) throw new IllegalArgumentException("Inserted tag cannot be null!");
+		return new ArticleSummary(id, title, tags.with(tag));
+	}
+
+	public ArticleSummary withoutTag(Tag tag) {
+		return new ArticleSummary(id, title, tags.without(tag));
+	}
+
+	public boolean hasSameId(ArticleSummary other) {
+		return other != null && id != null && id.equals(other.id);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ArticleSummary other = (ArticleSummary) obj;
+		return hash == other.hash && Objects.equals(id, other.id) && Objects.equals(tags, other.tags)
+				&& Objects.equals(title, other.title);
+	}
+
+	@Override
+	public String toString() {
+		return "ArticleSummary [title=" + title + "]";
+	}
+}
@@ -0,0 +1,35 @@
+package com.michael.app.blog.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonical {@link Tag} instances, one per distinct label. Decoded articles repeat the same few labels over and
+ * over, so sharing the instances keeps duplicate tags and label strings off the heap and lets set comparisons
+ * succeed on identity. Labels are never evicted: the pool is sized by the tag vocabulary, not by the article count,
+ * so only tags that are decoded or saved belong here, never free-form query text.
+ */
+public final class TagPool {
+
+	private static final ConcurrentMap<String, Tag> TAGS = new ConcurrentHashMap<>();
+
+	private TagPool() {
+	}
+
+	public static Tag intern(String label) {
+		Tag tag = label == null ? null : TAGS.get(label);
+		if(tag != null)
+			return tag;
+		Tag created = new Tag(label);
+		return TAGS.computeIfAbsent(created.getLabel(), key -> created);
+	}
+
+	public static Tag intern(Tag tag) {
+		if(tag == null) throw new IllegalArgumentException("Inserted tag cannot be null!");
+		return TAGS.computeIfAbsent(tag.getLabel(), key -> tag);
+	}
+
+	public static int size() {
+		return TAGS.size();
+	}
+}
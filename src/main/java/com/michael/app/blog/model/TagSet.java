@@ -0,0 +1,116 @@
+package com.michael.app.blog.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable set of pooled tags kept in a label-sorted array. It costs one array per article instead of a hash
+ * table, and its hash code is computed once, so comparing and hashing articles does not walk the tags again.
+ */
+public final class TagSet extends AbstractSet<Tag> {
+
+	public static final TagSet EMPTY = new TagSet(new Tag[0]);
+
+	private static final Comparator<Tag> BY_LABEL = Comparator.comparing(Tag::getLabel);
+
+	private final Tag[] tags;
+	private final int hash;
+
+	private TagSet(Tag[] tags) {
+		this.tags = tags;
+		int sum = 0;
+		for(Tag tag : tags)
+			sum += tag.hashCode();
+		this.hash = sum;
+	}
+
+	public static TagSet copyOf(Collection<? extends Tag> tags) {
+		if(tags == null) throw new IllegalArgumentException("Article tags cannot be null!");
+		if(tags instanceof TagSet tagSet)
+			return tagSet;
+		if(tags.isEmpty())
+			return EMPTY;
+		Tag[] sorted = new Tag[tags.size()];
+		int size = 0;
+		for(Tag tag : tags)
+			sorted[size++] = TagPool.intern(tag);
+		Arrays.sort(sorted, BY_LABEL);
+		int distinct = 0;
+		for(int i = 0; i < size; i++)
+			if(distinct == 0 || sorted[distinct - 1] != sorted[i])
+				sorted[distinct++] = sorted[i];
+		return new TagSet(distinct == size ? sorted : Arrays.copyOf(sorted, distinct));
+	}
+
+	public TagSet with(Tag tag) {
+		if(tag == null) throw new IllegalArgumentException("Inserted tag cannot be null!");
+		int index = Arrays.binarySearch(tags, tag, BY_LABEL);
+		if(index >= 0)
+			return this;
+		int insertion = -index - 1;
+		Tag[] added = new Tag[tags.length + 1];
+		System.arraycopy(tags, 0, added, 0, insertion);
+		added[insertion] = TagPool.intern(tag);
+		System.arraycopy(tags, insertion, added, insertion + 1, tags.length - insertion);
+		return new TagSet(added);
+	}
+
+	public TagSet without(Tag tag) {
+		int index = tag == null ? -1 : Arrays.binarySearch(tags, tag, BY_LABEL);
+		if(index < 0)
+			return this;
+		if(tags.length == 1)
+			return EMPTY;
+		Tag[] removed = new Tag[tags.length - 1];
+		System.arraycopy(tags, 0, removed, 0, index);
+		System.arraycopy(tags, index + 1, removed, index, tags.length - index - 1);
+		return new TagSet(removed);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return o instanceof Tag tag && Arrays.binarySearch(tags, tag, BY_LABEL) >= 0;
+	}
+
+	@Override
+	public Iterator<Tag> iterator() {
+		return new Iterator<>() {
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < tags.length;
+			}
+
+			@Override
+			public Tag next() {
+				if(next >= tags.length)
+					throw new NoSuchElementException();
+				return tags[next++];
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return tags.length;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj)
+			return true;
+		if(obj instanceof TagSet other)
+			return hash == other.hash && Arrays.equals(tags, other.tags);
+		return super.equals(obj);
+	}
+}
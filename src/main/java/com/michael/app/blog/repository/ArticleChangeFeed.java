@@ -0,0 +1,15 @@
+package com.michael.app.blog.repository;
+
+public interface ArticleChangeFeed {
+
+	/**
+	 * Delivers committed inserts, replacements and deletions of articles to the
+	 * listener from a background thread until the returned subscription is closed.
+	 */
+	Subscription watch(ArticleChangeListener listener);
+
+	interface Subscription extends AutoCloseable {
+		@Override
+		void close();
+	}
+}
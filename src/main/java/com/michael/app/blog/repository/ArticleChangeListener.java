@@ -0,0 +1,10 @@
+package com.michael.app.blog.repository;
+
+import com.michael.app.blog.model.Article;
+
+public interface ArticleChangeListener {
+
+	void articleChanged(Article article);
+
+	void articleRemoved(String id);
+}
@@ -1,8 +1,10 @@
 package com.michael.app.blog.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
 import com.michael.app.blog.model.Tag;
 
 public interface BlogRepository {
@@ -11,11 +13,20 @@ public interface BlogRepository {
 
 	List<Article> findAllWithTag(Tag tag);
 
+	List<ArticleSummary> findPage(String afterId, int limit);
+
+	List<ArticleSummary> findPageWithTag(Tag tag, String afterId, int limit);
+
+	List<ArticleSummary> search(String query, int limit);
+
+	Stream<Article> streamAll(int batchSize);
+
 	Article findById(String id);
 
 	Article save(Article article);
+	BulkSaveResult saveAll(List<Article> articles);
 
-	void update(Article article);
+	long update(Article article);
 
-	void delete(String id);
+	long delete(String id);
 }
@@ -0,0 +1,45 @@
+package com.michael.app.blog.repository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.michael.app.blog.model.Article;
+
+public class BulkSaveResult {
+
+	private final List<Article> savedArticles;
+	private final SortedMap<Integer, String> errors;
+
+	/**
+	 * @param savedArticles the articles that were written, with their generated ids
+	 * @param errors failure messages keyed by the position of the article in the submitted list
+	 */
+	public BulkSaveResult(List<Article> savedArticles, Map<Integer, String> errors) {
+		this.savedArticles = List.copyOf(savedArticles);
+		this.errors = Collections.unmodifiableSortedMap(new TreeMap<>(errors));
+	}
+
+	public List<Article> getSavedArticles() {
+		return savedArticles;
+	}
+
+	public SortedMap<Integer, String> getErrors() {
+		return errors;
+	}
+
+	public int getSavedCount() {
+		return savedArticles.size();
+	}
+
+	public boolean hasErrors() {
+		return !errors.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "BulkSaveResult [saved=" + savedArticles.size() + ", errors=" + errors.size() + "]";
+	}
+}
@@ -0,0 +1,207 @@
+package com.michael.app.blog.repository;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
+import com.michael.app.blog.model.Tag;
+
+/**
+ * Repository over articles kept by this process, ordered by id. Inside a transaction, writes are
+ * buffered in a map, with null marking a deletion, and reads see the committed articles overlaid with
+ * them; without one, every write commits on its own. Subclasses supply the committed articles and the
+ * commit.
+ */
+public abstract class InProcessBlogRepository implements BlogRepository {
+
+	// a match in the title counts as much as this many matches in the content, as in the Mongo text index
+	private static final int TITLE_WEIGHT = 10;
+
+	/** Ids of the committed articles after the given id, in ascending order. */
+	protected abstract NavigableSet<String> committedIds(String afterId);
+
+	/** Ids of committed articles that may carry the tag after the given id, in ascending order. */
+	protected abstract NavigableSet<String> committedIdsWithTag(Tag tag, String afterId);
+
+	protected abstract Article readCommitted(String id);
+
+	/** Writes buffered by the current transaction, or null outside a transaction. */
+	protected abstract Map<String, Article> bufferedWrites();
+
+	/** Runs an operation that buffers its writes in the given map, then commits them at once. */
+	protected abstract <T> T autoCommit(Function<Map<String, Article>, T> operation);
+
+	@Override
+	public List<Article> findAll() {
+		return articles(committedIds(null), null).toList();
+	}
+
+	@Override
+	public List<Article> findAllWithTag(Tag tag) {
+		return articles(committedIdsWithTag(tag, null), null)
+			.filter(article -> article.getTags().contains(tag))
+			.toList();
+	}
+
+	@Override
+	public List<ArticleSummary> findPage(String afterId, int limit) {
+		checkPageLimit(limit);
+		return articles(committedIds(afterId), afterId)
+			.limit(limit)
+			.map(InProcessBlogRepository::summary)
+			.toList();
+	}
+
+	@Override
+	public List<ArticleSummary> findPageWithTag(Tag tag, String afterId, int limit) {
+		checkPageLimit(limit);
+		return articles(committedIdsWithTag(tag, afterId), afterId)
+			.filter(article -> article.getTags().contains(tag))
+			.limit(limit)
+			.map(InProcessBlogRepository::summary)
+			.toList();
+	}
+
+	@Override
+	public List<ArticleSummary> search(String query, int limit) {
+		if(query == null || query.trim().isEmpty())
+			throw new IllegalArgumentException("Search query cannot be empty!");
+		if(limit <= 0)
+			throw new IllegalArgumentException("Search limit must be positive!");
+		Set<String> terms = terms(query).collect(Collectors.toSet());
+		record Scored(Article article, long score) {}
+		return articles(committedIds(null), null)
+			.map(article -> new Scored(article, score(article, terms)))
+			.filter(scored -> scored.score() > 0)
+			.sorted(Comparator.comparingLong(Scored::score).reversed())
+			.limit(limit)
+			.map(scored -> summary(scored.article()))
+			.toList();
+	}
+
+	@Override
+	public Stream<Article> streamAll(int batchSize) {
+		if(batchSize <= 0)
+			throw new IllegalArgumentException("Batch size must be positive!");
+		return articles(committedIds(null), null);
+	}
+
+	@Override
+	public Article findById(String id) {
+		return read(bufferedWrites(), id);
+	}
+
+	@Override
+	public Article save(Article article) {
+		if(article == null)
+			throw new IllegalArgumentException("Cannot save null article!");
+		Article savedArticle = withNewId(article);
+		write(writes -> writes.put(savedArticle.getId(), savedArticle));
+		return savedArticle;
+	}
+
+	@Override
+	public BulkSaveResult saveAll(List<Article> articles) {
+		if(articles == null)
+			throw new IllegalArgumentException("Cannot save null articles!");
+		List<Article> savedArticles = articles.stream()
+			.map(this::withNewId)
+			.toList();
+		if(!savedArticles.isEmpty())
+			write(writes -> {
+				savedArticles.forEach(article -> writes.put(article.getId(), article));
+				return null;
+			});
+		return new BulkSaveResult(savedArticles, Map.of());
+	}
+
+	@Override
+	public long update(Article article) {
+		if(article == null)
+			throw new IllegalArgumentException("Cannot update null article!");
+		if(article.getId() == null)
+			throw new IllegalArgumentException("Article has null id!");
+		return write(writes -> {
+			if(read(writes, article.getId()) == null)
+				return 0L;
+			writes.put(article.getId(), article);
+			return 1L;
+		});
+	}
+
+	@Override
+	public long delete(String id) {
+		if(id == null)
+			throw new IllegalArgumentException("Cannot delete: given id is null!");
+		return write(writes -> {
+			if(read(writes, id) == null)
+				return 0L;
+			writes.put(id, null);
+			return 1L;
+		});
+	}
+
+	private <T> T write(Function<Map<String, Article>, T> operation) {
+		Map<String, Article> writes = bufferedWrites();
+		if(writes != null)
+			return operation.apply(writes);
+		return autoCommit(operation);
+	}
+
+	private Article read(Map<String, Article> writes, String id) {
+		if(writes != null && writes.containsKey(id))
+			return writes.get(id);
+		return readCommitted(id);
+	}
+
+	/** Visible articles among the given ids, plus those this transaction wrote, in id order. */
+	private Stream<Article> articles(NavigableSet<String> ids, String afterId) {
+		Map<String, Article> writes = bufferedWrites();
+		NavigableSet<String> visibleIds = ids;
+		if(writes != null && !writes.isEmpty()) {
+			visibleIds = new TreeSet<>(ids);
+			for(String id : writes.keySet())
+				if(afterId == null || id.compareTo(afterId) > 0)
+					visibleIds.add(id);
+		}
+		return visibleIds.stream()
+			.map(id -> read(writes, id))
+			.filter(Objects::nonNull);
+	}
+
+	private static long score(Article article, Set<String> terms) {
+		return TITLE_WEIGHT * terms(article.getTitle()).filter(terms::contains).count()
+			+ terms(article.getContent()).filter(terms::contains).count();
+	}
+
+	private static Stream<String> terms(String text) {
+		return Arrays.stream(text.toLowerCase(Locale.ROOT).split("\\W+"))
+			.filter(term -> !term.isEmpty());
+	}
+
+	private static ArticleSummary summary(Article article) {
+		return new ArticleSummary(article.getId(), article.getTitle(), article.getTags());
+	}
+
+	private static void checkPageLimit(int limit) {
+		if(limit <= 0)
+			throw new IllegalArgumentException("Page limit must be positive!");
+	}
+
+	private Article withNewId(Article article) {
+		return new Article(new ObjectId().toHexString(), article.getTitle(), article.getContent(), article.getTags());
+	}
+}
@@ -0,0 +1,9 @@
+package com.michael.app.blog.repository;
+
+import java.util.Map;
+
+public interface IndexManager {
+	void ensureIndexes();
+
+	Map<String, IndexStatus> getIndexStatus();
+}
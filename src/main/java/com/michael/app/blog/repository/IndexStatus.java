@@ -0,0 +1,5 @@
+package com.michael.app.blog.repository;
+
+public enum IndexStatus {
+	PENDING, BUILDING, READY, FAILED
+}
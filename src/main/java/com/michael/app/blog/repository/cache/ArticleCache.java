@@ -0,0 +1,186 @@
+package com.michael.app.blog.repository.cache;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.ArticleChangeListener;
+
+public class ArticleCache implements ArticleChangeListener {
+
+	private static final long ENTRY_OVERHEAD = 64;
+	private static final long REFERENCE_SIZE = 8;
+
+	private final long maxBytes;
+	private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long sizeInBytes = 0;
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+	private long generation = 0;
+
+	public ArticleCache(long maxBytes) {
+		if(maxBytes < 0)
+			throw new IllegalArgumentException("Cache size cannot be negative!");
+		this.maxBytes = maxBytes;
+	}
+
+	public synchronized Article getArticle(String id) {
+		return (Article) lookup(id);
+	}
+
+	/**
+	 * Counter bumped by every invalidation. A reader takes it before loading a value, so a put made
+	 * after a concurrent write invalidated the key is recognised as stale and dropped.
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	public synchronized void putArticle(Article article) {
+		putArticle(article, generation);
+	}
+
+	/** Caches the article unless something was invalidated since the given generation. */
+	public synchronized void putArticle(Article article, long loadedAt) {
+		if(loadedAt != generation)
+			return;
+		store(article.getId(), new Entry(article, Set.of(article.getId()), estimateBytes(article)));
+	}
+
+	@SuppressWarnings("unchecked")
+	public synchronized List<Article> getArticlesWithTag(Tag tag) {
+		return (List<Article>) lookup(tag);
+	}
+
+	public synchronized void putArticlesWithTag(Tag tag, List<Article> articles) {
+		putArticlesWithTag(tag, articles, generation);
+	}
+
+	/** Caches the articles with the tag unless something was invalidated since the given generation. */
+	public synchronized void putArticlesWithTag(Tag tag, List<Article> articles, long loadedAt) {
+		if(loadedAt != generation)
+			return;
+		long bytes = ENTRY_OVERHEAD + articles.stream()
+			.mapToLong(article -> REFERENCE_SIZE + estimateBytes(article))
+			.sum();
+		Set<String> ids = articles.stream()
+			.map(Article::getId)
+			.collect(Collectors.toSet());
+		store(tag, new Entry(List.copyOf(articles), ids, bytes));
+	}
+
+	public synchronized void invalidateArticle(String id) {
+		generation++;
+		Iterator<Map.Entry<Object, Entry>> iterator = entries.entrySet().iterator();
+		while(iterator.hasNext()) {
+			Entry entry = iterator.next().getValue();
+			if(entry.ids.contains(id)) {
+				sizeInBytes -= entry.bytes;
+				iterator.remove();
+			}
+		}
+	}
+
+	public synchronized void invalidateTags(Collection<Tag> tags) {
+		generation++;
+		tags.forEach(tag -> remove(tag));
+	}
+
+	@Override
+	public synchronized void articleChanged(Article article) {
+		invalidateArticle(article.getId());
+		invalidateTags(article.getTags());
+	}
+
+	@Override
+	public synchronized void articleRemoved(String id) {
+		invalidateArticle(id);
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	public synchronized long getSizeInBytes() {
+		return sizeInBytes;
+	}
+
+	public synchronized int getEntryCount() {
+		return entries.size();
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	static long estimateBytes(Article article) {
+		long bytes = ENTRY_OVERHEAD
+			+ stringBytes(article.getId())
+			+ stringBytes(article.getTitle())
+			+ stringBytes(article.getContent());
+		for(Tag tag : article.getTags())
+			bytes += REFERENCE_SIZE + stringBytes(tag.getLabel());
+		return bytes;
+	}
+
+	private static long stringBytes(String value) {
+		return value == null ? 0 : 40 + 2L * value.length();
+	}
+
+	private Object lookup(Object key) {
+		Entry entry = entries.get(key);
+		if(entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.value;
+	}
+
+	private void store(Object key, Entry entry) {
+		remove(key);
+		if(entry.bytes > maxBytes)
+			return;
+		entries.put(key, entry);
+		sizeInBytes += entry.bytes;
+		Iterator<Entry> eldest = entries.values().iterator();
+		while(sizeInBytes > maxBytes) {
+			sizeInBytes -= eldest.next().bytes;
+			eldest.remove();
+			evictions++;
+		}
+	}
+
+	private void remove(Object key) {
+		Entry removed = entries.remove(key);
+		if(removed != null)
+			sizeInBytes -= removed.bytes;
+	}
+
+	private static class Entry {
+		private final Object value;
+		private final Set<String> ids;
+		private final long bytes;
+
+		private Entry(Object value, Set<String> ids, long bytes) {
+			this.value = value;
+			this.ids = ids;
+			this.bytes = bytes;
+		}
+	}
+}
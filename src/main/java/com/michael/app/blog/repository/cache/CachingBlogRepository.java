@@ -0,0 +1,142 @@
+package com.michael.app.blog.repository.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.BlogRepository;
+import com.michael.app.blog.repository.BulkSaveResult;
+
+/**
+ * Serves article and tag lookups from an {@link ArticleCache} and invalidates what a write touches.
+ * Outside a transaction every write is committed when the delegate returns, so entries are invalidated
+ * right away. Inside one, reads bypass the cache, since they may see the transaction's own writes, and
+ * the touched entries are only invalidated by {@link #invalidateWrites} once the transaction committed:
+ * invalidating earlier would let a concurrent reader cache the old row again before the commit.
+ */
+public class CachingBlogRepository implements BlogRepository {
+
+	private BlogRepository delegate;
+	private ArticleCache cache;
+	private boolean inTransaction;
+	private final Set<String> writtenIds = new HashSet<>();
+	private final Set<Tag> writtenTags = new HashSet<>();
+
+	public CachingBlogRepository(BlogRepository delegate, ArticleCache cache) {
+		this(delegate, cache, false);
+	}
+
+	public CachingBlogRepository(BlogRepository delegate, ArticleCache cache, boolean inTransaction) {
+		this.delegate = delegate;
+		this.cache = cache;
+		this.inTransaction = inTransaction;
+	}
+
+	/** Invalidates the entries touched by the writes of a transaction, once it is over. */
+	public void invalidateWrites() {
+		writtenIds.forEach(cache::invalidateArticle);
+		cache.invalidateTags(writtenTags);
+		writtenIds.clear();
+		writtenTags.clear();
+	}
+
+	@Override
+	public List<Article> findAll() {
+		return delegate.findAll();
+	}
+
+	@Override
+	public List<Article> findAllWithTag(Tag tag) {
+		if(inTransaction)
+			return delegate.findAllWithTag(tag);
+		List<Article> articles = cache.getArticlesWithTag(tag);
+		if(articles == null) {
+			long generation = cache.getGeneration();
+			articles = delegate.findAllWithTag(tag);
+			cache.putArticlesWithTag(tag, articles, generation);
+		}
+		return articles;
+	}
+
+	@Override
+	public List<ArticleSummary> findPage(String afterId, int limit) {
+		return delegate.findPage(afterId, limit);
+	}
+
+	@Override
+	public List<ArticleSummary> findPageWithTag(Tag tag, String afterId, int limit) {
+		return delegate.findPageWithTag(tag, afterId, limit);
+	}
+
+	@Override
+	public List<ArticleSummary> search(String query, int limit) {
+		return delegate.search(query, limit);
+	}
+
+	@Override
+	public Stream<Article> streamAll(int batchSize) {
+		return delegate.streamAll(batchSize);
+	}
+
+	@Override
+	public Article findById(String id) {
+		if(inTransaction)
+			return delegate.findById(id);
+		Article article = cache.getArticle(id);
+		if(article == null) {
+			long generation = cache.getGeneration();
+			article = delegate.findById(id);
+			if(article != null)
+				cache.putArticle(article, generation);
+		}
+		return article;
+	}
+
+	@Override
+	public Article save(Article article) {
+		Article savedArticle = delegate.save(article);
+		invalidateTags(savedArticle.getTags());
+		return savedArticle;
+	}
+
+	@Override
+	public BulkSaveResult saveAll(List<Article> articles) {
+		BulkSaveResult result = delegate.saveAll(articles);
+		result.getSavedArticles().forEach(article -> invalidateTags(article.getTags()));
+		return result;
+	}
+
+	@Override
+	public long update(Article article) {
+		long matched = delegate.update(article);
+		invalidateArticle(article.getId());
+		invalidateTags(article.getTags());
+		return matched;
+	}
+
+	@Override
+	public long delete(String id) {
+		long deleted = delegate.delete(id);
+		invalidateArticle(id);
+		return deleted;
+	}
+
+	private void invalidateArticle(String id) {
+		if(inTransaction)
+			writtenIds.add(id);
+		else
+			cache.invalidateArticle(id);
+	}
+
+	private void invalidateTags(Collection<Tag> tags) {
+		if(inTransaction)
+			writtenTags.addAll(tags);
+		else
+			cache.invalidateTags(tags);
+	}
+}
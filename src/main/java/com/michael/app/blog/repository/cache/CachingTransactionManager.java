@@ -0,0 +1,48 @@
+package com.michael.app.blog.repository.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.michael.app.blog.transaction.TransactionCode;
+import com.michael.app.blog.transaction.TransactionManager;
+import com.michael.app.blog.transaction.TransactionProfile;
+
+/**
+ * Puts an {@link ArticleCache} in front of the repositories of the wrapped manager. The entries a
+ * transaction writes are invalidated after it ends, committed or not, so no reader can cache the
+ * old version between the invalidation and the commit.
+ */
+public class CachingTransactionManager implements TransactionManager {
+
+	private TransactionManager transactionManager;
+	private ArticleCache cache;
+
+	public CachingTransactionManager(TransactionManager transactionManager, ArticleCache cache) {
+		this.transactionManager = transactionManager;
+		this.cache = cache;
+	}
+
+	@Override
+	public <T> T doInTransaction(TransactionProfile profile, TransactionCode<T> code) {
+		// one repository per attempt, as the manager may run the code again
+		List<CachingBlogRepository> attempts = new ArrayList<>();
+		try {
+			return transactionManager.doInTransaction(profile, repository -> {
+				CachingBlogRepository caching = new CachingBlogRepository(repository, cache, true);
+				attempts.add(caching);
+				return code.apply(caching);
+			});
+		} finally {
+			attempts.forEach(CachingBlogRepository::invalidateWrites);
+		}
+	}
+
+	@Override
+	public <T> T doWithoutTransaction(TransactionCode<T> code) {
+		return transactionManager.doWithoutTransaction(repository -> code.apply(new CachingBlogRepository(repository, cache)));
+	}
+
+	public TransactionManager getTransactionManager() {
+		return transactionManager;
+	}
+}
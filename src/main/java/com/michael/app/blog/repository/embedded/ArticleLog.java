@@ -0,0 +1,224 @@
+package com.michael.app.blog.repository.embedded;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.repository.mongo.codec.ArticleCodec;
+
+/**
+ * Append-only file of article writes, mapped into memory. A record is its payload length, its kind,
+ * a CRC32C of kind and payload, then the payload: the BSON of an article for a put, the id for a
+ * delete, nothing for the commit that closes each batch. Opening the log cuts off whatever follows
+ * the last commit, such as a batch torn by a crash, and {@link #replay} then goes through the rest.
+ *
+ * <p>Articles are decoded straight from the mapping, without copying the record. The file grows
+ * by remapping a larger region, and a single mapping limits it to 2 GB.
+ */
+public class ArticleLog implements Closeable {
+
+	static final int HEADER_BYTES = Integer.BYTES + 1 + Integer.BYTES;
+
+	private static final byte PUT = 1;
+	private static final byte DELETE = 2;
+	private static final byte COMMIT = 3;
+	private static final int INITIAL_CAPACITY = 1 << 20;
+
+	private static final ArticleCodec CODEC = new ArticleCodec();
+
+	/** Receives the records of the committed batches while the log is replayed. */
+	public interface Replay {
+		void put(Article article, int offset);
+
+		void delete(String id);
+	}
+
+	private volatile Path path;
+	private final FileChannel channel;
+	private volatile MappedByteBuffer buffer;
+	private int end;
+	private int forcedEnd;
+
+	public ArticleLog(Path path) throws IOException {
+		this.path = path;
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		long size = channel.size();
+		if(size > Integer.MAX_VALUE)
+			throw new IOException("Article log is larger than 2 GB: " + path);
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, INITIAL_CAPACITY));
+		end = recover();
+		forcedEnd = end;
+		if(end < size) {
+			// drop the torn tail, so later appends are never followed by stale records
+			channel.truncate(end);
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(end, INITIAL_CAPACITY));
+		}
+	}
+
+	/**
+	 * Appends the writes as one committed batch, a null article marking a deletion, and returns
+	 * the offset of each article written. Nothing is appended if the batch does not fit.
+	 * @param force whether to flush the batch to the storage device before returning
+	 */
+	public synchronized Map<String, Integer> append(Map<String, Article> writes, boolean force) {
+		int start = end;
+		Map<String, Integer> offsets = new LinkedHashMap<>();
+		try {
+			for(Map.Entry<String, Article> write : writes.entrySet()) {
+				if(write.getValue() == null) {
+					appendRecord(DELETE, ByteBuffer.wrap(write.getKey().getBytes(StandardCharsets.UTF_8)));
+				} else {
+					offsets.put(write.getKey(), end);
+					appendRecord(PUT, encode(write.getValue()));
+				}
+			}
+			appendRecord(COMMIT, ByteBuffer.allocate(0));
+		} catch (RuntimeException e) {
+			end = start;
+			throw e;
+		}
+		if(force)
+			force();
+		return offsets;
+	}
+
+	/** Appends a copy of the put record at the given offset of another log, uncommitted. */
+	synchronized int appendCopy(ArticleLog source, int offset) {
+		int position = end;
+		appendRecord(PUT, source.payload(offset));
+		return position;
+	}
+
+	/** Commits the copies appended since the last batch and flushes them. */
+	synchronized void commitCopies() {
+		appendRecord(COMMIT, ByteBuffer.allocate(0));
+		force();
+	}
+
+	public Article read(int offset) {
+		return CODEC.decode(new BsonBinaryReader(payload(offset)), DecoderContext.builder().build());
+	}
+
+	/** Size of the record at the given offset, header included. */
+	public int recordSize(int offset) {
+		return HEADER_BYTES + buffer.getInt(offset);
+	}
+
+	public synchronized int size() {
+		return end;
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	/** Atomically renames the file to the target, replacing it, and keeps the log open on it. */
+	synchronized void moveTo(Path target) throws IOException {
+		Files.move(path, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		path = target;
+	}
+
+	public synchronized void force() {
+		if(forcedEnd < end)
+			buffer.force(forcedEnd, end - forcedEnd);
+		forcedEnd = end;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		force();
+		channel.close();
+	}
+
+	private ByteBuffer payload(int offset) {
+		MappedByteBuffer mapped = buffer;
+		int length = mapped.getInt(offset);
+		return mapped.slice(offset + HEADER_BYTES, length);
+	}
+
+	private void appendRecord(byte kind, ByteBuffer payload) {
+		int length = payload.remaining();
+		ensureCapacity(HEADER_BYTES + length);
+		CRC32C crc = new CRC32C();
+		crc.update(kind);
+		crc.update(payload.duplicate());
+		buffer.putInt(end, length);
+		buffer.put(end + Integer.BYTES, kind);
+		buffer.putInt(end + Integer.BYTES + 1, (int) crc.getValue());
+		buffer.put(end + HEADER_BYTES, payload, payload.position(), length);
+		end += HEADER_BYTES + length;
+	}
+
+	private void ensureCapacity(int bytes) {
+		long required = (long) end + bytes;
+		if(required <= buffer.capacity())
+			return;
+		if(required > Integer.MAX_VALUE)
+			throw new IllegalStateException("Article log is full: " + path);
+		long capacity = Math.min(Integer.MAX_VALUE, Math.max(required, 2L * buffer.capacity()));
+		try {
+			// earlier writes stay in the old mapping until flushed
+			force();
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot grow article log " + path, e);
+		}
+	}
+
+	/** Goes through the committed puts and deletes in the order they were written. */
+	public void replay(Replay replay) {
+		for(int position = 0; position < end; position += recordSize(position)) {
+			byte kind = buffer.get(position + Integer.BYTES);
+			if(kind == PUT)
+				replay.put(read(position), position);
+			else if(kind == DELETE)
+				replay.delete(StandardCharsets.UTF_8.decode(payload(position)).toString());
+		}
+	}
+
+	/** Returns the end of the last commit whose records are all intact. */
+	private int recover() {
+		int position = 0;
+		int committed = 0;
+		while(position + HEADER_BYTES <= buffer.capacity()) {
+			int length = buffer.getInt(position);
+			byte kind = buffer.get(position + Integer.BYTES);
+			// in long, so a garbage length cannot wrap around and pass the bounds check
+			if(length < 0 || kind < PUT || kind > COMMIT || (long) position + HEADER_BYTES + length > buffer.capacity())
+				break;
+			CRC32C crc = new CRC32C();
+			crc.update(kind);
+			crc.update(buffer.slice(position + HEADER_BYTES, length));
+			if(buffer.getInt(position + Integer.BYTES + 1) != (int) crc.getValue())
+				break;
+			if(kind == COMMIT)
+				committed = position + HEADER_BYTES + length;
+			position += HEADER_BYTES + length;
+		}
+		return committed;
+	}
+
+	private static ByteBuffer encode(Article article) {
+		BasicOutputBuffer output = new BasicOutputBuffer();
+		CODEC.encode(new BsonBinaryWriter(output), article, EncoderContext.builder().build());
+		return ByteBuffer.wrap(output.getInternalBuffer(), 0, output.getSize());
+	}
+}
@@ -0,0 +1,50 @@
+package com.michael.app.blog.repository.embedded;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.function.Function;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.InProcessBlogRepository;
+
+/**
+ * Repository over an {@link EmbeddedArticleStore}. Inside a transaction it is given the writes of
+ * the batch being built, which it overlays on the committed articles; without one, every write is
+ * flushed to disk as a batch of its own.
+ */
+public class BlogEmbeddedRepository extends InProcessBlogRepository {
+
+	private EmbeddedArticleStore store;
+	private Map<String, Article> writes;
+
+	public BlogEmbeddedRepository(EmbeddedArticleStore store, Map<String, Article> writes) {
+		this.store = store;
+		this.writes = writes;
+	}
+
+	@Override
+	protected NavigableSet<String> committedIds(String afterId) {
+		return store.ids(afterId);
+	}
+
+	@Override
+	protected NavigableSet<String> committedIdsWithTag(Tag tag, String afterId) {
+		return store.idsWithTag(tag, afterId);
+	}
+
+	@Override
+	protected Article readCommitted(String id) {
+		return store.read(id);
+	}
+
+	@Override
+	protected Map<String, Article> bufferedWrites() {
+		return writes;
+	}
+
+	@Override
+	protected <T> T autoCommit(Function<Map<String, Article>, T> operation) {
+		return store.writeBatch(operation, true);
+	}
+}
@@ -0,0 +1,237 @@
+package com.michael.app.blog.repository.embedded;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.memory.CommitPublisher;
+
+/**
+ * Article store kept in a single {@link ArticleLog} file. An index from id to the offset of the
+ * latest record, ordered by id, and a tag index are rebuilt by replaying the log on open, and reads
+ * decode the article straight from the mapped log.
+ *
+ * <p>Writers take turns: a batch holds the write lock from its first read to its commit, so batches
+ * are serializable, while readers outside a batch see each article as last committed. Once stale
+ * records make up most of the log, a background thread rewrites the live ones into a new file and
+ * swaps it in.
+ */
+public class EmbeddedArticleStore implements CommitPublisher, Closeable {
+
+	private static final Logger LOGGER = Logger.getLogger(EmbeddedArticleStore.class.getName());
+
+	static final double COMPACTION_WASTE_RATIO = 0.5;
+	static final int COMPACTION_MIN_BYTES = 1 << 20;
+	private static final long COMPACTION_INTERVAL_SECONDS = 60;
+
+	private final Path path;
+	private final ReentrantLock writeLock = new ReentrantLock();
+	private final CopyOnWriteArrayList<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+	private final ScheduledExecutorService compactor;
+	private final AtomicLong compactions = new AtomicLong();
+	private volatile Segment segment;
+
+	public EmbeddedArticleStore(Path path) throws IOException {
+		this.path = path;
+		this.segment = Segment.open(path);
+		compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "blog-log-compaction");
+			thread.setDaemon(true);
+			return thread;
+		});
+		compactor.scheduleWithFixedDelay(this::compactIfWasteful,
+			COMPACTION_INTERVAL_SECONDS, COMPACTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Runs an operation that buffers its writes in the given map, a null article marking a deletion,
+	 * and appends them as one batch, holding the write lock throughout. Nothing is written if the
+	 * operation throws.
+	 * @param force whether the batch must reach the storage device before this returns
+	 */
+	public <T> T writeBatch(Function<Map<String, Article>, T> operation, boolean force) {
+		writeLock.lock();
+		try {
+			Map<String, Article> writes = new LinkedHashMap<>();
+			T result = operation.apply(writes);
+			if(writes.isEmpty())
+				return result;
+			segment.apply(writes, force);
+			// still under the lock, so listeners see the batches in the order they were written
+			Map<String, Article> changes = Collections.unmodifiableMap(writes);
+			listeners.forEach(listener -> listener.committed(changes));
+			return result;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	public Article read(String id) {
+		return segment.read(id);
+	}
+
+	/** Ids of every article, in ascending order, starting after the given id. */
+	public NavigableSet<String> ids(String afterId) {
+		NavigableSet<String> ids = segment.offsets.keySet();
+		return afterId == null ? ids : ids.tailSet(afterId, false);
+	}
+
+	/** Ids that may carry the tag, in ascending order, starting after the given id. */
+	public NavigableSet<String> idsWithTag(Tag tag, String afterId) {
+		NavigableSet<String> ids = segment.idsByTag.get(tag);
+		if(ids == null)
+			return Collections.emptyNavigableSet();
+		return afterId == null ? ids : ids.tailSet(afterId, false);
+	}
+
+	/** Rewrites the log when stale records take up more than half of it. */
+	public void compactIfWasteful() {
+		Segment current = segment;
+		long size = current.log.size();
+		if(size >= COMPACTION_MIN_BYTES && size - current.liveBytes.get() > COMPACTION_WASTE_RATIO * size)
+			compact();
+	}
+
+	/**
+	 * Copies the live records into a new log and replaces the current file with it. Writers wait
+	 * meanwhile; readers keep reading the old mapping until the new one is swapped in. The new log is
+	 * opened before it replaces the file, so on failure the store keeps appending to the current one.
+	 */
+	public void compact() {
+		writeLock.lock();
+		try {
+			Segment current = segment;
+			Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+			Files.deleteIfExists(compacted);
+			try(ArticleLog copy = new ArticleLog(compacted)) {
+				for(int offset : current.offsets.values())
+					copy.appendCopy(current.log, offset);
+				copy.commitCopies();
+			}
+			Segment replacement = Segment.open(compacted);
+			try {
+				replacement.log.moveTo(path);
+			} catch (IOException e) {
+				replacement.log.close();
+				throw e;
+			}
+			segment = replacement;
+			compactions.incrementAndGet();
+			current.log.close();
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Article log compaction failed", e);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	public long getLogBytes() {
+		return segment.log.size();
+	}
+
+	public long getLiveBytes() {
+		return segment.liveBytes.get();
+	}
+
+	public long getCompactions() {
+		return compactions.get();
+	}
+
+	@Override
+	public void addListener(ChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeListener(ChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public void close() throws IOException {
+		compactor.shutdownNow();
+		writeLock.lock();
+		try {
+			segment.log.close();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/** A log file with the indexes built from it; compaction replaces the whole segment. */
+	private static class Segment implements ArticleLog.Replay {
+		private final ConcurrentSkipListMap<String, Integer> offsets = new ConcurrentSkipListMap<>();
+		private final Map<Tag, NavigableSet<String>> idsByTag = new ConcurrentHashMap<>();
+		private final AtomicLong liveBytes = new AtomicLong();
+		private ArticleLog log;
+
+		private static Segment open(Path path) throws IOException {
+			Segment segment = new Segment();
+			segment.log = new ArticleLog(path);
+			segment.log.replay(segment);
+			return segment;
+		}
+
+		private Article read(String id) {
+			Integer offset = offsets.get(id);
+			return offset == null ? null : log.read(offset);
+		}
+
+		private void apply(Map<String, Article> writes, boolean force) {
+			Map<String, Integer> written = log.append(writes, force);
+			for(Map.Entry<String, Article> write : writes.entrySet()) {
+				if(write.getValue() == null)
+					delete(write.getKey());
+				else
+					put(write.getValue(), written.get(write.getKey()));
+			}
+		}
+
+		@Override
+		public void put(Article article, int offset) {
+			String id = article.getId();
+			Integer previous = offsets.put(id, offset);
+			liveBytes.addAndGet(log.recordSize(offset));
+			for(Tag tag : article.getTags())
+				idsByTag.computeIfAbsent(tag, key -> new ConcurrentSkipListSet<>()).add(id);
+			if(previous != null)
+				forget(id, previous, article);
+		}
+
+		@Override
+		public void delete(String id) {
+			Integer previous = offsets.remove(id);
+			if(previous != null)
+				forget(id, previous, null);
+		}
+
+		/** Drops a superseded record from the live size and the tags the article no longer has. */
+		private void forget(String id, int offset, Article replacement) {
+			liveBytes.addAndGet(-log.recordSize(offset));
+			for(Tag tag : log.read(offset).getTags()) {
+				NavigableSet<String> ids = idsByTag.get(tag);
+				if(ids != null && (replacement == null || !replacement.getTags().contains(tag)))
+					ids.remove(id);
+			}
+		}
+	}
+}
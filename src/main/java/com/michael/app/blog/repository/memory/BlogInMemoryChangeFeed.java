@@ -0,0 +1,72 @@
+package com.michael.app.blog.repository.memory;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.google.inject.Inject;
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.repository.ArticleChangeFeed;
+import com.michael.app.blog.repository.ArticleChangeListener;
+
+/** Change feed of an in-process store, delivering each commit to every watcher on a thread of its own. */
+public class BlogInMemoryChangeFeed implements ArticleChangeFeed {
+
+	private CommitPublisher store;
+
+	@Inject
+	public BlogInMemoryChangeFeed(CommitPublisher store) {
+		this.store = store;
+	}
+
+	@Override
+	public Subscription watch(ArticleChangeListener listener) {
+		Watcher watcher = new Watcher(listener);
+		store.addListener(watcher);
+		Thread thread = new Thread(watcher, "blog-change-feed");
+		thread.setDaemon(true);
+		watcher.thread = thread;
+		thread.start();
+		return watcher;
+	}
+
+	/** Queues commits on the committing thread and hands them to the listener from its own. */
+	private class Watcher implements Runnable, Subscription, CommitPublisher.ChangeListener {
+		private final ArticleChangeListener listener;
+		private final BlockingQueue<Map<String, Article>> commits = new LinkedBlockingQueue<>();
+		private Thread thread;
+		private volatile boolean running = true;
+
+		private Watcher(ArticleChangeListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void committed(Map<String, Article> changes) {
+			commits.add(changes);
+		}
+
+		@Override
+		public void run() {
+			try {
+				while(running) {
+					for(Map.Entry<String, Article> change : commits.take().entrySet()) {
+						if(change.getValue() == null)
+							listener.articleRemoved(change.getKey());
+						else
+							listener.articleChanged(change.getValue());
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public void close() {
+			running = false;
+			store.removeListener(this);
+			thread.interrupt();
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.michael.app.blog.repository.memory;
+
+import java.util.Map;
+
+import com.michael.app.blog.repository.IndexManager;
+import com.michael.app.blog.repository.IndexStatus;
+
+/** In-process stores keep their id order and tag index up to date on every commit. */
+public class BlogInMemoryIndexManager implements IndexManager {
+
+	@Override
+	public void ensureIndexes() {
+		// nothing to build
+	}
+
+	@Override
+	public Map<String, IndexStatus> getIndexStatus() {
+		return Map.of("tags_id", IndexStatus.READY);
+	}
+}
@@ -0,0 +1,51 @@
+package com.michael.app.blog.repository.memory;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.function.Function;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.InProcessBlogRepository;
+import com.michael.app.blog.repository.memory.InMemoryArticleStore.Transaction;
+
+/**
+ * Repository over an {@link InMemoryArticleStore}. Inside a transaction it reads the transaction's
+ * snapshot overlaid with its own buffered writes; without one, reads see the latest committed
+ * articles and every write commits on its own.
+ */
+public class BlogInMemoryRepository extends InProcessBlogRepository {
+
+	private InMemoryArticleStore store;
+	private Transaction transaction;
+
+	public BlogInMemoryRepository(InMemoryArticleStore store, Transaction transaction) {
+		this.store = store;
+		this.transaction = transaction;
+	}
+
+	@Override
+	protected NavigableSet<String> committedIds(String afterId) {
+		return store.ids(afterId);
+	}
+
+	@Override
+	protected NavigableSet<String> committedIdsWithTag(Tag tag, String afterId) {
+		return store.idsWithTag(tag, afterId);
+	}
+
+	@Override
+	protected Article readCommitted(String id) {
+		return store.read(id, transaction == null ? InMemoryArticleStore.LATEST : transaction.getSnapshot());
+	}
+
+	@Override
+	protected Map<String, Article> bufferedWrites() {
+		return transaction == null ? null : transaction.getWrites();
+	}
+
+	@Override
+	protected <T> T autoCommit(Function<Map<String, Article>, T> operation) {
+		return store.autoCommit(current -> operation.apply(current.getWrites()));
+	}
+}
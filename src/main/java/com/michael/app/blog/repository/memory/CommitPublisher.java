@@ -0,0 +1,23 @@
+package com.michael.app.blog.repository.memory;
+
+import java.util.Map;
+
+import com.michael.app.blog.model.Article;
+
+/**
+ * An in-process store that tells listeners about each commit, on the committing thread and in commit
+ * order. Listeners are called while the store holds its commit lock, so they should only hand the
+ * changes off, such as to a queue.
+ */
+public interface CommitPublisher {
+
+	void addListener(ChangeListener listener);
+
+	void removeListener(ChangeListener listener);
+
+	@FunctionalInterface
+	interface ChangeListener {
+		/** Receives the articles written by one commit, with null marking a deletion. */
+		void committed(Map<String, Article> changes);
+	}
+}
@@ -0,0 +1,207 @@
+package com.michael.app.blog.repository.memory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+
+/**
+ * Multi-version article store. Every committed write adds a version stamped with the commit
+ * timestamp, so a transaction reads the state as of its snapshot while others keep committing.
+ * Commits are serialised and refuse a write to an article that another transaction committed
+ * after the snapshot was taken (first committer wins). Versions no active snapshot can see
+ * are dropped on commit.
+ *
+ * <p>Articles are kept ordered by id for paging, and a secondary index maps each tag to the ids
+ * of articles that carry it in some retained version; readers check the tag on the version they see.
+ */
+public class InMemoryArticleStore implements CommitPublisher {
+
+	/** Reads through this snapshot see the latest committed version of each article. */
+	public static final long LATEST = Long.MAX_VALUE;
+
+	private final ConcurrentSkipListMap<String, Version> articles = new ConcurrentSkipListMap<>();
+	private final Map<Tag, NavigableSet<String>> idsByTag = new ConcurrentHashMap<>();
+	private final TreeMap<Long, Integer> activeSnapshots = new TreeMap<>();
+	private final CopyOnWriteArrayList<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+	private volatile long clock = 0;
+
+	public synchronized Transaction begin() {
+		Transaction transaction = new Transaction(clock);
+		activeSnapshots.merge(transaction.snapshot, 1, Integer::sum);
+		return transaction;
+	}
+
+	/** Releases the snapshot of a transaction, discarding its writes if it was not committed. */
+	public synchronized void end(Transaction transaction) {
+		if(transaction.ended)
+			return;
+		transaction.ended = true;
+		activeSnapshots.computeIfPresent(transaction.snapshot, (snapshot, count) -> count == 1 ? null : count - 1);
+	}
+
+	/**
+	 * Commits the writes of the transaction and ends it.
+	 * @throws WriteConflictException when an article it wrote was committed by someone else after its snapshot
+	 */
+	public synchronized void commit(Transaction transaction) {
+		try {
+			for(String id : transaction.writes.keySet()) {
+				Version head = articles.get(id);
+				if(head != null && head.commitTimestamp > transaction.snapshot)
+					throw new WriteConflictException(id);
+			}
+		} finally {
+			// released before installing, so its own snapshot does not hold back pruning
+			end(transaction);
+		}
+		publish(install(transaction.writes));
+	}
+
+	/**
+	 * Runs a single operation as its own transaction while holding the commit lock, so it cannot
+	 * conflict; used for writes made outside a transaction.
+	 */
+	public synchronized <T> T autoCommit(Function<Transaction, T> operation) {
+		Transaction transaction = new Transaction(LATEST);
+		T result = operation.apply(transaction);
+		transaction.ended = true;
+		publish(install(transaction.writes));
+		return result;
+	}
+
+	public Article read(String id, long snapshot) {
+		for(Version version = articles.get(id); version != null; version = version.previous)
+			if(version.commitTimestamp <= snapshot)
+				return version.article;
+		return null;
+	}
+
+	/** Ids of every article with a retained version, in ascending order, starting after the given id. */
+	public NavigableSet<String> ids(String afterId) {
+		return afterId == null ? articles.keySet() : articles.keySet().tailSet(afterId, false);
+	}
+
+	/** Ids that may carry the tag, in ascending order, starting after the given id. */
+	public NavigableSet<String> idsWithTag(Tag tag, String afterId) {
+		NavigableSet<String> ids = idsByTag.get(tag);
+		if(ids == null)
+			return Collections.emptyNavigableSet();
+		return afterId == null ? ids : ids.tailSet(afterId, false);
+	}
+
+	public long getCommittedTimestamp() {
+		return clock;
+	}
+
+	public synchronized int getActiveTransactions() {
+		return activeSnapshots.values().stream().mapToInt(Integer::intValue).sum();
+	}
+
+	@Override
+	public void addListener(ChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeListener(ChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	private Map<String, Article> install(Map<String, Article> writes) {
+		if(writes.isEmpty())
+			return Collections.emptyMap();
+		long timestamp = clock + 1;
+		long oldestVisible = activeSnapshots.isEmpty() ? timestamp : activeSnapshots.firstKey();
+		for(Map.Entry<String, Article> write : writes.entrySet()) {
+			String id = write.getKey();
+			Article article = write.getValue();
+			Version head = new Version(timestamp, article, articles.get(id));
+			if(article != null)
+				for(Tag tag : article.getTags())
+					idsByTag.computeIfAbsent(tag, key -> new ConcurrentSkipListSet<>()).add(id);
+			articles.put(id, head);
+			prune(id, head, oldestVisible);
+		}
+		clock = timestamp;
+		return new LinkedHashMap<>(writes);
+	}
+
+	/** Drops the versions hidden behind the newest one the oldest active snapshot can see. */
+	private void prune(String id, Version head, long oldestVisible) {
+		Version kept = head;
+		while(kept.commitTimestamp > oldestVisible && kept.previous != null)
+			kept = kept.previous;
+		Version dropped = kept.previous;
+		kept.previous = null;
+		Set<Tag> droppedTags = new HashSet<>();
+		for(; dropped != null; dropped = dropped.previous)
+			if(dropped.article != null)
+				droppedTags.addAll(dropped.article.getTags());
+		if(kept == head && head.article == null) {
+			articles.remove(id, head);
+			unindex(id, droppedTags);
+			return;
+		}
+		for(Version version = head; version != null; version = version.previous)
+			if(version.article != null)
+				droppedTags.removeAll(version.article.getTags());
+		unindex(id, droppedTags);
+	}
+
+	private void unindex(String id, Set<Tag> tags) {
+		for(Tag tag : tags) {
+			NavigableSet<String> ids = idsByTag.get(tag);
+			if(ids != null)
+				ids.remove(id);
+		}
+	}
+
+	/** Called under the commit lock, so listeners see commits in the order they were made. */
+	private void publish(Map<String, Article> changes) {
+		if(!changes.isEmpty())
+			listeners.forEach(listener -> listener.committed(changes));
+	}
+
+	private static class Version {
+		private final long commitTimestamp;
+		private final Article article;
+		private volatile Version previous;
+
+		private Version(long commitTimestamp, Article article, Version previous) {
+			this.commitTimestamp = commitTimestamp;
+			this.article = article;
+			this.previous = previous;
+		}
+	}
+
+	/** Snapshot timestamp plus the writes buffered until commit; a null article marks a deletion. */
+	public static class Transaction {
+		private final long snapshot;
+		private final Map<String, Article> writes = new LinkedHashMap<>();
+		private boolean ended = false;
+
+		private Transaction(long snapshot) {
+			this.snapshot = snapshot;
+		}
+
+		public long getSnapshot() {
+			return snapshot;
+		}
+
+		public Map<String, Article> getWrites() {
+			return writes;
+		}
+	}
+}
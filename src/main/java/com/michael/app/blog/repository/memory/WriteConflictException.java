@@ -0,0 +1,10 @@
+package com.michael.app.blog.repository.memory;
+
+public class WriteConflictException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public WriteConflictException(String id) {
+		super("Write conflict on article " + id);
+	}
+}
@@ -0,0 +1,137 @@
+package com.michael.app.blog.repository.mongo;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bson.BsonDocument;
+
+import com.google.inject.Inject;
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.guice.MongoCollectionName;
+import com.michael.app.blog.guice.MongoDbName;
+import com.michael.app.blog.repository.ArticleChangeFeed;
+import com.michael.app.blog.repository.ArticleChangeListener;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+public class BlogMongoChangeFeed implements ArticleChangeFeed {
+
+	private static final Logger LOGGER = Logger.getLogger(BlogMongoChangeFeed.class.getName());
+	static final long MAX_AWAIT_MILLIS = 500;
+	static final long MIN_BACKOFF_MILLIS = 100;
+	static final long MAX_BACKOFF_MILLIS = 10_000;
+
+	private MongoCollection<Article> articleCollection;
+
+	@Inject
+	public BlogMongoChangeFeed(MongoClient client, @MongoDbName String databaseName,
+		@MongoCollectionName String collectionName) {
+		this.articleCollection = BlogMongoRepository.articleCollection(client, databaseName, collectionName);
+	}
+
+	@Override
+	public Subscription watch(ArticleChangeListener listener) {
+		Watcher watcher = new Watcher(listener);
+		Thread thread = new Thread(watcher, "blog-change-feed");
+		thread.setDaemon(true);
+		thread.start();
+		return watcher;
+	}
+
+	private class Watcher implements Runnable, Subscription {
+		private final ArticleChangeListener listener;
+		private volatile boolean running = true;
+		private BsonDocument resumeToken;
+
+		private Watcher(ArticleChangeListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void run() {
+			long backoff = MIN_BACKOFF_MILLIS;
+			while(running) {
+				try {
+					follow();
+					backoff = MIN_BACKOFF_MILLIS;
+				} catch(RuntimeException e) {
+					// anything else, such as a document the codec cannot decode, would end live updates for good
+					if(!running)
+						return;
+					LOGGER.log(Level.WARNING, "Change stream on " + articleCollection.getNamespace()
+						+ " interrupted, reconnecting in " + backoff + " ms", e);
+					if(!pause(backoff))
+						return;
+					backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+				}
+			}
+		}
+
+		@Override
+		public void close() {
+			running = false;
+		}
+
+		private void follow() {
+			ChangeStreamIterable<Article> changes = articleCollection.watch()
+				.fullDocument(FullDocument.UPDATE_LOOKUP)
+				.maxAwaitTime(MAX_AWAIT_MILLIS, TimeUnit.MILLISECONDS);
+			if(resumeToken != null)
+				changes = changes.resumeAfter(resumeToken);
+			try(MongoChangeStreamCursor<ChangeStreamDocument<Article>> cursor = changes.cursor()) {
+				while(running) {
+					// tryNext returns after maxAwaitTime so close() is noticed without interrupting the driver
+					ChangeStreamDocument<Article> change = cursor.tryNext();
+					if(change != null)
+						dispatchSafely(change);
+					if(cursor.getResumeToken() != null)
+						resumeToken = cursor.getResumeToken();
+				}
+			}
+		}
+
+		private void dispatchSafely(ChangeStreamDocument<Article> change) {
+			try {
+				dispatch(change);
+			} catch(MongoException e) {
+				throw e;
+			} catch(RuntimeException e) {
+				LOGGER.log(Level.WARNING, "Cannot dispatch " + change.getOperationType() + " change on "
+					+ articleCollection.getNamespace() + ", skipped", e);
+			}
+		}
+
+		private void dispatch(ChangeStreamDocument<Article> change) {
+			switch(change.getOperationType()) {
+				case INSERT, REPLACE, UPDATE -> {
+					if(change.getFullDocument() != null)
+						listener.articleChanged(change.getFullDocument());
+				}
+				case DELETE -> listener.articleRemoved(
+					change.getDocumentKey().getObjectId("_id").getValue().toHexString());
+				case INVALIDATE -> {
+					// a dropped or renamed collection cannot be resumed after, so start over
+					resumeToken = null;
+					throw new MongoException("Change stream invalidated");
+				}
+				default -> { }
+			}
+		}
+
+		private boolean pause(long millis) {
+			try {
+				Thread.sleep(millis);
+				return true;
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+}
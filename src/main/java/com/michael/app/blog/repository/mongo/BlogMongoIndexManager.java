@@ -0,0 +1,75 @@
+package com.michael.app.blog.repository.mongo;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bson.Document;
+
+import com.google.inject.Inject;
+import com.michael.app.blog.guice.MongoCollectionName;
+import com.michael.app.blog.guice.MongoDbName;
+import com.michael.app.blog.repository.IndexManager;
+import com.michael.app.blog.repository.IndexStatus;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+
+public class BlogMongoIndexManager implements IndexManager {
+
+	// a match in the title counts as much as this many matches in the content
+	private static final int TITLE_WEIGHT = 10;
+
+	static final List<IndexModel> ARTICLE_INDEXES = List.of(
+		new IndexModel(
+			Indexes.compoundIndex(Indexes.ascending("tags"), Indexes.ascending("_id")),
+			new IndexOptions().name("tags_id")),
+		new IndexModel(
+			Indexes.compoundIndex(Indexes.text("title"), Indexes.text("content")),
+			new IndexOptions().name("title_content_text")
+				.weights(new Document("title", TITLE_WEIGHT).append("content", 1)))
+	);
+
+	private static final Logger LOGGER = Logger.getLogger(BlogMongoIndexManager.class.getName());
+
+	private MongoCollection<Document> articleCollection;
+	private final Map<String, IndexStatus> indexStatus = new LinkedHashMap<>();
+
+	@Inject
+	public BlogMongoIndexManager(MongoClient client, @MongoDbName String databaseName,
+		@MongoCollectionName String collectionName) {
+		this.articleCollection = client.getDatabase(databaseName).getCollection(collectionName);
+		ARTICLE_INDEXES.forEach(index -> indexStatus.put(index.getOptions().getName(), IndexStatus.PENDING));
+	}
+
+	@Override
+	public void ensureIndexes() {
+		for(IndexModel index : ARTICLE_INDEXES) {
+			String name = index.getOptions().getName();
+			updateStatus(name, IndexStatus.BUILDING);
+			try {
+				articleCollection.createIndexes(List.of(index));
+				updateStatus(name, IndexStatus.READY);
+			} catch (MongoException e) {
+				updateStatus(name, IndexStatus.FAILED);
+				LOGGER.log(Level.WARNING, "Index " + name + " could not be built", e);
+			}
+		}
+	}
+
+	@Override
+	public synchronized Map<String, IndexStatus> getIndexStatus() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(indexStatus));
+	}
+
+	private synchronized void updateStatus(String name, IndexStatus status) {
+		indexStatus.put(name, status);
+		LOGGER.info(() -> "Index " + name + " on " + articleCollection.getNamespace() + ": " + status);
+	}
+}
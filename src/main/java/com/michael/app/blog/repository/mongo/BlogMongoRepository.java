@@ -1,9 +1,14 @@
 package com.michael.app.blog.repository.mongo;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
 
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 
 import com.google.inject.Inject;
@@ -11,113 +16,175 @@ import com.google.inject.assistedinject.Assisted;
 import com.michael.app.blog.guice.MongoCollectionName;
 import com.michael.app.blog.guice.MongoDbName;
 import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
 import com.michael.app.blog.model.Tag;
 import com.michael.app.blog.repository.BlogRepository;
+import com.michael.app.blog.repository.BulkSaveResult;
+import com.michael.app.blog.repository.mongo.codec.ArticleCodecProvider;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
 
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public class BlogMongoRepository implements BlogRepository {
 	
-	private MongoCollection<Document> articleCollection;
+	private static final Bson SUMMARY_FIELDS = Projections.include("title", "tags");
+	private static final Bson SEARCH_FIELDS = Projections.fields(SUMMARY_FIELDS, Projections.metaTextScore("score"));
+	
+	private MongoCollection<Article> articleCollection;
+	private MongoCollection<ArticleSummary> summaryCollection;
 	private ClientSession session = null;
 	
 	@Inject
 	public BlogMongoRepository(MongoClient client,@MongoDbName String databaseName,
-		@MongoCollectionName String collectionName, @Assisted ClientSession session) {
+		@MongoCollectionName String collectionName, ReadConcern readConcern, ReadPreference readPreference,
+		@Assisted ClientSession session) {
 		this.session = session;
-		this.articleCollection = client.getDatabase(databaseName).getCollection(collectionName);
+		this.articleCollection = articleCollection(client, databaseName, collectionName)
+			.withReadConcern(readConcern)
+			.withReadPreference(readPreference);
+		this.summaryCollection = articleCollection.withDocumentClass(ArticleSummary.class);
+	}
+	
+	public BlogMongoRepository(MongoClient client, String databaseName, String collectionName, ClientSession session) {
+		this(client, databaseName, collectionName, ReadConcern.DEFAULT, ReadPreference.primary(), session);
+	}
+	
+	static MongoCollection<Article> articleCollection(MongoClient client, String databaseName, String collectionName) {
+		return client.getDatabase(databaseName)
+			.getCollection(collectionName, Article.class)
+			.withCodecRegistry(ArticleCodecProvider.CODEC_REGISTRY);
 	}
 
 	@Override
 	public List<Article> findAll() {
-		return StreamSupport.stream(articleCollection.find(session).spliterator(), false)
-			.map(this::documentToArticle)
-			.toList();
+		return articleCollection.find(session).into(new ArrayList<>());
 	}
 	
 	@Override
 	public List<Article> findAllWithTag(Tag tag) {
-		return StreamSupport.stream(articleCollection.find(session, Filters.eq("tags", tag.getLabel())).spliterator(), false)
-			.map(this::documentToArticle)
-			.toList();
+		return articleCollection.find(session, Filters.eq("tags", tag.getLabel())).into(new ArrayList<>());
+	}
+
+	@Override
+	public List<ArticleSummary> findPage(String afterId, int limit) {
+		return findPage(new ArrayList<>(), afterId, limit);
+	}
+	
+	@Override
+	public List<ArticleSummary> findPageWithTag(Tag tag, String afterId, int limit) {
+		List<Bson> filters = new ArrayList<>();
+		filters.add(Filters.eq("tags", tag.getLabel()));
+		return findPage(filters, afterId, limit);
+	}
+
+	@Override
+	public List<ArticleSummary> search(String query, int limit) {
+		if(query == null || query.trim().isEmpty())
+			throw new IllegalArgumentException("Search query cannot be empty!");
+		if(limit <= 0)
+			throw new IllegalArgumentException("Search limit must be positive!");
+		return summaryCollection.find(session, Filters.text(query))
+			.projection(SEARCH_FIELDS)
+			.sort(Sorts.metaTextScore("score"))
+			.limit(limit)
+			.into(new ArrayList<>());
+	}
+
+	@Override
+	public Stream<Article> streamAll(int batchSize) {
+		if(batchSize <= 0)
+			throw new IllegalArgumentException("Batch size must be positive!");
+		MongoCursor<Article> cursor = articleCollection.find(session).batchSize(batchSize).cursor();
+		return StreamSupport.stream(
+				Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+			.onClose(cursor::close);
 	}
 
 	@Override
 	public Article findById(String id) {
-		Document doc;
-		doc = articleCollection.find(session, Filters.eq("_id", new ObjectId(id))).first();
-		if(doc == null)
-			return null;
-		return this.documentToArticle(doc);
+		return articleCollection.find(session, Filters.eq("_id", new ObjectId(id))).first();
 	}
 
 	@Override
 	public Article save(Article article) {
 		if(article == null)
 			throw new IllegalArgumentException("Cannot save null article!");
-		Document doc = extractArticleInfo(article);
-		articleCollection.insertOne(session, doc).getInsertedId();
-		return documentToArticle(doc);
+		Article savedArticle = withNewId(article);
+		articleCollection.insertOne(session, savedArticle);
+		return savedArticle;
 	}
 	
 	@Override
-	public void update(Article article) {
+	public BulkSaveResult saveAll(List<Article> articles) {
+		if(articles == null)
+			throw new IllegalArgumentException("Cannot save null articles!");
+		if(articles.isEmpty())
+			return new BulkSaveResult(List.of(), Map.of());
+		List<Article> toInsert = articles.stream()
+			.map(this::withNewId)
+			.toList();
+		Map<Integer, String> errors = new TreeMap<>();
+		try {
+			articleCollection.insertMany(session, toInsert, new InsertManyOptions().ordered(false));
+		} catch(MongoBulkWriteException e) {
+			e.getWriteErrors().forEach(error -> errors.put(error.getIndex(), error.getMessage()));
+		}
+		List<Article> savedArticles = IntStream.range(0, toInsert.size())
+			.filter(index -> !errors.containsKey(index))
+			.mapToObj(toInsert::get)
+			.toList();
+		return new BulkSaveResult(savedArticles, errors);
+	}
+	
+	@Override
+	public long update(Article article) {
 		if(article == null)
 			throw new IllegalArgumentException("Cannot update null article!");
 		if(article.getId() == null)
 			throw new IllegalArgumentException("Article has null id!");
-		Document doc = articleToDocument(article);
-		doc.remove("_id");
-		ObjectId articleId = new ObjectId(article.getId());
-		articleCollection.replaceOne(
+		return articleCollection.replaceOne(
 			session,
-			Filters.eq("_id", articleId),
-			doc,
+			Filters.eq("_id", new ObjectId(article.getId())),
+			article,
 			new ReplaceOptions().upsert(false)
-		);
+		).getMatchedCount();
 	}
 	
 	@Override
-	public void delete(String id) {
+	public long delete(String id) {
 		if(id == null)
 			throw new IllegalArgumentException("Cannot delete: given id is null!");
-		articleCollection.deleteOne(session, new Document("_id", new ObjectId(id)));
+		return articleCollection.deleteOne(session, Filters.eq("_id", new ObjectId(id))).getDeletedCount();
 	}
 
-	private Document extractArticleInfo(Article article) {
-		Document doc = articleToDocument(article);
-		doc.remove("_id");
-		return doc;
-	}
-	
-	private Article documentToArticle(Document doc) {
-		List<String> tagList = doc.getList("tags", String.class);
-		Set<Tag> tags = tagList.stream()
-			.map(Tag::new)
-			.collect(Collectors.toSet());
-		return new Article(
-			doc.getObjectId("_id").toString(),
-			doc.getString("title"),
-			doc.getString("content"),
-			tags
-			);
+	private List<ArticleSummary> findPage(List<Bson> filters, String afterId, int limit) {
+		if(limit <= 0)
+			throw new IllegalArgumentException("Page limit must be positive!");
+		if(afterId != null)
+			filters.add(Filters.gt("_id", new ObjectId(afterId)));
+		Bson filter = filters.isEmpty() ? new Document() : Filters.and(filters);
+		return summaryCollection.find(session, filter)
+			.projection(SUMMARY_FIELDS)
+			.sort(Sorts.ascending("_id"))
+			.limit(limit)
+			.into(new ArrayList<>());
 	}
 
-	private Document articleToDocument(Article article) {
-		ObjectId id = null;
-		
-		List<String> tagLabels = article.getTags().stream()
-			.map(Tag::getLabel)
-			.toList();
-		return new Document(new Document("_id", id)
-			.append("title", article.getTitle())
-			.append("content", article.getContent())
-			.append("tags", tagLabels));
+	// ids are generated here rather than by the server so the saved article can be returned without a read
+	private Article withNewId(Article article) {
+		return new Article(new ObjectId().toHexString(), article.getTitle(), article.getContent(), article.getTags());
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package com.michael.app.blog.repository.mongo;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import com.michael.app.blog.metrics.MetricsRegistry;
+import com.michael.app.blog.metrics.OperationStats;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Times every command the driver sends and publishes the latencies per command name as
+ * {@value MetricsRegistry#DOMAIN}:type=MongoCommand,name=&lt;command&gt;, the result size being the
+ * documents in the returned batch, or the count of a write. The driver times a command from sending
+ * it to decoding the reply, so server selection and the wait for a pooled connection, tracked by
+ * {@link ConnectionPoolStatistics}, come on top.
+ *
+ * <p>Commands slower than the threshold are logged with the shape of their filter, sort and pipeline:
+ * field names and operators, with every value replaced by {@code ?}. The driver releases the command
+ * once it is sent, so with the log enabled each shape is taken up front.
+ */
+public class CommandStatistics implements CommandListener {
+
+	private static final Logger LOGGER = Logger.getLogger(CommandStatistics.class.getName());
+
+	private static final Set<String> SHAPED_FIELDS = Set.of("filter", "q", "sort", "pipeline", "updates", "deletes");
+
+	private final MetricsRegistry metrics;
+	private final long slowCommandNanos;
+	private final Map<Integer, String> startedCommands = new ConcurrentHashMap<>();
+	private final LongAdder slowCommands = new LongAdder();
+
+	/** @param slowCommandMillis commands taking longer than this are logged, 0 disables the log */
+	public CommandStatistics(MetricsRegistry metrics, long slowCommandMillis) {
+		if(slowCommandMillis < 0)
+			throw new IllegalArgumentException("Slow command threshold cannot be negative!");
+		this.metrics = metrics;
+		this.slowCommandNanos = TimeUnit.MILLISECONDS.toNanos(slowCommandMillis);
+	}
+
+	@Override
+	public void commandStarted(CommandStartedEvent event) {
+		if(slowCommandNanos > 0)
+			startedCommands.put(event.getRequestId(), describe(event.getCommandName(), event.getDatabaseName(), event.getCommand()));
+	}
+
+	@Override
+	public void commandSucceeded(CommandSucceededEvent event) {
+		long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+		stats(event.getCommandName()).succeeded(nanos, resultSize(event.getResponse()));
+		logIfSlow(event.getRequestId(), nanos, "");
+	}
+
+	@Override
+	public void commandFailed(CommandFailedEvent event) {
+		long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+		stats(event.getCommandName()).failed(nanos);
+		logIfSlow(event.getRequestId(), nanos, " and failed: " + event.getThrowable().getMessage());
+	}
+
+	public OperationStats stats(String commandName) {
+		return metrics.operation("MongoCommand", commandName);
+	}
+
+	public long getSlowCommands() {
+		return slowCommands.sum();
+	}
+
+	private void logIfSlow(int requestId, long nanos, String outcome) {
+		String command = startedCommands.remove(requestId);
+		if(command == null || nanos <= slowCommandNanos)
+			return;
+		slowCommands.increment();
+		LOGGER.warning(() -> "Slow command " + command + " took " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms" + outcome);
+	}
+
+	/** Name, namespace and query shape of a command, such as {@code find blog.articles {filter: {tags: {$all: [?, ...]}}}}. */
+	static String describe(String commandName, String databaseName, BsonDocument command) {
+		BsonValue target = command.get(commandName);
+		String namespace = target != null && target.isString() ? databaseName + "." + target.asString().getValue() : databaseName;
+		StringJoiner shape = new StringJoiner(", ", " {", "}").setEmptyValue("");
+		for(Map.Entry<String, BsonValue> field : command.entrySet())
+			if(SHAPED_FIELDS.contains(field.getKey()))
+				shape.add(field.getKey() + ": " + shape(field.getValue()));
+		return commandName + " " + namespace + shape;
+	}
+
+	private static String shape(BsonValue value) {
+		if(value.isDocument()) {
+			StringJoiner fields = new StringJoiner(", ", "{", "}");
+			for(Map.Entry<String, BsonValue> field : value.asDocument().entrySet())
+				fields.add(field.getKey() + ": " + shape(field.getValue()));
+			return fields.toString();
+		}
+		if(value.isArray()) {
+			BsonArray array = value.asArray();
+			if(array.isEmpty())
+				return "[]";
+			return "[" + shape(array.get(0)) + (array.size() > 1 ? ", ...]" : "]");
+		}
+		return "?";
+	}
+
+	private static long resultSize(BsonDocument response) {
+		BsonValue cursor = response.get("cursor");
+		if(cursor != null && cursor.isDocument()) {
+			for(String batch : new String[] { "firstBatch", "nextBatch" }) {
+				BsonValue documents = cursor.asDocument().get(batch);
+				if(documents != null && documents.isArray())
+					return documents.asArray().size();
+			}
+		}
+		BsonValue count = response.get("n");
+		return count != null && count.isNumber() ? count.asNumber().longValue() : 0;
+	}
+}
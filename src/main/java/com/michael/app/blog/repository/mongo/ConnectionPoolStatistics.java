@@ -0,0 +1,128 @@
+package com.michael.app.blog.repository.mongo;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.inject.Inject;
+import com.michael.app.blog.metrics.MetricsRegistry;
+import com.michael.app.blog.metrics.OperationStats;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClearedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+/**
+ * Counts the connections of the driver pool and how they are checked out. The time each check-out
+ * waited for a connection is published as {@value MetricsRegistry#DOMAIN}:type=ConnectionPool,name=checkOut,
+ * failed check-outs, such as wait timeouts, counting as errors.
+ */
+public class ConnectionPoolStatistics implements ConnectionPoolListener {
+
+	private final OperationStats checkOutWaits;
+	private final AtomicLong connectionsCreated = new AtomicLong();
+	private final AtomicLong connectionsClosed = new AtomicLong();
+	private final AtomicLong checkOutsStarted = new AtomicLong();
+	private final AtomicLong checkedOut = new AtomicLong();
+	private final AtomicLong checkedIn = new AtomicLong();
+	private final AtomicLong checkOutFailures = new AtomicLong();
+	private final AtomicLong poolClears = new AtomicLong();
+	private final AtomicLong peakInUse = new AtomicLong();
+
+	@Inject
+	public ConnectionPoolStatistics(MetricsRegistry metrics) {
+		checkOutWaits = metrics.operation("ConnectionPool", "checkOut");
+	}
+
+	public ConnectionPoolStatistics() {
+		this(new MetricsRegistry(null));
+	}
+
+	@Override
+	public void connectionCreated(ConnectionCreatedEvent event) {
+		connectionsCreated.incrementAndGet();
+	}
+
+	@Override
+	public void connectionClosed(ConnectionClosedEvent event) {
+		connectionsClosed.incrementAndGet();
+	}
+
+	@Override
+	public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+		checkOutsStarted.incrementAndGet();
+	}
+
+	@Override
+	public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+		checkedOut.incrementAndGet();
+		checkOutWaits.succeeded(event.getElapsedTime(TimeUnit.NANOSECONDS), 1);
+		peakInUse.accumulateAndGet(getInUse(), Math::max);
+	}
+
+	@Override
+	public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+		checkOutFailures.incrementAndGet();
+		checkOutWaits.failed(event.getElapsedTime(TimeUnit.NANOSECONDS));
+	}
+
+	@Override
+	public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+		checkedIn.incrementAndGet();
+	}
+
+	@Override
+	public void connectionPoolCleared(ConnectionPoolClearedEvent event) {
+		poolClears.incrementAndGet();
+	}
+
+	public long getOpenConnections() {
+		return connectionsCreated.get() - connectionsClosed.get();
+	}
+
+	public long getInUse() {
+		return checkedOut.get() - checkedIn.get();
+	}
+
+	/** Threads currently waiting for a connection, which grows when the pool is too small. */
+	public long getWaiting() {
+		return checkOutsStarted.get() - checkedOut.get() - checkOutFailures.get();
+	}
+
+	public long getPeakInUse() {
+		return peakInUse.get();
+	}
+
+	public long getCheckOuts() {
+		return checkedOut.get();
+	}
+
+	public long getCheckOutFailures() {
+		return checkOutFailures.get();
+	}
+
+	/** Time spent waiting for a connection, over successful and failed check-outs. */
+	public OperationStats getCheckOutWaits() {
+		return checkOutWaits;
+	}
+
+	public long getConnectionsCreated() {
+		return connectionsCreated.get();
+	}
+
+	public long getPoolClears() {
+		return poolClears.get();
+	}
+
+	@Override
+	public String toString() {
+		return "ConnectionPoolStatistics [open=" + getOpenConnections() + ", inUse=" + getInUse()
+			+ ", peakInUse=" + getPeakInUse() + ", waiting=" + getWaiting() + ", checkOuts=" + getCheckOuts()
+			+ ", checkOutFailures=" + getCheckOutFailures() + ", checkOutWaitP99Millis=" + checkOutWaits.getP99Millis()
+			+ ", checkOutWaitMaxMillis=" + checkOutWaits.getMaxMillis() + ", created=" + getConnectionsCreated()
+			+ ", poolClears=" + getPoolClears() + "]";
+	}
+}
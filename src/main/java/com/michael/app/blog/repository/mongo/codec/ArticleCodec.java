@@ -0,0 +1,45 @@
+package com.michael.app.blog.repository.mongo.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.TagSet;
+
+public class ArticleCodec implements Codec<Article> {
+
+	@Override
+	public void encode(BsonWriter writer, Article article, EncoderContext encoderContext) {
+		writer.writeStartDocument();
+		ArticleSummaryCodec.writeId(writer, article);
+		writer.writeString("title", article.getTitle());
+		writer.writeString("content", article.getContent());
+		ArticleSummaryCodec.writeTags(writer, article);
+		writer.writeEndDocument();
+	}
+
+	@Override
+	public Article decode(BsonReader reader, DecoderContext decoderContext) {
+		ArticleSummaryCodec.Fields fields = new ArticleSummaryCodec.Fields();
+		String content = null;
+		reader.readStartDocument();
+		while(reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			String name = reader.readName();
+			if(name.equals("content"))
+				content = reader.readString();
+			else
+				fields.read(name, reader);
+		}
+		reader.readEndDocument();
+		return new Article(fields.id, fields.title, content, TagSet.copyOf(fields.tags));
+	}
+
+	@Override
+	public Class<Article> getEncoderClass() {
+		return Article.class;
+	}
+}
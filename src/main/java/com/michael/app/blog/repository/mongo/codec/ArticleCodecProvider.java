@@ -0,0 +1,31 @@
+package com.michael.app.blog.repository.mongo.codec;
+
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
+import com.mongodb.MongoClientSettings;
+
+public class ArticleCodecProvider implements CodecProvider {
+
+	/** The driver defaults, for filters and updates, with the article codecs in front. */
+	public static final CodecRegistry CODEC_REGISTRY = CodecRegistries.fromRegistries(
+		CodecRegistries.fromProviders(new ArticleCodecProvider()),
+		MongoClientSettings.getDefaultCodecRegistry());
+
+	private static final ArticleCodec ARTICLE_CODEC = new ArticleCodec();
+	private static final ArticleSummaryCodec SUMMARY_CODEC = new ArticleSummaryCodec();
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+		if(clazz == Article.class)
+			return (Codec<T>) ARTICLE_CODEC;
+		if(clazz == ArticleSummary.class)
+			return (Codec<T>) SUMMARY_CODEC;
+		return null;
+	}
+}
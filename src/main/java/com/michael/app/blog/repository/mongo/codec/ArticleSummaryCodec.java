@@ -0,0 +1,77 @@
+package com.michael.app.blog.repository.mongo.codec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+import com.michael.app.blog.model.ArticleSummary;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.model.TagPool;
+import com.michael.app.blog.model.TagSet;
+
+public class ArticleSummaryCodec implements Codec<ArticleSummary> {
+
+	@Override
+	public void encode(BsonWriter writer, ArticleSummary summary, EncoderContext encoderContext) {
+		writer.writeStartDocument();
+		writeId(writer, summary);
+		writer.writeString("title", summary.getTitle());
+		writeTags(writer, summary);
+		writer.writeEndDocument();
+	}
+
+	@Override
+	public ArticleSummary decode(BsonReader reader, DecoderContext decoderContext) {
+		Fields fields = new Fields();
+		reader.readStartDocument();
+		while(reader.readBsonType() != BsonType.END_OF_DOCUMENT)
+			fields.read(reader.readName(), reader);
+		reader.readEndDocument();
+		return new ArticleSummary(fields.id, fields.title, TagSet.copyOf(fields.tags));
+	}
+
+	@Override
+	public Class<ArticleSummary> getEncoderClass() {
+		return ArticleSummary.class;
+	}
+
+	static void writeId(BsonWriter writer, ArticleSummary summary) {
+		if(summary.getId() != null)
+			writer.writeObjectId("_id", new ObjectId(summary.getId()));
+	}
+
+	static void writeTags(BsonWriter writer, ArticleSummary summary) {
+		writer.writeStartArray("tags");
+		for(Tag tag : summary.getTags())
+			writer.writeString(tag.getLabel());
+		writer.writeEndArray();
+	}
+
+	/** The fields an article shares with its summary, read straight off the BSON stream. */
+	static class Fields {
+		String id;
+		String title;
+		List<Tag> tags = new ArrayList<>();
+
+		void read(String name, BsonReader reader) {
+			switch(name) {
+				case "_id" -> id = reader.readObjectId().toHexString();
+				case "title" -> title = reader.readString();
+				case "tags" -> {
+					reader.readStartArray();
+					while(reader.readBsonType() != BsonType.END_OF_DOCUMENT)
+						tags.add(TagPool.intern(reader.readString()));
+					reader.readEndArray();
+				}
+				default -> reader.skipValue();
+			}
+		}
+	}
+}
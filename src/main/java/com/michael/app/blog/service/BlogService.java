@@ -2,13 +2,25 @@ package com.michael.app.blog.service;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
+import com.michael.app.blog.repository.ArticleChangeFeed.Subscription;
+import com.michael.app.blog.repository.ArticleChangeListener;
+import com.michael.app.blog.repository.BulkSaveResult;
 
 public interface BlogService {
 	List<Article> getAllArticles();
 	List<Article> getArticlesByTag(String tagLabel);
+	List<ArticleSummary> getArticlesPage(String afterId, int limit);
+	List<ArticleSummary> getArticlesByTagPage(String tagLabel, String afterId, int limit);
+	List<ArticleSummary> searchArticles(String query, int limit);
+	Article getArticle(String id);
+	long forEachArticle(int batchSize, Consumer<? super Article> action);
 	Article saveArticle(String title, String content, Set<String> tags);
+	BulkSaveResult saveArticles(List<Article> articles, int chunkSize);
 	Article updateArticle(String id, String title, String content, Set<String> tags);
 	void deleteArticle(String id);
+	Subscription watchArticles(ArticleChangeListener listener);
 }
\ No newline at end of file
@@ -1,75 +1,156 @@
 package com.michael.app.blog.service.mongo;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.inject.Inject;
 import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
 import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.model.TagPool;
+import com.michael.app.blog.repository.ArticleChangeFeed;
+import com.michael.app.blog.repository.ArticleChangeFeed.Subscription;
+import com.michael.app.blog.repository.ArticleChangeListener;
 import com.michael.app.blog.repository.BlogRepository;
+import com.michael.app.blog.repository.BulkSaveResult;
 import com.michael.app.blog.service.ArticleNotFoundException;
 import com.michael.app.blog.service.BlogService;
 import com.michael.app.blog.transaction.TransactionManager;
+import com.michael.app.blog.transaction.TransactionProfile;
 
 public class BlogMongoService implements BlogService {
 
 	private TransactionManager transactionManager;
+	private ArticleChangeFeed changeFeed;
 
 	@Inject
-	public BlogMongoService(TransactionManager transactionManager) {
+	public BlogMongoService(TransactionManager transactionManager, ArticleChangeFeed changeFeed) {
 		this.transactionManager = transactionManager;
+		this.changeFeed = changeFeed;
 	}
 
 	@Override
 	public List<Article> getAllArticles() {
-		return transactionManager.doInTransaction(BlogRepository::findAll);
+		return transactionManager.doWithoutTransaction(BlogRepository::findAll);
 	}
 
 	@Override
 	public List<Article> getArticlesByTag(String tagLabel) {
-		return transactionManager.doInTransaction(repository -> {
+		return transactionManager.doWithoutTransaction(repository -> {
 			Tag tag = new Tag(tagLabel);
 			return repository.findAllWithTag(tag);
 		});
 	}
 
+	@Override
+	public List<ArticleSummary> getArticlesPage(String afterId, int limit) {
+		return transactionManager.doWithoutTransaction(repository -> repository.findPage(afterId, limit));
+	}
+
+	@Override
+	public List<ArticleSummary> getArticlesByTagPage(String tagLabel, String afterId, int limit) {
+		return transactionManager.doWithoutTransaction(repository -> {
+			Tag tag = new Tag(tagLabel);
+			return repository.findPageWithTag(tag, afterId, limit);
+		});
+	}
+
+	@Override
+	public List<ArticleSummary> searchArticles(String query, int limit) {
+		return transactionManager.doWithoutTransaction(repository -> repository.search(query, limit));
+	}
+
+	@Override
+	public Article getArticle(String id) {
+		return transactionManager.doWithoutTransaction(repository -> {
+			Article article = repository.findById(id);
+			if(article == null)
+				throw new ArticleNotFoundException(id);
+			return article;
+		});
+	}
+
+	@Override
+	public long forEachArticle(int batchSize, Consumer<? super Article> action) {
+		return transactionManager.doWithoutTransaction(repository -> {
+			long processed = 0;
+			try (Stream<Article> articles = repository.streamAll(batchSize)) {
+				Iterator<Article> iterator = articles.iterator();
+				while(iterator.hasNext()) {
+					action.accept(iterator.next());
+					processed++;
+				}
+			}
+			return processed;
+		});
+	}
+
 	@Override
 	public Article saveArticle(String title, String content, Set<String> tagLabels) {
-		return transactionManager.doInTransaction(repository -> {
+		return transactionManager.doInTransaction(TransactionProfile.CONTENT, repository -> {
 			Article article = new Article(null, title, content, toTagSet(tagLabels));
 			return repository.save(article);
 		});
 	}
 	
+	@Override
+	public BulkSaveResult saveArticles(List<Article> articles, int chunkSize) {
+		if(chunkSize <= 0)
+			throw new IllegalArgumentException("Chunk size must be positive!");
+		List<Article> savedArticles = new ArrayList<>();
+		Map<Integer, String> errors = new TreeMap<>();
+		for(int offset = 0; offset < articles.size(); offset += chunkSize) {
+			List<Article> chunk = articles.subList(offset, Math.min(offset + chunkSize, articles.size()));
+			int chunkOffset = offset;
+			// chunks are not transactional: an unordered insert keeps every document it can
+			try {
+				BulkSaveResult chunkResult = transactionManager.doWithoutTransaction(
+					repository -> repository.saveAll(chunk));
+				savedArticles.addAll(chunkResult.getSavedArticles());
+				chunkResult.getErrors().forEach((index, message) -> errors.put(chunkOffset + index, message));
+			} catch(RuntimeException e) {
+				for(int index = 0; index < chunk.size(); index++)
+					errors.put(chunkOffset + index, e.getMessage());
+			}
+		}
+		return new BulkSaveResult(savedArticles, errors);
+	}
+	
 	@Override
 	public Article updateArticle(String id, String title, String content, Set<String> tagLabels) {
-		return transactionManager.doInTransaction(repository -> {
-			validateId(id, repository);
+		return transactionManager.doInTransaction(TransactionProfile.CONTENT, repository -> {
 			Article updatedArticle = new Article(id, title, content, toTagSet(tagLabels));
-			repository.update(updatedArticle);
+			if(repository.update(updatedArticle) == 0)
+				throw new ArticleNotFoundException(id);
 			return updatedArticle;
 		});
 	}
 
 	@Override
 	public void deleteArticle(String id) {
-		transactionManager.doInTransaction(repository -> {
-			validateId(id, repository);
-			repository.delete(id);
+		transactionManager.doInTransaction(TransactionProfile.CONTENT, repository -> {
+			if(repository.delete(id) == 0)
+				throw new ArticleNotFoundException(id);
 			return null;
 		});
 	}
 	
-	private void validateId(String id, BlogRepository repository) {
-		if(repository.findById(id) == null)
-			throw new ArticleNotFoundException(id);
+	@Override
+	public Subscription watchArticles(ArticleChangeListener listener) {
+		return changeFeed.watch(listener);
 	}
 	
 	private Set<Tag> toTagSet(Set<String> tagLabels) throws IllegalArgumentException {
 		try {
 			return tagLabels.stream()
-				.map(Tag::new)
+				.map(TagPool::intern)
 				.collect(Collectors.toSet());
 		} catch (IllegalArgumentException e) {
 			throw new IllegalArgumentException("Tag label validation failed: " + e.getMessage(), e);
@@ -1,21 +1,52 @@
 package com.michael.app.blog.swing;
 
 import java.awt.EventQueue;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import com.michael.app.blog.guice.BlogEmbeddedModule;
+import com.michael.app.blog.guice.BlogInMemoryModule;
 import com.michael.app.blog.guice.BlogSwingMongoDefaultModule;
+import com.michael.app.blog.guice.MongoConnectionSettings;
+import com.michael.app.blog.repository.IndexManager;
+import com.michael.app.blog.repository.embedded.EmbeddedArticleStore;
+import com.michael.app.blog.repository.mongo.ConnectionPoolStatistics;
+import com.michael.app.blog.transaction.RetryPolicy;
+import com.michael.app.blog.transaction.TransactionProfile;
 import com.michael.app.blog.view.swing.BlogSwingView;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import com.mongodb.TransactionOptions;
+import com.mongodb.WriteConcern;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 
-@Command(mixinStandardHelpOptions = true)
+@Command(mixinStandardHelpOptions = true, subcommands = LoadCommand.class)
 public class BlogSwingApp implements Callable<Void>{
 	
+	enum Backend { MONGO, MEMORY, EMBEDDED }
+	
+	@Option(names = { "--backend" }, description = "Article storage: ${COMPLETION-CANDIDATES}")
+	private Backend backend = Backend.MONGO;
+	
+	@Option(names = { "--data-file" }, description = "Article log file of the embedded backend")
+	private Path dataFile = Paths.get("blog-articles.log");
+	
 	@Option(names = { "--mongo-host" }, description = "MongoDB host address")
 	private String mongoHost = "mongodb://localhost";
 	
@@ -27,22 +58,72 @@ public class BlogSwingApp implements Callable<Void>{
 	
 	@Option(names = { "--db-collection" }, description = "Collection name")
 	private String collectionName = "articles";
+	
+	@Option(names = { "--read-concern" }, description = "Read concern level for reads outside transactions")
+	private String readConcern = "local";
+	
+	@Option(names = { "--read-preference" }, description = "Read preference for reads outside transactions")
+	private String readPreference = "primary";
+	
+	@Option(names = { "--async" }, description = "Run database calls off the Swing event thread")
+	private boolean asyncController = false;
+	
+	@Option(names = { "--retry-budget-ms" }, description = "How long transient transaction errors are retried, 0 disables retries")
+	private long retryBudgetMillis = RetryPolicy.DEFAULT.getTimeBudgetMillis();
+	
+	@Option(names = { "--retry-max-backoff-ms" }, description = "Upper bound of the pause between transaction retries")
+	private long retryMaxBackoffMillis = RetryPolicy.DEFAULT.getMaxBackoffMillis();
+	
+	@Option(names = { "--tx-read-concern" }, description = "Read concern of a transaction profile, e.g. CONTENT=majority")
+	private Map<TransactionProfile, String> transactionReadConcerns = new EnumMap<>(TransactionProfile.class);
+	
+	@Option(names = { "--tx-write-concern" }, description = "Write concern of a transaction profile, e.g. LIGHTWEIGHT=w1")
+	private Map<TransactionProfile, String> transactionWriteConcerns = new EnumMap<>(TransactionProfile.class);
+	
+	@Option(names = { "--tx-max-commit-ms" }, description = "Maximum commit time of a transaction profile, e.g. CONTENT=5000")
+	private Map<TransactionProfile, Long> transactionMaxCommitMillis = new EnumMap<>(TransactionProfile.class);
+	
+	@Option(names = { "--pool-max-size" }, description = "Maximum number of pooled connections")
+	private Integer poolMaxSize;
+	
+	@Option(names = { "--pool-min-size" }, description = "Number of connections kept open while idle")
+	private Integer poolMinSize;
+	
+	@Option(names = { "--pool-max-idle-ms" }, description = "Close pooled connections idle for longer than this")
+	private Long poolMaxIdleMillis;
+	
+	@Option(names = { "--pool-max-wait-ms" }, description = "How long an operation waits for a free pooled connection")
+	private Long poolMaxWaitMillis;
+	
+	@Option(names = { "--server-selection-timeout-ms" }, description = "How long to wait for a suitable server")
+	private Long serverSelectionTimeoutMillis;
+	
+	@Option(names = { "--connect-timeout-ms" }, description = "Socket connect timeout")
+	private Long connectTimeoutMillis;
+	
+	@Option(names = { "--socket-timeout-ms" }, description = "Socket read timeout, 0 waits indefinitely")
+	private Long socketTimeoutMillis;
+	
+	@Option(names = { "--compressors" }, split = ",", description = "Wire compressors in order of preference (zstd, snappy, zlib)")
+	private List<String> compressors = List.of("zstd", "snappy", "zlib");
+	
+	@Option(names = { "--cache-size-mb" }, description = "Article cache size in megabytes, 0 disables the cache")
+	private long cacheSizeMb = 0;
+	
+	@Option(names = { "--slow-command-ms" }, description = "Log Mongo commands slower than this with their query shape, 0 disables the log")
+	private long slowCommandMillis = 100;
 		
 	public static void main(String[] args) {
-		new CommandLine(new BlogSwingApp()).execute(args);
+		new CommandLine(new BlogSwingApp()).setCaseInsensitiveEnumValuesAllowed(true).execute(args);
 	}
 	
 	@Override
 	public Void call() throws Exception{
 		EventQueue.invokeLater(() -> {
 			try {
-				Guice.createInjector(new BlogSwingMongoDefaultModule()
-						.mongoHost(mongoHost)
-						.mongoPort(mongoPort)
-						.databaseName(databaseName)
-						.collectionName(collectionName)
-					).getInstance(BlogSwingView.class)
-					.start();
+				Injector injector = createInjector();
+				CompletableFuture.runAsync(injector.getInstance(IndexManager.class)::ensureIndexes);
+				injector.getInstance(BlogSwingView.class).start();
 			} catch (Exception e) {
 				Logger.getLogger(getClass().getName())
 				.log(Level.SEVERE, "Exception", e);
@@ -50,4 +131,73 @@ public class BlogSwingApp implements Callable<Void>{
 		});
 		return null;
 	}
+	
+	/** Wires the selected backend from the options, as shared by the UI and the load command. */
+	Injector createInjector() {
+		return createInjector(collectionName);
+	}
+	
+	/** Wires the selected backend with articles kept in the given Mongo collection. */
+	Injector createInjector(String collectionName) {
+		BlogSwingMongoDefaultModule module = new BlogSwingMongoDefaultModule()
+				.mongoHost(mongoHost)
+				.mongoPort(mongoPort)
+				.databaseName(databaseName)
+				.collectionName(collectionName)
+				.readConcern(new ReadConcern(ReadConcernLevel.fromString(readConcern)))
+				.readPreference(ReadPreference.valueOf(readPreference))
+				.asyncController(asyncController)
+				.cacheMaxBytes(cacheSizeMb * 1024 * 1024)
+				.slowCommandMillis(slowCommandMillis)
+				.connectionSettings(new MongoConnectionSettings()
+					.maxPoolSize(poolMaxSize)
+					.minPoolSize(poolMinSize)
+					.maxConnectionIdleTimeMillis(poolMaxIdleMillis)
+					.maxWaitTimeMillis(poolMaxWaitMillis)
+					.serverSelectionTimeoutMillis(serverSelectionTimeoutMillis)
+					.connectTimeoutMillis(connectTimeoutMillis)
+					.readTimeoutMillis(socketTimeoutMillis)
+					.compressors(compressors))
+				.retryPolicy(new RetryPolicy(retryBudgetMillis,
+					Math.min(RetryPolicy.DEFAULT.getInitialBackoffMillis(), retryMaxBackoffMillis),
+					retryMaxBackoffMillis));
+		for(TransactionProfile profile : TransactionProfile.values())
+			module.transactionOptions(profile, transactionOptions(profile));
+		Injector injector = Guice.createInjector(switch(backend) {
+			case MEMORY -> Modules.override(module).with(new BlogInMemoryModule());
+			case EMBEDDED -> Modules.override(module).with(new BlogEmbeddedModule().dataFile(dataFile));
+			case MONGO -> module;
+		});
+		if(backend == Backend.MONGO) {
+			ConnectionPoolStatistics poolStatistics = injector.getInstance(ConnectionPoolStatistics.class);
+			Runtime.getRuntime().addShutdownHook(new Thread(() ->
+				Logger.getLogger(getClass().getName()).info(poolStatistics::toString)));
+		}
+		if(backend == Backend.EMBEDDED) {
+			EmbeddedArticleStore store = injector.getInstance(EmbeddedArticleStore.class);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					store.close();
+				} catch (IOException e) {
+					Logger.getLogger(getClass().getName()).log(Level.WARNING, "Cannot close article log", e);
+				}
+			}));
+		}
+		return injector;
+	}
+	
+	private TransactionOptions transactionOptions(TransactionProfile profile) {
+		TransactionOptions.Builder options = TransactionOptions.builder();
+		if(transactionReadConcerns.containsKey(profile))
+			options.readConcern(new ReadConcern(ReadConcernLevel.fromString(transactionReadConcerns.get(profile))));
+		if(transactionWriteConcerns.containsKey(profile)) {
+			WriteConcern writeConcern = WriteConcern.valueOf(transactionWriteConcerns.get(profile));
+			if(writeConcern == null)
+				throw new IllegalArgumentException("Unknown write concern: " + transactionWriteConcerns.get(profile));
+			options.writeConcern(writeConcern);
+		}
+		if(transactionMaxCommitMillis.containsKey(profile))
+			options.maxCommitTime(transactionMaxCommitMillis.get(profile), TimeUnit.MILLISECONDS);
+		return options.build();
+	}
 }
\ No newline at end of file
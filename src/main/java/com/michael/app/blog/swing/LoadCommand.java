@@ -0,0 +1,65 @@
+package com.michael.app.blog.swing;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import com.google.inject.Injector;
+import com.michael.app.blog.load.LoadGenerator;
+import com.michael.app.blog.load.LoadGenerator.Operation;
+import com.michael.app.blog.load.LoadReport;
+import com.michael.app.blog.repository.IndexManager;
+import com.michael.app.blog.service.BlogService;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+import picocli.CommandLine.Spec;
+
+@Command(name = "load", mixinStandardHelpOptions = true,
+	description = "Drive the blog service without the UI and report latency percentiles per operation")
+public class LoadCommand implements Callable<Integer> {
+
+	@ParentCommand
+	private BlogSwingApp app;
+
+	@Spec
+	private CommandSpec spec;
+
+	@Option(names = { "--threads" }, description = "Number of concurrent clients")
+	private int threads = 8;
+
+	@Option(names = { "--duration-s" }, description = "How long to run")
+	private long durationSeconds = 30;
+
+	@Option(names = { "--operations" }, description = "Stop after this many operations, 0 runs for the whole duration")
+	private long operations = 0;
+
+	@Option(names = { "--mix" }, split = ",", description = "Operation weights, e.g. READ=80,WRITE=10,FILTER=10")
+	private Map<Operation, Integer> mix = new EnumMap<>(Map.of(Operation.READ, 80, Operation.WRITE, 10, Operation.FILTER, 10));
+
+	@Option(names = { "--seed-articles" }, description = "Articles saved before the run for the operations to work on")
+	private int seedArticles = 1_000;
+
+	@Option(names = { "--load-collection" }, description = "Mongo collection the run works in, kept apart from the blog's own")
+	private String collectionName = "articles_load";
+
+	@Override
+	public Integer call() throws InterruptedException {
+		Injector injector = app.createInjector(collectionName);
+		injector.getInstance(IndexManager.class).ensureIndexes();
+		LoadGenerator generator = new LoadGenerator(injector.getInstance(BlogService.class), mix, threads);
+		LoadReport report;
+		try {
+			generator.seed(seedArticles);
+			report = generator.run(Duration.ofSeconds(durationSeconds), operations);
+		} finally {
+			// the memory and embedded backends share the blog's own data, so clean up there too
+			generator.deleteSeeded();
+		}
+		report.print(spec.commandLine().getOut());
+		return 0;
+	}
+}
@@ -0,0 +1,48 @@
+package com.michael.app.blog.transaction;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.inject.Inject;
+import com.michael.app.blog.repository.embedded.BlogEmbeddedRepository;
+import com.michael.app.blog.repository.embedded.EmbeddedArticleStore;
+
+/**
+ * Transactions over an {@link EmbeddedArticleStore}. A transaction runs as one write batch, so
+ * transactions never conflict and are not retried. {@link TransactionProfile#LIGHTWEIGHT} commits
+ * skip the flush to disk and may be lost by a crash; every other profile waits for it.
+ */
+public class BlogEmbeddedTransactionManager implements TransactionManager {
+
+	private EmbeddedArticleStore store;
+	private final AtomicLong commits = new AtomicLong();
+
+	@Inject
+	public BlogEmbeddedTransactionManager(EmbeddedArticleStore store) {
+		this.store = store;
+	}
+
+	@Override
+	public <T> T doInTransaction(TransactionProfile profile, TransactionCode<T> code) {
+		try {
+			T result = store.writeBatch(writes -> code.apply(new BlogEmbeddedRepository(store, writes)),
+				profile != TransactionProfile.LIGHTWEIGHT);
+			commits.incrementAndGet();
+			return result;
+		} catch (Exception e) {
+			throw new TransactionException("Transaction failed: " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public <T> T doWithoutTransaction(TransactionCode<T> code) {
+		try {
+			return code.apply(new BlogEmbeddedRepository(store, null));
+		} catch (Exception e) {
+			throw new TransactionException("Operation failed: " + e.getMessage(), e);
+		}
+	}
+
+	public long getCommits() {
+		return commits.get();
+	}
+}
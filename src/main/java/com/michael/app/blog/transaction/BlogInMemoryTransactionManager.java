@@ -0,0 +1,98 @@
+package com.michael.app.blog.transaction;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.inject.Inject;
+import com.michael.app.blog.repository.memory.BlogInMemoryRepository;
+import com.michael.app.blog.repository.memory.InMemoryArticleStore;
+import com.michael.app.blog.repository.memory.InMemoryArticleStore.Transaction;
+import com.michael.app.blog.repository.memory.WriteConflictException;
+
+/**
+ * Snapshot-isolated transactions over an {@link InMemoryArticleStore}. A transaction that loses a
+ * write conflict to an earlier committer is run again, like a transient error in
+ * {@link BlogMongoTransactionManager}, within the same retry policy. Profiles carry Mongo read and
+ * write concerns, which have no meaning here, so every profile behaves the same.
+ */
+public class BlogInMemoryTransactionManager implements TransactionManager {
+
+	private InMemoryArticleStore store;
+	private RetryPolicy retryPolicy;
+	private final AtomicLong commits = new AtomicLong();
+	private final AtomicLong conflicts = new AtomicLong();
+	private final AtomicLong exhaustedRetries = new AtomicLong();
+
+	@Inject
+	public BlogInMemoryTransactionManager(InMemoryArticleStore store, RetryPolicy retryPolicy) {
+		this.store = store;
+		this.retryPolicy = retryPolicy;
+	}
+
+	public BlogInMemoryTransactionManager(InMemoryArticleStore store) {
+		this(store, RetryPolicy.DEFAULT);
+	}
+
+	@Override
+	public <T> T doInTransaction(TransactionProfile profile, TransactionCode<T> code) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryPolicy.getTimeBudgetMillis());
+		int retry = 0;
+		while(true) {
+			Transaction transaction = store.begin();
+			try {
+				T result = code.apply(new BlogInMemoryRepository(store, transaction));
+				store.commit(transaction);
+				commits.incrementAndGet();
+				return result;
+			} catch (WriteConflictException e) {
+				conflicts.incrementAndGet();
+				if(System.nanoTime() - deadline >= 0) {
+					exhaustedRetries.incrementAndGet();
+					throw new TransactionException("Transaction failed: " + e.getMessage(), e);
+				}
+				pause(retry++);
+			} catch (Exception e) {
+				throw new TransactionException("Transaction failed: " + e.getMessage(), e);
+			} finally {
+				store.end(transaction);
+			}
+		}
+	}
+
+	@Override
+	public <T> T doWithoutTransaction(TransactionCode<T> code) {
+		try {
+			return code.apply(new BlogInMemoryRepository(store, null));
+		} catch (Exception e) {
+			throw new TransactionException("Operation failed: " + e.getMessage(), e);
+		}
+	}
+
+	public long getCommits() {
+		return commits.get();
+	}
+
+	public long getConflicts() {
+		return conflicts.get();
+	}
+
+	public long getExhaustedRetries() {
+		return exhaustedRetries.get();
+	}
+
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	private void pause(int retry) {
+		long backoff = retryPolicy.backoffMillis(retry);
+		if(backoff == 0)
+			return;
+		try {
+			Thread.sleep(backoff);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TransactionException("Transaction retry interrupted", e);
+		}
+	}
+}
@@ -1,8 +1,12 @@
 package com.michael.app.blog.transaction;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import com.google.inject.Inject;
 import com.michael.app.blog.repository.BlogRepository;
 import com.michael.app.blog.repository.BlogRepositoryFactory;
+import com.mongodb.MongoException;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoClient;
 
@@ -10,26 +14,125 @@ public class BlogMongoTransactionManager implements TransactionManager {
 
 	private MongoClient client;
 	private BlogRepositoryFactory repositoryFactory;
+	private RetryPolicy retryPolicy;
+	private TransactionProfiles transactionProfiles;
+	private final AtomicLong transactionRetries = new AtomicLong();
+	private final AtomicLong commitRetries = new AtomicLong();
+	private final AtomicLong exhaustedRetries = new AtomicLong();
 	
 	@Inject
-	public BlogMongoTransactionManager(MongoClient client, BlogRepositoryFactory repositoryFactory) {
+	public BlogMongoTransactionManager(MongoClient client, BlogRepositoryFactory repositoryFactory,
+		RetryPolicy retryPolicy, TransactionProfiles transactionProfiles) {
 		this.client = client;
 		this.repositoryFactory = repositoryFactory;
+		this.retryPolicy = retryPolicy;
+		this.transactionProfiles = transactionProfiles;
+	}
+	
+	public BlogMongoTransactionManager(MongoClient client, BlogRepositoryFactory repositoryFactory) {
+		this(client, repositoryFactory, RetryPolicy.DEFAULT, TransactionProfiles.DEFAULT);
+	}
+
+	@Override
+	public <T> T doInTransaction(TransactionProfile profile, TransactionCode<T> code) throws TransactionException{
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryPolicy.getTimeBudgetMillis());
+		int retry = 0;
+		try (ClientSession session = client.startSession()) {
+			BlogRepository repository = repositoryFactory.createRepository(session);
+			while(true) {
+				session.startTransaction(transactionProfiles.options(profile));
+				T result;
+				try {
+					result = code.apply(repository);
+				} catch (Exception e) {
+					session.abortTransaction();
+					if(!hasLabel(e, MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL) || !retryable(deadline))
+						throw new TransactionException("Transaction failed: " + e.getMessage(), e);
+					transactionRetries.incrementAndGet();
+					pause(retry++);
+					continue;
+				}
+				if(commit(session, deadline))
+					return result;
+				transactionRetries.incrementAndGet();
+				pause(retry++);
+			}
+		}
 	}
 
 	@Override
-	public <T> T doInTransaction(TransactionCode<T> code) throws TransactionException{
+	public <T> T doWithoutTransaction(TransactionCode<T> code) throws TransactionException {
 		try (ClientSession session = client.startSession()) {
-			session.startTransaction();
+			BlogRepository repository = repositoryFactory.createRepository(session);
+			return code.apply(repository);
+		} catch (Exception e) {
+			throw new TransactionException("Operation failed: " + e.getMessage(), e);
+		}
+	}
+	
+	public long getTransactionRetries() {
+		return transactionRetries.get();
+	}
+	
+	public long getCommitRetries() {
+		return commitRetries.get();
+	}
+	
+	public long getExhaustedRetries() {
+		return exhaustedRetries.get();
+	}
+	
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+	
+	public TransactionProfiles getTransactionProfiles() {
+		return transactionProfiles;
+	}
+
+	/**
+	 * Returns true once committed, false when the whole transaction has to be run again.
+	 * A commit with an unknown outcome is simply repeated, since commitTransaction is idempotent.
+	 */
+	private boolean commit(ClientSession session, long deadline) {
+		while(true) {
 			try {
-				BlogRepository repository = repositoryFactory.createRepository(session);
-				T result = code.apply(repository);
 				session.commitTransaction();
-				return result;
-			} catch (Exception e) {
-				session.abortTransaction();
-				throw new TransactionException("Transaction failed: " + e.getMessage(), e);
+				return true;
+			} catch (MongoException e) {
+				if(e.hasErrorLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL) && retryable(deadline))
+					commitRetries.incrementAndGet();
+				else if(e.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL) && retryable(deadline))
+					return false;
+				else
+					throw new TransactionException("Transaction failed: " + e.getMessage(), e);
 			}
 		}
 	}
+	
+	private boolean retryable(long deadline) {
+		if(System.nanoTime() - deadline < 0)
+			return true;
+		exhaustedRetries.incrementAndGet();
+		return false;
+	}
+	
+	private static boolean hasLabel(Throwable error, String label) {
+		for(Throwable cause = error; cause != null; cause = cause.getCause())
+			if(cause instanceof MongoException mongoException && mongoException.hasErrorLabel(label))
+				return true;
+		return false;
+	}
+	
+	private void pause(int retry) {
+		long backoff = retryPolicy.backoffMillis(retry);
+		if(backoff == 0)
+			return;
+		try {
+			Thread.sleep(backoff);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TransactionException("Transaction retry interrupted", e);
+		}
+	}
 }
@@ -0,0 +1,54 @@
+package com.michael.app.blog.transaction;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class RetryPolicy {
+
+	public static final RetryPolicy DEFAULT = new RetryPolicy(10_000, 5, 1_000);
+	public static final RetryPolicy NONE = new RetryPolicy(0, 0, 0);
+
+	private final long timeBudgetMillis;
+	private final long initialBackoffMillis;
+	private final long maxBackoffMillis;
+
+	/**
+	 * @param timeBudgetMillis how long after the first attempt a retryable failure may still be retried
+	 * @param initialBackoffMillis upper bound of the pause before the first retry
+	 * @param maxBackoffMillis cap on the upper bound, which doubles with every retry
+	 */
+	public RetryPolicy(long timeBudgetMillis, long initialBackoffMillis, long maxBackoffMillis) {
+		if(timeBudgetMillis < 0 || initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis)
+			throw new IllegalArgumentException("Invalid retry policy!");
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.initialBackoffMillis = initialBackoffMillis;
+		this.maxBackoffMillis = maxBackoffMillis;
+	}
+
+	public long getTimeBudgetMillis() {
+		return timeBudgetMillis;
+	}
+
+	public long getInitialBackoffMillis() {
+		return initialBackoffMillis;
+	}
+
+	public long getMaxBackoffMillis() {
+		return maxBackoffMillis;
+	}
+
+	/**
+	 * Full jitter: a uniform pause up to the exponential bound, so that transactions
+	 * that conflicted with each other do not collide again on the next attempt.
+	 */
+	public long backoffMillis(int retry) {
+		long bound = initialBackoffMillis << Math.min(retry, 30);
+		bound = Math.min(bound, maxBackoffMillis);
+		return bound == 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+	}
+
+	@Override
+	public String toString() {
+		return "RetryPolicy [timeBudgetMillis=" + timeBudgetMillis + ", initialBackoffMillis=" + initialBackoffMillis
+			+ ", maxBackoffMillis=" + maxBackoffMillis + "]";
+	}
+}
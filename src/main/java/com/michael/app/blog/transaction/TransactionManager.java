@@ -1,5 +1,16 @@
 package com.michael.app.blog.transaction;
 
 public interface TransactionManager {
-	<T> T doInTransaction(TransactionCode<T> code);
+	/**
+	 * Runs the code in a transaction with the options of the given profile. Implementations may
+	 * run it again after a transient failure, so the code must not have side effects outside
+	 * the repository.
+	 */
+	<T> T doInTransaction(TransactionProfile profile, TransactionCode<T> code);
+	
+	default <T> T doInTransaction(TransactionCode<T> code) {
+		return doInTransaction(TransactionProfile.DEFAULT, code);
+	}
+
+	<T> T doWithoutTransaction(TransactionCode<T> code);
 }
@@ -0,0 +1,10 @@
+package com.michael.app.blog.transaction;
+
+public enum TransactionProfile {
+	/** Client defaults, for code that does not pick a profile. */
+	DEFAULT,
+	/** Article content writes and deletions, which should not be lost. */
+	CONTENT,
+	/** Writes that are cheap to redo and can trade durability for latency. */
+	LIGHTWEIGHT
+}
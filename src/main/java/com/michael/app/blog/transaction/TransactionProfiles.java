@@ -0,0 +1,32 @@
+package com.michael.app.blog.transaction;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.mongodb.TransactionOptions;
+
+public class TransactionProfiles {
+
+	public static final TransactionProfiles DEFAULT = new TransactionProfiles(Map.of());
+
+	private static final TransactionOptions CLIENT_DEFAULTS = TransactionOptions.builder().build();
+
+	private final Map<TransactionProfile, TransactionOptions> options = new EnumMap<>(TransactionProfile.class);
+
+	/**
+	 * Profiles missing from the map run with empty options, which the driver
+	 * fills in from the session and client defaults.
+	 */
+	public TransactionProfiles(Map<TransactionProfile, TransactionOptions> options) {
+		this.options.putAll(options);
+	}
+
+	public TransactionOptions options(TransactionProfile profile) {
+		return options.getOrDefault(profile, CLIENT_DEFAULTS);
+	}
+
+	@Override
+	public String toString() {
+		return "TransactionProfiles " + options;
+	}
+}
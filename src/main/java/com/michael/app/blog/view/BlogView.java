@@ -3,21 +3,34 @@ package com.michael.app.blog.view;
 import java.util.List;
 
 import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
 import com.michael.app.blog.model.Tag;
 
 public interface BlogView {
 
 	void showAllArticles(List<Article> articles);
+
+	void showArticlesPage(String afterId, List<ArticleSummary> page);
+
+	void showSearchResults(List<ArticleSummary> results);
+
+	void showArticle(Article article);
 	
 	void articleAdded(Article article);
 
 	void showError(String errorMessage);
 
+	void showPageError(String afterId, String errorMessage);
+
 	void articleUpdated(Article updatedArticle);
 
-	void articleDeleted();
+	void articleDeleted(String id);
 
 	void addedTag(Tag tag);
 
 	void removedTag();
+
+	void articleChanged(Article article);
+
+	void articleRemoved(String id);
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.michael.app.blog.view.swing;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.ListCellRenderer;
+import javax.swing.UIManager;
+
+import com.michael.app.blog.model.ArticleSummary;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.model.TagSet;
+
+/**
+ * Paints an article row as its title followed by its tags as badges, cut to the cell width. It keeps no
+ * child components and, like {@link javax.swing.DefaultListCellRenderer}, skips the revalidation and
+ * repaint requests a stamped renderer never needs. Set {@link #PROTOTYPE} as the list's prototype value
+ * so every row has the same size and the list does not measure each article.
+ */
+public class ArticleCellRenderer extends JPanel implements ListCellRenderer<ArticleSummary> {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final ArticleSummary PROTOTYPE = new ArticleSummary(null, "Prototype article", TagSet.EMPTY);
+
+	private static final int PREFERRED_WIDTH = 200;
+	private static final int PADDING = 4;
+	private static final int BADGE_PADDING = 4;
+	private static final int BADGE_GAP = 4;
+	private static final String ELLIPSIS = "...";
+	private static final Color BADGE_BACKGROUND = new Color(0xDDE6F0);
+	private static final Color BADGE_FOREGROUND = new Color(0x33475B);
+
+	private transient ArticleSummary article;
+	private boolean selected;
+
+	public ArticleCellRenderer() {
+		setOpaque(true);
+	}
+
+	@Override
+	public ArticleCellRenderer getListCellRendererComponent(JList<? extends ArticleSummary> list,
+			ArticleSummary value, int index, boolean isSelected, boolean cellHasFocus) {
+		article = value;
+		selected = isSelected;
+		setFont(list.getFont());
+		setBackground(isSelected ? list.getSelectionBackground() : list.getBackground());
+		setForeground(isSelected ? list.getSelectionForeground() : list.getForeground());
+		return this;
+	}
+
+	@Override
+	public Dimension getPreferredSize() {
+		FontMetrics metrics = getFontMetrics(getFont() != null ? getFont() : UIManager.getFont("List.font"));
+		return new Dimension(PREFERRED_WIDTH, metrics.getHeight() + 2 * PADDING);
+	}
+
+	@Override
+	protected void paintComponent(Graphics graphics) {
+		Graphics2D g = (Graphics2D) graphics;
+		g.setColor(getBackground());
+		g.fillRect(0, 0, getWidth(), getHeight());
+		if(article == null)
+			return;
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		FontMetrics metrics = g.getFontMetrics(getFont());
+		int baseline = (getHeight() - metrics.getHeight()) / 2 + metrics.getAscent();
+		int right = getWidth() - PADDING;
+		int titleRight = Math.max(PADDING, right - badgesWidth(metrics, article.getTags(), right / 2));
+		g.setColor(getForeground());
+		g.drawString(truncate(article.getTitle(), metrics, titleRight - PADDING), PADDING, baseline);
+		int x = titleRight + BADGE_GAP;
+		for(Tag tag : article.getTags()) {
+			int width = metrics.stringWidth(tag.getLabel()) + 2 * BADGE_PADDING;
+			if(x + width > right)
+				break;
+			paintBadge(g, metrics, tag.getLabel(), new Rectangle(x, PADDING / 2, width, getHeight() - PADDING), baseline);
+			x += width + BADGE_GAP;
+		}
+	}
+
+	private void paintBadge(Graphics2D g, FontMetrics metrics, String label, Rectangle bounds, int baseline) {
+		g.setColor(selected ? getForeground() : BADGE_BACKGROUND);
+		g.fillRoundRect(bounds.x, bounds.y, bounds.width, bounds.height, bounds.height / 2, bounds.height / 2);
+		g.setColor(selected ? getBackground() : BADGE_FOREGROUND);
+		g.drawString(label, bounds.x + BADGE_PADDING, baseline);
+	}
+
+	static int badgesWidth(FontMetrics metrics, TagSet tags, int maxWidth) {
+		int width = 0;
+		for(Tag tag : tags) {
+			int badge = BADGE_GAP + metrics.stringWidth(tag.getLabel()) + 2 * BADGE_PADDING;
+			if(width + badge > maxWidth)
+				break;
+			width += badge;
+		}
+		return width;
+	}
+
+	static String truncate(String text, FontMetrics metrics, int maxWidth) {
+		if(metrics.stringWidth(text) <= maxWidth)
+			return text;
+		int available = maxWidth - metrics.stringWidth(ELLIPSIS);
+		int end = 0;
+		int width = 0;
+		while(end < text.length()) {
+			width += metrics.charWidth(text.charAt(end));
+			if(width > available)
+				break;
+			end++;
+		}
+		return text.substring(0, end) + ELLIPSIS;
+	}
+
+	@Override
+	public void invalidate() {
+		// stamped renderer, nothing to lay out
+	}
+
+	@Override
+	public void validate() {
+		// stamped renderer, nothing to lay out
+	}
+
+	@Override
+	public void revalidate() {
+		// stamped renderer, nothing to lay out
+	}
+
+	@Override
+	public void repaint(long tm, int x, int y, int width, int height) {
+		// the list repaints the cell itself
+	}
+
+	@Override
+	public void repaint(Rectangle r) {
+		// the list repaints the cell itself
+	}
+
+	@Override
+	protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+		// no listeners on a stamped renderer
+	}
+}
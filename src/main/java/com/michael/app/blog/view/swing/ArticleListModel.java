@@ -0,0 +1,223 @@
+package com.michael.app.blog.view.swing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.swing.AbstractListModel;
+
+import com.michael.app.blog.model.ArticleSummary;
+
+/**
+ * List model of articles indexed by id. Unlike {@link javax.swing.DefaultListModel}, bulk operations fire
+ * one event per contiguous interval instead of one per row, and {@link #refresh} applies the difference
+ * to the new contents, so a {@link javax.swing.JList} keeps its selection on the same article across
+ * insertions and removals. A moved row is reported as a change over the rows it shifts, which leaves the
+ * selected index in place; {@link BlogSwingView} reselects the article by id after a reorder.
+ */
+public class ArticleListModel extends AbstractListModel<ArticleSummary> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final ArrayList<ArticleSummary> rows = new ArrayList<>();
+	private transient Map<String, Integer> indexById;
+
+	@Override
+	public int getSize() {
+		return rows.size();
+	}
+
+	@Override
+	public ArticleSummary getElementAt(int index) {
+		return rows.get(index);
+	}
+
+	public int size() {
+		return rows.size();
+	}
+
+	public boolean isEmpty() {
+		return rows.isEmpty();
+	}
+
+	public ArticleSummary get(int index) {
+		return rows.get(index);
+	}
+
+	public Enumeration<ArticleSummary> elements() {
+		return Collections.enumeration(new ArrayList<>(rows));
+	}
+
+	/** Position of the article with the given id, or -1 when it is not listed. */
+	public int indexOfId(String id) {
+		if(indexById == null) {
+			indexById = new HashMap<>();
+			for(int i = 0; i < rows.size(); i++)
+				indexById.put(rows.get(i).getId(), i);
+		}
+		return indexById.getOrDefault(id, -1);
+	}
+
+	public void addElement(ArticleSummary article) {
+		rows.add(article);
+		indexAppended(rows.size() - 1);
+		fireIntervalAdded(this, rows.size() - 1, rows.size() - 1);
+	}
+
+	public void addAll(List<? extends ArticleSummary> articles) {
+		if(articles.isEmpty())
+			return;
+		int first = rows.size();
+		rows.addAll(articles);
+		indexAppended(first);
+		fireIntervalAdded(this, first, rows.size() - 1);
+	}
+
+	public ArticleSummary set(int index, ArticleSummary article) {
+		ArticleSummary previous = rows.set(index, article);
+		if(!Objects.equals(previous.getId(), article.getId()))
+			invalidateIndex();
+		fireContentsChanged(this, index, index);
+		return previous;
+	}
+
+	public ArticleSummary remove(int index) {
+		ArticleSummary removed = rows.remove(index);
+		invalidateIndex();
+		fireIntervalRemoved(this, index, index);
+		return removed;
+	}
+
+	public void clear() {
+		if(rows.isEmpty())
+			return;
+		int last = rows.size() - 1;
+		rows.clear();
+		invalidateIndex();
+		fireIntervalRemoved(this, 0, last);
+	}
+
+	/**
+	 * Replaces every row at once. Rows past the new size are reported as one removed interval and
+	 * the rest as one changed interval, so a listener repaints once rather than once per row.
+	 */
+	public void replaceAll(List<? extends ArticleSummary> articles) {
+		int oldSize = rows.size();
+		int newSize = articles.size();
+		rows.clear();
+		rows.addAll(articles);
+		invalidateIndex();
+		if(oldSize > newSize)
+			fireIntervalRemoved(this, newSize, oldSize - 1);
+		else if(newSize > oldSize)
+			fireIntervalAdded(this, oldSize, newSize - 1);
+		int common = Math.min(oldSize, newSize);
+		if(common > 0)
+			fireContentsChanged(this, 0, common - 1);
+	}
+
+	/**
+	 * Brings the rows in line with the given articles by removing, inserting and replacing only
+	 * what differs, one event per contiguous interval. Rows that stay keep their identity for the
+	 * list's selection model, which shifts along with the removed and inserted intervals.
+	 */
+	public void refresh(List<? extends ArticleSummary> articles) {
+		Set<String> newIds = new HashSet<>();
+		for(ArticleSummary article : articles)
+			newIds.add(article.getId());
+		removeMissing(newIds);
+		Set<String> listedIds = new HashSet<>();
+		for(ArticleSummary row : rows)
+			listedIds.add(row.getId());
+		int index = 0;
+		while(index < articles.size()) {
+			String id = articles.get(index).getId();
+			int source = listedIds.contains(id) ? indexFrom(index, id) : -1;
+			if(source < 0)
+				index = insertRun(articles, index, listedIds);
+			else if(source == index)
+				index = replaceChanged(articles, index);
+			else
+				moveTo(index, source);
+		}
+		if(rows.size() > articles.size()) {
+			int last = rows.size() - 1;
+			rows.subList(articles.size(), rows.size()).clear();
+			fireIntervalRemoved(this, articles.size(), last);
+		}
+		invalidateIndex();
+	}
+
+	private void removeMissing(Set<String> keptIds) {
+		int end = rows.size() - 1;
+		while(end >= 0) {
+			if(keptIds.contains(rows.get(end).getId())) {
+				end--;
+				continue;
+			}
+			int start = end;
+			while(start > 0 && !keptIds.contains(rows.get(start - 1).getId()))
+				start--;
+			rows.subList(start, end + 1).clear();
+			fireIntervalRemoved(this, start, end);
+			end = start - 1;
+		}
+	}
+
+	private int replaceChanged(List<? extends ArticleSummary> articles, int from) {
+		int index = from;
+		int changedStart = -1;
+		while(index < articles.size() && index < rows.size()
+				&& Objects.equals(rows.get(index).getId(), articles.get(index).getId())) {
+			if(!rows.get(index).equals(articles.get(index))) {
+				rows.set(index, articles.get(index));
+				if(changedStart < 0)
+					changedStart = index;
+			} else if(changedStart >= 0) {
+				fireContentsChanged(this, changedStart, index - 1);
+				changedStart = -1;
+			}
+			index++;
+		}
+		if(changedStart >= 0)
+			fireContentsChanged(this, changedStart, index - 1);
+		return index;
+	}
+
+	private int insertRun(List<? extends ArticleSummary> articles, int from, Set<String> listedIds) {
+		int end = from + 1;
+		while(end < articles.size() && !listedIds.contains(articles.get(end).getId()))
+			end++;
+		rows.addAll(from, articles.subList(from, end));
+		fireIntervalAdded(this, from, end - 1);
+		return end;
+	}
+
+	private void moveTo(int target, int source) {
+		rows.add(target, rows.remove(source));
+		fireContentsChanged(this, Math.min(target, source), Math.max(target, source));
+	}
+
+	private int indexFrom(int from, String id) {
+		for(int i = from; i < rows.size(); i++)
+			if(Objects.equals(rows.get(i).getId(), id))
+				return i;
+		return -1;
+	}
+
+	private void indexAppended(int first) {
+		if(indexById != null)
+			for(int i = first; i < rows.size(); i++)
+				indexById.put(rows.get(i).getId(), i);
+	}
+
+	private void invalidateIndex() {
+		indexById = null;
+	}
+}
@@ -6,6 +6,7 @@ import javax.swing.border.EmptyBorder;
 
 import com.michael.app.blog.controller.BlogController;
 import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
 import com.michael.app.blog.model.Tag;
 import com.michael.app.blog.view.BlogView;
 
@@ -19,15 +20,19 @@ import javax.swing.WindowConstants;
 import java.awt.Insets;
 import javax.swing.JButton;
 import javax.swing.JList;
+import javax.swing.JScrollPane;
 
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import javax.swing.DefaultListModel;
+import javax.swing.SwingUtilities;
 import java.awt.Font;
 import java.awt.Dimension;
 
@@ -36,15 +41,19 @@ public class BlogSwingView extends JFrame implements BlogView{
 	private transient BlogController blogController;
 
 	private static final long serialVersionUID = 1L;
+	static final int ARTICLE_PAGE_SIZE = 100;
+	static final int SEARCH_LIMIT = 100;
+	private static final int PREFETCH_ROWS = 20;
 	private JPanel contentPane;
 	private JTextField txtTitle;
 	private JButton btnFilter;
+	private JButton btnSearch;
 	private JButton btnSaveArticle;
 	private JButton btnDeleteArticle;
 	private JTextField txtFilter;
 	private JLabel lblContent;
-	private JList<Article> listArticles;
-	private DefaultListModel<Article> listArticlesModel;
+	private JList<ArticleSummary> listArticles;
+	private LazyArticleListModel listArticlesModel;
 	private JLabel lblTags;
 	private JTextField txtContent;
 	private JList<Tag> listTags;
@@ -55,13 +64,17 @@ public class BlogSwingView extends JFrame implements BlogView{
 	private JLabel lblError;
 	private JLabel lblNewLabel;
 	private final JButton btnReset = new JButton("Reset");
+	private final transient Map<String, Article> pendingChanges = new LinkedHashMap<>();
+	private boolean flushScheduled = false;
+	private boolean keepingSelection = false;
 	
 	public void setBlogController(BlogController blogController) {
 		this.blogController = blogController;
 		}
 	
 	public void start() {
-		blogController.allArticles();
+		listArticlesModel.reload(null);
+		blogController.watchArticles();
 		setVisible(true);
 	}
 	
@@ -69,7 +82,7 @@ public class BlogSwingView extends JFrame implements BlogView{
 		return blogController;
 	}
 	
-	DefaultListModel<Article> getListArticlesModel() {
+	LazyArticleListModel getListArticlesModel() {
 		return listArticlesModel;
 	}
 	
@@ -122,7 +135,7 @@ public class BlogSwingView extends JFrame implements BlogView{
 		btnFilter = new JButton("Filter");
 		btnFilter.setEnabled(false);
 		btnFilter.addActionListener(arg0 -> {
-			blogController.allArticlesWithTag(txtFilter.getText());
+			listArticlesModel.reload(txtFilter.getText());
 			clearArticleInteractions();
 		});
 		GridBagConstraints gbc_btnFilter = new GridBagConstraints();
@@ -132,16 +145,30 @@ public class BlogSwingView extends JFrame implements BlogView{
 		gbc_btnFilter.gridx = 11;
 		gbc_btnFilter.gridy = 1;
 		contentPane.add(btnFilter, gbc_btnFilter);
+		
+		btnSearch = new JButton("Search");
+		btnSearch.setEnabled(false);
+		btnSearch.addActionListener(arg0 -> {
+			blogController.searchArticles(txtFilter.getText(), SEARCH_LIMIT);
+			clearArticleInteractions();
+		});
+		GridBagConstraints gbc_btnSearch = new GridBagConstraints();
+		gbc_btnSearch.fill = GridBagConstraints.HORIZONTAL;
+		gbc_btnSearch.insets = new Insets(0, 0, 5, 5);
+		gbc_btnSearch.gridx = 13;
+		gbc_btnSearch.gridy = 1;
+		contentPane.add(btnSearch, gbc_btnSearch);
 		GridBagConstraints gbc_btnReset = new GridBagConstraints();
 		gbc_btnReset.gridwidth = 2;
 		gbc_btnReset.insets = new Insets(0, 0, 5, 0);
 		gbc_btnReset.gridx = 14;
 		gbc_btnReset.gridy = 1;
 		btnReset.addActionListener(e -> {
-			blogController.allArticles();
+			listArticlesModel.reload(null);
 			clearArticleInteractions();
 			txtFilter.setText("");
 			btnFilter.setEnabled(false);
+			btnSearch.setEnabled(false);
 		});
 		contentPane.add(btnReset, gbc_btnReset);
 		
@@ -174,6 +201,7 @@ public class BlogSwingView extends JFrame implements BlogView{
 				btnFilter.setEnabled(
 						!txtFilter.getText().trim().isEmpty()
 					);
+				btnSearch.setEnabled(btnFilter.isEnabled());
 			}
 		});
 		GridBagConstraints gbc_txtFilter = new GridBagConstraints();
@@ -224,23 +252,13 @@ public class BlogSwingView extends JFrame implements BlogView{
 		gbc_btnDeleteArticle.gridy = 3;
 		contentPane.add(btnDeleteArticle, gbc_btnDeleteArticle);
 		
-		listArticlesModel = new DefaultListModel<>();
+		listArticlesModel = new LazyArticleListModel(this::loadArticlesPage, ARTICLE_PAGE_SIZE);
 		listArticles = new JList<>(listArticlesModel);
+		listArticles.setCellRenderer(new ArticleCellRenderer());
+		listArticles.setPrototypeCellValue(ArticleCellRenderer.PROTOTYPE);
 		listArticles.addListSelectionListener(arg0 -> {
-			listTagsModel.removeAllElements();
-			int selectedIndex = listArticles.getSelectedIndex();
-			if(selectedIndex != -1) {
-				btnDeleteArticle.setEnabled(true);
-				Article selectedArticle = listArticles.getModel().getElementAt(listArticles.getSelectedIndex());
-				txtTitle.setText(selectedArticle.getTitle());
-				txtContent.setText(selectedArticle.getContent());
-				selectedArticle.getTags().stream().forEach(listTagsModel::addElement);
-			}
-			else {
-				btnDeleteArticle.setEnabled(false);
-				txtTitle.setText("");
-				txtContent.setText("");
-			}
+			if(!keepingSelection)
+				showSelectedArticle();
 		});
 		listArticles.setName("articleList");
 		GridBagConstraints gbc_articleList = new GridBagConstraints();
@@ -250,7 +268,9 @@ public class BlogSwingView extends JFrame implements BlogView{
 		gbc_articleList.fill = GridBagConstraints.BOTH;
 		gbc_articleList.gridx = 11;
 		gbc_articleList.gridy = 3;
-		contentPane.add(listArticles, gbc_articleList);
+		JScrollPane scrollArticles = new JScrollPane(listArticles);
+		scrollArticles.getViewport().addChangeListener(e -> loadMoreArticlesIfNeeded());
+		contentPane.add(scrollArticles, gbc_articleList);
 		
 		lblTags = new JLabel("Tags");
 		GridBagConstraints gbc_lblTags = new GridBagConstraints();
@@ -342,14 +362,95 @@ public class BlogSwingView extends JFrame implements BlogView{
 
 	@Override
 	public void showAllArticles(List<Article> articles) {
-		listArticlesModel.clear();
-		articles.stream().forEach(listArticlesModel::addElement);
+		keepSelection(() -> listArticlesModel.showAll(articles));
+	}
+
+	@Override
+	public void showArticlesPage(String afterId, List<ArticleSummary> page) {
+		keepSelection(() -> listArticlesModel.pageLoaded(afterId, page));
+		loadMoreArticlesIfNeeded();
+	}
+
+	@Override
+	public void showSearchResults(List<ArticleSummary> results) {
+		keepSelection(() -> listArticlesModel.showSearchResults(results));
+	}
+
+	/**
+	 * Runs a refresh of the list and reselects the article that was selected before it, wherever
+	 * the refresh moved it, leaving the detail pane untouched while the article stays listed.
+	 */
+	private void keepSelection(Runnable refresh) {
+		ArticleSummary selected = listArticles.getSelectedValue();
+		keepingSelection = selected != null;
+		int index;
+		try {
+			refresh.run();
+			index = selected != null ? listArticlesModel.indexOfId(selected.getId()) : -1;
+			if(index != -1)
+				listArticles.setSelectedIndex(index);
+		} finally {
+			keepingSelection = false;
+		}
+		if(selected != null && index == -1) {
+			listArticles.clearSelection();
+			showSelectedArticle();
+		}
+	}
+
+	private void showSelectedArticle() {
+		listTagsModel.removeAllElements();
+		int selectedIndex = listArticles.getSelectedIndex();
+		if(selectedIndex != -1) {
+			btnDeleteArticle.setEnabled(true);
+			ArticleSummary selectedArticle = listArticles.getModel().getElementAt(selectedIndex);
+			txtTitle.setText(selectedArticle.getTitle());
+			selectedArticle.getTags().stream().forEach(listTagsModel::addElement);
+			if(selectedArticle instanceof Article article)
+				txtContent.setText(article.getContent());
+			else {
+				txtContent.setText("");
+				blogController.article(selectedArticle.getId());
+			}
+		}
+		else {
+			btnDeleteArticle.setEnabled(false);
+			txtTitle.setText("");
+			txtContent.setText("");
+		}
+	}
+
+	@Override
+	public void showArticle(Article article) {
+		ArticleSummary selectedArticle = listArticles.getSelectedValue();
+		if(selectedArticle != null && selectedArticle.getId().equals(article.getId())) {
+			txtContent.setText(article.getContent());
+			checkSaveButton();
+		}
 	}
 
 	@Override
 	public void showError(String errorMessage) {
 		lblError.setText(errorMessage);
 	}
+
+	@Override
+	public void showPageError(String afterId, String errorMessage) {
+		listArticlesModel.pageFailed(afterId);
+		lblError.setText(errorMessage);
+	}
+	
+	private void loadArticlesPage(String tagLabel, String afterId, int limit) {
+		if(tagLabel == null)
+			blogController.articlesPage(afterId, limit);
+		else
+			blogController.articlesPageWithTag(tagLabel, afterId, limit);
+	}
+	
+	private void loadMoreArticlesIfNeeded() {
+		if(listArticles.getLastVisibleIndex() >= listArticlesModel.size() - PREFETCH_ROWS)
+			listArticlesModel.loadMore();
+	}
 	
 	private void resetErrorLabel() {
 		lblError.setText(" ");
@@ -357,22 +458,26 @@ public class BlogSwingView extends JFrame implements BlogView{
 
 	@Override
 	public void articleAdded(Article article) {
-		listArticlesModel.addElement(article);
+		listArticlesModel.articleAdded(article);
 		clearArticleInteractions();
 		resetErrorLabel();
 	}
 
 	@Override
 	public void articleUpdated(Article updatedArticle) {
-		int index = listArticles.getSelectedIndex();
-		listArticlesModel.set(index, updatedArticle);
+		int index = listArticlesModel.indexOfId(updatedArticle.getId());
+		if(index >= 0)
+			listArticlesModel.set(index, updatedArticle);
 		clearArticleInteractions();
 		resetErrorLabel();
 	}
 
 	@Override
-	public void articleDeleted() {
-		listArticlesModel.removeElement(listArticles.getSelectedValue());
+	public void articleDeleted(String id) {
+		// the selection may have moved on while an asynchronous delete was running
+		int index = listArticlesModel.indexOfId(id);
+		if(index >= 0)
+			listArticlesModel.remove(index);
 		clearArticleInteractions();
 		resetErrorLabel();
 	}
@@ -395,6 +500,37 @@ public class BlogSwingView extends JFrame implements BlogView{
 		resetErrorLabel();
 	}
 	
+	@Override
+	public void articleChanged(Article article) {
+		enqueueChange(article.getId(), article);
+	}
+
+	@Override
+	public void articleRemoved(String id) {
+		enqueueChange(id, null);
+	}
+
+	private void enqueueChange(String id, Article article) {
+		synchronized(pendingChanges) {
+			pendingChanges.remove(id);
+			pendingChanges.put(id, article);
+			if(flushScheduled)
+				return;
+			flushScheduled = true;
+		}
+		SwingUtilities.invokeLater(this::flushChanges);
+	}
+
+	void flushChanges() {
+		Map<String, Article> changes;
+		synchronized(pendingChanges) {
+			changes = new LinkedHashMap<>(pendingChanges);
+			pendingChanges.clear();
+			flushScheduled = false;
+		}
+		listArticlesModel.applyChanges(changes);
+	}
+
 	private void checkSaveButton() {
 		btnSaveArticle.setEnabled(
 			!txtTitle.getText().trim().isEmpty() &&
@@ -0,0 +1,142 @@
+package com.michael.app.blog.view.swing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
+import com.michael.app.blog.model.Tag;
+
+public class LazyArticleListModel extends ArticleListModel {
+
+	private static final long serialVersionUID = 1L;
+
+	@FunctionalInterface
+	public interface PageLoader {
+		void loadPage(String tagLabel, String afterId, int limit);
+	}
+
+	private transient PageLoader pageLoader;
+	private int pageSize;
+	private String tagLabel;
+	private transient Tag filterTag;
+	private String lastId;
+	private boolean loading = false;
+	private boolean exhausted = true;
+	private boolean searchResults = false;
+
+	public LazyArticleListModel(PageLoader pageLoader, int pageSize) {
+		if(pageSize <= 0)
+			throw new IllegalArgumentException("Page size must be positive!");
+		this.pageLoader = pageLoader;
+		this.pageSize = pageSize;
+	}
+
+	public void reload(String tagLabel) {
+		this.tagLabel = tagLabel;
+		// labels are stored lowercased, so changes are matched against the normalized filter
+		filterTag = tagLabel == null || tagLabel.isBlank() ? null : new Tag(tagLabel);
+		searchResults = false;
+		lastId = null;
+		exhausted = false;
+		loading = true;
+		pageLoader.loadPage(tagLabel, null, pageSize);
+	}
+
+	public void loadMore() {
+		if(loading || exhausted)
+			return;
+		loading = true;
+		pageLoader.loadPage(tagLabel, lastId, pageSize);
+	}
+
+	public void pageLoaded(String afterId, List<? extends ArticleSummary> page) {
+		if(!Objects.equals(afterId, lastId))
+			return;
+		if(afterId == null)
+			refresh(page);
+		else
+			addAll(page);
+		if(!page.isEmpty())
+			lastId = page.get(page.size() - 1).getId();
+		exhausted = page.size() < pageSize;
+		loading = false;
+	}
+
+	/** Lets the failed page be requested again; a failure for a page no longer awaited is ignored. */
+	public void pageFailed(String afterId) {
+		if(Objects.equals(afterId, lastId))
+			loading = false;
+	}
+
+	public void showAll(List<? extends ArticleSummary> articles) {
+		refresh(articles);
+		lastId = null;
+		exhausted = true;
+		loading = false;
+		searchResults = false;
+	}
+
+	/**
+	 * Shows a ranked, limited search result. New articles are not appended to it, since
+	 * they are neither known to match the query nor placed by relevance.
+	 */
+	public void showSearchResults(List<? extends ArticleSummary> results) {
+		showAll(results);
+		// a search replaces the tag filter, which would otherwise drop changed results without the tag
+		tagLabel = null;
+		filterTag = null;
+		searchResults = true;
+	}
+
+	public void articleAdded(Article article) {
+		// the change feed may already have appended it
+		if(exhausted && !searchResults && indexOfId(article.getId()) < 0)
+			addElement(article);
+	}
+
+	/**
+	 * Applies a batch of changed articles, where a null value marks the id as removed.
+	 * Changed articles outside the current filter are dropped from the listing, and new
+	 * ones are appended only once every page is loaded, as with {@link #articleAdded}.
+	 */
+	public void applyChanges(Map<String, ? extends Article> changes) {
+		List<Integer> removedIndexes = new ArrayList<>();
+		for(Map.Entry<String, ? extends Article> change : changes.entrySet()) {
+			int index = indexOfId(change.getKey());
+			Article article = change.getValue();
+			boolean visible = article != null && matchesFilter(article);
+			if(index >= 0 && visible)
+				set(index, article);
+			else if(index >= 0)
+				removedIndexes.add(index);
+			else if(visible && exhausted && !searchResults)
+				addElement(article);
+		}
+		removedIndexes.sort(Comparator.reverseOrder());
+		removedIndexes.forEach(index -> remove(index));
+	}
+
+	private boolean matchesFilter(Article article) {
+		return filterTag == null || article.getTags().contains(filterTag);
+	}
+
+	public boolean isLoading() {
+		return loading;
+	}
+
+	public boolean isShowingSearchResults() {
+		return searchResults;
+	}
+
+	public boolean isExhausted() {
+		return exhausted;
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+}
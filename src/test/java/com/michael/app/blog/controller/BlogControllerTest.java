@@ -2,9 +2,12 @@ package com.michael.app.blog.controller;
 
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayDeque;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static java.util.Arrays.asList;
 
@@ -13,13 +16,16 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import static org.assertj.core.api.Assertions.*;
 
+import com.michael.app.blog.metrics.MetricsRegistry;
 import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
 import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.ArticleChangeFeed.Subscription;
+import com.michael.app.blog.repository.ArticleChangeListener;
 import com.michael.app.blog.service.BlogService;
 import com.michael.app.blog.view.BlogView;
 
@@ -31,10 +37,10 @@ public class BlogControllerTest {
 	@Mock
 	private BlogView blogView;
 	
-	@InjectMocks
 	BlogController controller;
 	
 	private AutoCloseable closeable;
+	private MetricsRegistry metrics;
 	
 	private String id;
 	private String title;
@@ -51,6 +57,8 @@ public class BlogControllerTest {
 		tagLabels = new HashSet<String>();
 		article = new Article(id, title, content);
 		closeable = MockitoAnnotations.openMocks(this);
+		metrics = new MetricsRegistry(null);
+		controller = new BlogController(blogService, blogView, Runnable::run, Runnable::run, metrics);
 	}
 	
 	@After
@@ -65,6 +73,8 @@ public class BlogControllerTest {
 		controller.allArticles();
 		verify(blogService).getAllArticles();
 		verify(blogView).showAllArticles(articles);
+		assertThat(metrics.operation("BlogController", "allArticles").getCount()).isEqualTo(1);
+		assertThat(metrics.operation("BlogController", "allArticles").getMaxResultSize()).isEqualTo(1);
 	}
 	
 	@Test
@@ -78,7 +88,7 @@ public class BlogControllerTest {
 	@Test
 	public void testAllArticlesWithTag() {
 		String tagLabel = "cooking";
-		article.addTag(new Tag("cooking"));
+		article = article.withTag(new Tag("cooking"));
 		List<Article> articles = asList(article);
 		when(blogService.getArticlesByTag(tagLabel)).thenReturn(articles);
 		controller.allArticlesWithTag(tagLabel);
@@ -95,6 +105,82 @@ public class BlogControllerTest {
 		verify(blogView).showError("DB ERROR - Could not retrieve documents");
 	}
 	
+	@Test
+	public void testArticlesPage() {
+		List<ArticleSummary> page = asList(article);
+		when(blogService.getArticlesPage(id, 10)).thenReturn(page);
+		controller.articlesPage(id, 10);
+		verify(blogView).showArticlesPage(id, page);
+	}
+	
+	@Test
+	public void testArticlesPageWithTag() {
+		List<ArticleSummary> page = asList(article);
+		when(blogService.getArticlesByTagPage("cooking", null, 10)).thenReturn(page);
+		controller.articlesPageWithTag("cooking", null, 10);
+		verify(blogView).showArticlesPage(null, page);
+	}
+	
+	@Test
+	public void testArticlesPageShowsErrorOnFailure() {
+		when(blogService.getArticlesPage(null, 10)).thenThrow(new RuntimeException("DB ERROR - Could not retrieve documents"));
+		controller.articlesPage(null, 10);
+		verify(blogView).showPageError(null, "DB ERROR - Could not retrieve documents");
+		verify(blogView, never()).showError(anyString());
+	}
+	
+	@Test
+	public void testArticlesPageWithTagShowsPageErrorOnFailure() {
+		when(blogService.getArticlesByTagPage("cooking", id, 10)).thenThrow(new RuntimeException("DB ERROR - Could not retrieve documents"));
+		controller.articlesPageWithTag("cooking", id, 10);
+		verify(blogView).showPageError(id, "DB ERROR - Could not retrieve documents");
+		verify(blogView, never()).showError(anyString());
+	}
+	
+	@Test
+	public void testSearchArticles() {
+		List<ArticleSummary> results = asList(article);
+		when(blogService.searchArticles("parmesan", 10)).thenReturn(results);
+		controller.searchArticles("parmesan", 10);
+		verify(blogView).showSearchResults(results);
+	}
+	
+	@Test
+	public void testSearchArticlesShowsErrorOnFailure() {
+		when(blogService.searchArticles(" ", 10)).thenThrow(new IllegalArgumentException("Search query cannot be empty!"));
+		controller.searchArticles(" ", 10);
+		verify(blogView).showError("Search query cannot be empty!");
+	}
+	
+	@Test
+	public void testArticleShowsTheFullArticle() {
+		when(blogService.getArticle(id)).thenReturn(article);
+		controller.article(id);
+		verify(blogView).showArticle(article);
+	}
+	
+	@Test
+	public void testArticleShowsErrorOnFailure() {
+		when(blogService.getArticle(id)).thenThrow(new RuntimeException("Article not found with ID: " + id));
+		controller.article(id);
+		verify(blogView).showError("Article not found with ID: " + id);
+	}
+	
+	@Test
+	public void testStaleArticleIsDroppedWhenAnotherArticleIsRequested() {
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		controller = new BlogController(blogService, blogView, Runnable::run, viewTasks::add, metrics);
+		String otherId = "000000000000000000000001";
+		Article other = new Article(otherId, "Fettuccine Alfredo", "America thinks it's something special");
+		when(blogService.getArticle(id)).thenReturn(article);
+		when(blogService.getArticle(otherId)).thenReturn(other);
+		controller.article(id);
+		controller.article(otherId);
+		viewTasks.forEach(Runnable::run);
+		verify(blogView, never()).showArticle(article);
+		verify(blogView).showArticle(other);
+	}
+	
 	@Test
 	public void testSaveArticleSuccess() {
 		when(blogService.saveArticle(title, content, tagLabels)).thenReturn(article);
@@ -110,6 +196,7 @@ public class BlogControllerTest {
 		controller.saveArticle("", content, tagLabels);
 		verify(blogView).showError("Error in article save - Article title cannot be empty!");
 		verifyNoMoreInteractions(ignoreStubs(blogService, blogView));
+		assertThat(metrics.operation("BlogController", "saveArticle").getErrors()).isEqualTo(1);
 	}
 	
 	@Test
@@ -135,7 +222,7 @@ public class BlogControllerTest {
 		controller.deleteArticle(id);
 		InOrder inOrder = inOrder(blogService, blogView);
 		inOrder.verify(blogService).deleteArticle(id);
-		inOrder.verify(blogView).articleDeleted();
+		inOrder.verify(blogView).articleDeleted(id);
 		verifyNoMoreInteractions(blogService);
 		verifyNoMoreInteractions(blogView);
 	}
@@ -161,4 +248,115 @@ public class BlogControllerTest {
 		controller.tag("");
 		verify(blogView).showError("Tag label cannot be blank!");
 	}
+	
+	@Test
+	public void testServiceCallsRunOnServiceExecutorAndResultsOnViewExecutor() {
+		Queue<Runnable> serviceTasks = new ArrayDeque<>();
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		controller = new BlogController(blogService, blogView, serviceTasks::add, viewTasks::add, metrics);
+		List<Article> articles = asList(article);
+		when(blogService.getAllArticles()).thenReturn(articles);
+		controller.allArticles();
+		verifyNoInteractions(blogService);
+		serviceTasks.poll().run();
+		verify(blogService).getAllArticles();
+		verifyNoInteractions(blogView);
+		viewTasks.poll().run();
+		verify(blogView).showAllArticles(articles);
+	}
+	
+	@Test
+	public void testErrorsAreDeliveredOnViewExecutor() {
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		controller = new BlogController(blogService, blogView, Runnable::run, viewTasks::add, metrics);
+		doThrow(new RuntimeException("Article does not exist!")).when(blogService).deleteArticle(id);
+		controller.deleteArticle(id);
+		verifyNoInteractions(blogView);
+		viewTasks.poll().run();
+		verify(blogView).showError("Error in article delete - Article does not exist!");
+	}
+	
+	@Test
+	public void testStaleListingIsNotQueriedWhenReplacedBeforeRunning() {
+		Queue<Runnable> serviceTasks = new ArrayDeque<>();
+		Executor viewExecutor = Runnable::run;
+		controller = new BlogController(blogService, blogView, serviceTasks::add, viewExecutor, metrics);
+		List<Article> articles = asList(article);
+		when(blogService.getArticlesByTag("cooking")).thenReturn(articles);
+		controller.allArticles();
+		controller.allArticlesWithTag("cooking");
+		serviceTasks.forEach(Runnable::run);
+		verify(blogService, never()).getAllArticles();
+		verify(blogService).getArticlesByTag("cooking");
+		verify(blogView).showAllArticles(articles);
+		verifyNoMoreInteractions(blogView);
+	}
+	
+	@Test
+	public void testStaleListingResultIsDroppedWhenCompletingAfterNewerRequest() {
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		controller = new BlogController(blogService, blogView, Runnable::run, viewTasks::add, metrics);
+		List<Article> allArticles = asList(article);
+		List<Article> taggedArticles = asList();
+		when(blogService.getAllArticles()).thenReturn(allArticles);
+		when(blogService.getArticlesByTag("cooking")).thenReturn(taggedArticles);
+		controller.allArticles();
+		controller.allArticlesWithTag("cooking");
+		viewTasks.forEach(Runnable::run);
+		verify(blogView, never()).showAllArticles(allArticles);
+		verify(blogView).showAllArticles(taggedArticles);
+	}
+	
+	@Test
+	public void testStaleListingErrorIsDropped() {
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		controller = new BlogController(blogService, blogView, Runnable::run, viewTasks::add, metrics);
+		List<Article> articles = asList(article);
+		when(blogService.getAllArticles())
+			.thenThrow(new RuntimeException("DB ERROR - Could not retrieve documents"))
+			.thenReturn(articles);
+		controller.allArticles();
+		controller.allArticles();
+		viewTasks.forEach(Runnable::run);
+		verify(blogView, never()).showError(anyString());
+		verify(blogView).showAllArticles(articles);
+	}
+	
+	@Test
+	public void testWatchArticlesForwardsChangesToTheView() {
+		ArgumentCaptor<ArticleChangeListener> listener = ArgumentCaptor.forClass(ArticleChangeListener.class);
+		controller.watchArticles();
+		verify(blogService).watchArticles(listener.capture());
+		listener.getValue().articleChanged(article);
+		listener.getValue().articleRemoved(id);
+		verify(blogView).articleChanged(article);
+		verify(blogView).articleRemoved(id);
+	}
+	
+	@Test
+	public void testWatchArticlesAgainClosesThePreviousSubscription() {
+		Subscription subscription = mock(Subscription.class);
+		when(blogService.watchArticles(any())).thenReturn(subscription);
+		controller.watchArticles();
+		controller.watchArticles();
+		verify(subscription).close();
+		verify(blogService, times(2)).watchArticles(any());
+	}
+	
+	@Test
+	public void testStopWatchingArticlesClosesTheSubscription() {
+		Subscription subscription = mock(Subscription.class);
+		when(blogService.watchArticles(any())).thenReturn(subscription);
+		controller.watchArticles();
+		controller.stopWatchingArticles();
+		controller.stopWatchingArticles();
+		verify(subscription, times(1)).close();
+	}
+	
+	@Test
+	public void testWatchArticlesShowsErrorOnFailure() {
+		when(blogService.watchArticles(any())).thenThrow(new RuntimeException("Change streams unavailable"));
+		controller.watchArticles();
+		verify(blogView).showError("Change streams unavailable");
+	}
 }
@@ -7,20 +7,39 @@ import static org.assertj.core.api.Assertions.*;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.michael.app.blog.controller.BlogController;
 import com.michael.app.blog.controller.BlogControllerFactory;
+import com.michael.app.blog.metrics.MeteredTransactionManager;
+import com.michael.app.blog.repository.ArticleChangeFeed;
 import com.michael.app.blog.repository.BlogRepository;
 import com.michael.app.blog.repository.BlogRepositoryFactory;
+import com.michael.app.blog.repository.IndexManager;
+import com.michael.app.blog.repository.cache.ArticleCache;
+import com.michael.app.blog.repository.cache.CachingTransactionManager;
+import com.michael.app.blog.repository.mongo.BlogMongoChangeFeed;
+import com.michael.app.blog.repository.mongo.CommandStatistics;
+import com.michael.app.blog.repository.mongo.ConnectionPoolStatistics;
+import com.michael.app.blog.repository.mongo.BlogMongoIndexManager;
 import com.michael.app.blog.repository.mongo.BlogMongoRepository;
 import com.michael.app.blog.service.BlogService;
 import com.michael.app.blog.service.mongo.BlogMongoService;
 import com.michael.app.blog.transaction.BlogMongoTransactionManager;
+import com.michael.app.blog.transaction.RetryPolicy;
+import com.michael.app.blog.transaction.TransactionProfile;
+import com.michael.app.blog.transaction.TransactionProfiles;
 import com.michael.app.blog.transaction.TransactionManager;
 import com.michael.app.blog.view.BlogView;
 import com.michael.app.blog.view.swing.BlogSwingView;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.TransactionOptions;
+import com.mongodb.WriteConcern;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoClient;
 
@@ -65,6 +84,8 @@ public class BlogSwingMongoModuleTest {
 	@Test
 	public void testClassBindings() {
 		assertThat(injector.getInstance(TransactionManager.class))
+		.isInstanceOf(MeteredTransactionManager.class);
+		assertThat(injector.getInstance(Key.get(TransactionManager.class, BackendTransactionManager.class)))
 		.isInstanceOf(BlogMongoTransactionManager.class);
 		assertThat(injector.getInstance(BlogRepositoryFactory.class))
 			.isInstanceOf(BlogRepositoryFactory.class);
@@ -120,4 +141,90 @@ public class BlogSwingMongoModuleTest {
 		view = injector.getInstance(BlogSwingView.class);
 		assertThat(view.getBlogController()).isNotNull();
 	}
+	
+	@Test
+	public void testExecutorsAreDirectByDefault() {
+		Executor serviceExecutor = injector.getInstance(Key.get(Executor.class, ServiceExecutor.class));
+		Executor viewExecutor = injector.getInstance(Key.get(Executor.class, ViewExecutor.class));
+		Thread caller = Thread.currentThread();
+		serviceExecutor.execute(() -> assertThat(Thread.currentThread()).isSameAs(caller));
+		viewExecutor.execute(() -> assertThat(Thread.currentThread()).isSameAs(caller));
+	}
+	
+	@Test
+	public void testAsyncControllerUsesBackgroundServiceExecutor() {
+		injector = Guice.createInjector(new BlogSwingMongoDefaultModule().asyncController(true));
+		Executor serviceExecutor = injector.getInstance(Key.get(Executor.class, ServiceExecutor.class));
+		assertThat(serviceExecutor).isInstanceOf(ExecutorService.class);
+		assertThat(serviceExecutor).isSameAs(injector.getInstance(Key.get(Executor.class, ServiceExecutor.class)));
+	}
+	
+	@Test
+	public void testReadSettingsDefaultToPrimaryAndServerDefaultConcern() {
+		assertThat(injector.getInstance(ReadConcern.class)).isEqualTo(ReadConcern.DEFAULT);
+		assertThat(injector.getInstance(ReadPreference.class)).isEqualTo(ReadPreference.primary());
+	}
+	
+	@Test
+	public void testReadSettingsBindings() {
+		injector = Guice.createInjector(new BlogSwingMongoDefaultModule()
+			.readConcern(ReadConcern.MAJORITY)
+			.readPreference(ReadPreference.secondaryPreferred()));
+		assertThat(injector.getInstance(ReadConcern.class)).isEqualTo(ReadConcern.MAJORITY);
+		assertThat(injector.getInstance(ReadPreference.class)).isEqualTo(ReadPreference.secondaryPreferred());
+	}
+	
+	@Test
+	public void testIndexManagerIsSingleton() {
+		IndexManager indexManager = injector.getInstance(IndexManager.class);
+		assertThat(indexManager).isInstanceOf(BlogMongoIndexManager.class);
+		assertThat(indexManager).isSameAs(injector.getInstance(IndexManager.class));
+	}
+	
+	@Test
+	public void testCachingManagerWrapsTheBackendWhenCacheIsEnabled() {
+		injector = Guice.createInjector(new BlogSwingMongoDefaultModule().cacheMaxBytes(1024));
+		MeteredTransactionManager transactionManager = (MeteredTransactionManager) injector.getInstance(TransactionManager.class);
+		assertThat(transactionManager.getTransactionManager()).isInstanceOf(CachingTransactionManager.class);
+		assertThat(injector.getInstance(ArticleCache.class).getMaxBytes()).isEqualTo(1024);
+		assertThat(injector.getInstance(ArticleCache.class)).isSameAs(injector.getInstance(ArticleCache.class));
+	}
+	
+	@Test
+	public void testChangeFeedIsSingleton() {
+		ArticleChangeFeed changeFeed = injector.getInstance(ArticleChangeFeed.class);
+		assertThat(changeFeed).isInstanceOf(BlogMongoChangeFeed.class);
+		assertThat(changeFeed).isSameAs(injector.getInstance(ArticleChangeFeed.class));
+	}
+	
+	@Test
+	public void testRetryPolicyBinding() {
+		assertThat(injector.getInstance(RetryPolicy.class)).isSameAs(RetryPolicy.DEFAULT);
+		RetryPolicy retryPolicy = new RetryPolicy(100, 1, 10);
+		injector = Guice.createInjector(new BlogSwingMongoDefaultModule().retryPolicy(retryPolicy));
+		assertThat(((BlogMongoTransactionManager) injector.getInstance(Key.get(TransactionManager.class, BackendTransactionManager.class))).getRetryPolicy())
+			.isSameAs(retryPolicy);
+	}
+	
+	@Test
+	public void testTransactionOptionsAreBoundPerProfile() {
+		TransactionOptions lightweight = TransactionOptions.builder().writeConcern(WriteConcern.W1).build();
+		injector = Guice.createInjector(new BlogSwingMongoDefaultModule()
+			.transactionOptions(TransactionProfile.LIGHTWEIGHT, lightweight));
+		TransactionProfiles profiles = injector.getInstance(TransactionProfiles.class);
+		assertThat(profiles.options(TransactionProfile.LIGHTWEIGHT)).isEqualTo(lightweight);
+		assertThat(profiles.options(TransactionProfile.CONTENT)).isEqualTo(TransactionOptions.builder().build());
+	}
+	
+	@Test
+	public void testPoolStatisticsAreSingleton() {
+		assertThat(injector.getInstance(ConnectionPoolStatistics.class))
+			.isSameAs(injector.getInstance(ConnectionPoolStatistics.class));
+	}
+	
+	@Test
+	public void testCommandStatisticsAreSingleton() {
+		assertThat(injector.getInstance(CommandStatistics.class))
+			.isSameAs(injector.getInstance(CommandStatistics.class));
+	}
 }
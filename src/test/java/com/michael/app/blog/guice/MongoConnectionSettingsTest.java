@@ -0,0 +1,72 @@
+package com.michael.app.blog.guice;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.michael.app.blog.metrics.MetricsRegistry;
+import com.michael.app.blog.repository.mongo.CommandStatistics;
+import com.michael.app.blog.repository.mongo.ConnectionPoolStatistics;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+
+public class MongoConnectionSettingsTest {
+
+	private ConnectionPoolStatistics poolStatistics = new ConnectionPoolStatistics();
+	private CommandStatistics commandStatistics = new CommandStatistics(new MetricsRegistry(null), 0);
+
+	@Test
+	public void testUnsetValuesKeepTheConnectionStringAndDriverDefaults() {
+		MongoClientSettings settings = new MongoConnectionSettings()
+			.toClientSettings("mongodb://localhost:27017/?maxPoolSize=7", poolStatistics, commandStatistics);
+		assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(7);
+		assertThat(settings.getCompressorList()).isEmpty();
+		assertThat(settings.getConnectionPoolSettings().getConnectionPoolListeners()).containsExactly(poolStatistics);
+		assertThat(settings.getCommandListeners()).containsExactly(commandStatistics);
+	}
+
+	@Test
+	public void testExplicitValuesAreApplied() {
+		MongoClientSettings settings = new MongoConnectionSettings()
+			.maxPoolSize(20)
+			.minPoolSize(2)
+			.maxConnecting(4)
+			.maxWaitTimeMillis(500L)
+			.maxConnectionIdleTimeMillis(60_000L)
+			.maxConnectionLifeTimeMillis(600_000L)
+			.serverSelectionTimeoutMillis(3_000L)
+			.connectTimeoutMillis(1_000L)
+			.readTimeoutMillis(5_000L)
+			.toClientSettings("mongodb://localhost:27017/?maxPoolSize=7", poolStatistics, commandStatistics);
+		assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(20);
+		assertThat(settings.getConnectionPoolSettings().getMinSize()).isEqualTo(2);
+		assertThat(settings.getConnectionPoolSettings().getMaxConnecting()).isEqualTo(4);
+		assertThat(settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS)).isEqualTo(500);
+		assertThat(settings.getConnectionPoolSettings().getMaxConnectionIdleTime(TimeUnit.MILLISECONDS)).isEqualTo(60_000);
+		assertThat(settings.getConnectionPoolSettings().getMaxConnectionLifeTime(TimeUnit.MILLISECONDS)).isEqualTo(600_000);
+		assertThat(settings.getClusterSettings().getServerSelectionTimeout(TimeUnit.MILLISECONDS)).isEqualTo(3_000);
+		assertThat(settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS)).isEqualTo(1_000);
+		assertThat(settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS)).isEqualTo(5_000);
+	}
+
+	@Test
+	public void testCompressorsWithoutTheirLibraryAreSkipped() {
+		MongoClientSettings settings = new MongoConnectionSettings()
+			.compressors(List.of("zstd", "snappy", "zlib"))
+			.toClientSettings("mongodb://localhost", poolStatistics, commandStatistics);
+		assertThat(settings.getCompressorList()).extracting(MongoCompressor::getName).contains("zlib");
+		assertThat(settings.getCompressorList().get(settings.getCompressorList().size() - 1).getName())
+			.isEqualTo("zlib");
+	}
+
+	@Test
+	public void testShouldThrowOnUnknownCompressor() {
+		MongoConnectionSettings settings = new MongoConnectionSettings().compressors(List.of("lz4"));
+		assertThatThrownBy(() -> settings.toClientSettings("mongodb://localhost", poolStatistics, commandStatistics))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Unknown compressor: lz4");
+	}
+}
@@ -0,0 +1,95 @@
+package com.michael.app.blog.load;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.michael.app.blog.load.LoadGenerator.Operation;
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.repository.BulkSaveResult;
+import com.michael.app.blog.service.BlogService;
+
+public class LoadGeneratorTest {
+
+	@Mock
+	private BlogService service;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.openMocks(this);
+		when(service.saveArticles(anyList(), anyInt())).thenReturn(new BulkSaveResult(
+			List.of(new Article("000000000000000000000000", "Steak", "My favourite")), Map.of()));
+	}
+
+	@Test
+	public void testRunsTheRequestedNumberOfOperations() throws InterruptedException {
+		LoadGenerator generator = new LoadGenerator(service, Map.of(Operation.READ, 1, Operation.WRITE, 1), 4);
+		generator.seed(1);
+		LoadReport report = generator.run(Duration.ofMinutes(1), 1_000);
+		long reads = report.getLatencies(Operation.READ).getCount();
+		long writes = report.getLatencies(Operation.WRITE).getCount();
+		assertThat(reads + writes).isEqualTo(1_000);
+		assertThat(report.getLatencies(Operation.FILTER).getCount()).isZero();
+		verify(service, times((int) reads)).getArticle("000000000000000000000000");
+		verify(service, times((int) writes)).updateArticle(eq("000000000000000000000000"), anyString(), anyString(), anySet());
+	}
+
+	@Test
+	public void testDeleteSeededRemovesTheSeededArticles() throws InterruptedException {
+		LoadGenerator generator = new LoadGenerator(service, Map.of(Operation.READ, 1), 1);
+		generator.seed(1);
+		generator.deleteSeeded();
+		verify(service).deleteArticle("000000000000000000000000");
+		assertThatThrownBy(() -> generator.run(Duration.ofSeconds(1), 1))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("No articles to load, seed first!");
+	}
+
+	@Test
+	public void testFailedCallsAreCountedApart() throws InterruptedException {
+		when(service.getArticlesByTagPage(anyString(), isNull(), eq(LoadGenerator.PAGE_SIZE)))
+			.thenThrow(new IllegalStateException("down"));
+		LoadGenerator generator = new LoadGenerator(service, Map.of(Operation.FILTER, 1), 2);
+		generator.seed(1);
+		LoadReport report = generator.run(Duration.ofMinutes(1), 10);
+		assertThat(report.getErrors(Operation.FILTER)).isEqualTo(10);
+		assertThat(report.getLatencies(Operation.FILTER).getCount()).isZero();
+		StringWriter out = new StringWriter();
+		report.print(new PrintWriter(out));
+		assertThat(out.toString()).contains("FILTER", "p999 ms");
+	}
+
+	@Test
+	public void testStopsWhenTheDurationElapses() throws InterruptedException {
+		LoadGenerator generator = new LoadGenerator(service, Map.of(Operation.READ, 1), 1);
+		generator.seed(1);
+		LoadReport report = generator.run(Duration.ofMillis(50), 0);
+		assertThat(report.getElapsedNanos()).isLessThan(Duration.ofSeconds(5).toNanos());
+		assertThat(report.getLatencies(Operation.READ).getCount()).isPositive();
+	}
+
+	@Test
+	public void testShouldThrowOnInvalidSettings() {
+		assertThatThrownBy(() -> new LoadGenerator(service, Map.of(Operation.READ, 0), 1))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Operation mix must have a positive weight!");
+		assertThatThrownBy(() -> new LoadGenerator(service, Map.of(Operation.READ, 1), 0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Thread count must be positive!");
+		LoadGenerator generator = new LoadGenerator(service, Map.of(Operation.READ, 1), 1);
+		assertThatThrownBy(() -> generator.run(Duration.ofSeconds(1), 1))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("No articles to load, seed first!");
+	}
+}
@@ -0,0 +1,50 @@
+package com.michael.app.blog.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+	@Test
+	public void testBucketsCoverEveryValueOnce() {
+		for(long value : new long[] { 0, 1, 31, 32, 33, 63, 64, 1_000, 123_456_789, Long.MAX_VALUE }) {
+			int index = Histogram.index(value);
+			assertThat(Histogram.highestValue(index)).isGreaterThanOrEqualTo(value);
+			if(index > 0)
+				assertThat(Histogram.highestValue(index - 1)).isLessThan(value);
+		}
+	}
+
+	@Test
+	public void testPercentilesStayWithinTheBucketError() {
+		Histogram histogram = new Histogram();
+		for(long nanos = 1; nanos <= 100_000; nanos++)
+			histogram.record(nanos * 1_000);
+		assertThat(histogram.getCount()).isEqualTo(100_000);
+		assertThat(histogram.percentile(50)).isBetween(50_000_000L, 51_600_000L);
+		assertThat(histogram.percentile(99)).isBetween(99_000_000L, 100_000_000L);
+		assertThat(histogram.percentile(99.9)).isBetween(99_900_000L, 100_000_000L);
+		assertThat(histogram.percentile(100)).isEqualTo(100_000_000L);
+		assertThat(histogram.getMax()).isEqualTo(100_000_000L);
+		assertThat(histogram.getMean()).isEqualTo(50_000_500.0);
+	}
+
+	@Test
+	public void testEmptyHistogramReportsZero() {
+		Histogram histogram = new Histogram();
+		assertThat(histogram.percentile(99)).isZero();
+		assertThat(histogram.getMean()).isZero();
+	}
+
+	@Test
+	public void testShouldThrowOnInvalidArguments() {
+		Histogram histogram = new Histogram();
+		assertThatThrownBy(() -> histogram.record(-1))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Histogram value cannot be negative!");
+		assertThatThrownBy(() -> histogram.percentile(101))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Percentile must be between 0 and 100!");
+	}
+}
@@ -0,0 +1,49 @@
+package com.michael.app.blog.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.repository.memory.InMemoryArticleStore;
+import com.michael.app.blog.transaction.BlogInMemoryTransactionManager;
+import com.michael.app.blog.transaction.TransactionException;
+import com.michael.app.blog.transaction.TransactionProfile;
+
+public class MeteredTransactionManagerTest {
+
+	private MetricsRegistry metrics;
+	private MeteredTransactionManager transactionManager;
+
+	@Before
+	public void setUp() {
+		metrics = new MetricsRegistry(null);
+		transactionManager = new MeteredTransactionManager(
+			new BlogInMemoryTransactionManager(new InMemoryArticleStore()), metrics);
+	}
+
+	@Test
+	public void testCountsCommitsAndAbortsPerProfile() {
+		transactionManager.doInTransaction(TransactionProfile.CONTENT,
+			repository -> repository.save(new Article(null, "Steak", "My favourite")));
+		assertThatThrownBy(() -> transactionManager.doInTransaction(TransactionProfile.CONTENT, repository -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(TransactionException.class);
+		TransactionStats stats = metrics.transaction("CONTENT");
+		assertThat(stats.getCommits()).isEqualTo(1);
+		assertThat(stats.getAborts()).isEqualTo(1);
+		assertThat(stats.getCount()).isEqualTo(2);
+		assertThat(metrics.transaction("LIGHTWEIGHT").getCount()).isZero();
+	}
+
+	@Test
+	public void testTimesRepositoryCallsInsideAndOutsideTransactions() {
+		transactionManager.doInTransaction(TransactionProfile.DEFAULT,
+			repository -> repository.save(new Article(null, "Steak", "My favourite")));
+		transactionManager.doWithoutTransaction(repository -> repository.findAll());
+		assertThat(metrics.operation("BlogRepository", "save").getCount()).isEqualTo(1);
+		assertThat(metrics.operation("BlogRepository", "findAll").getMaxResultSize()).isEqualTo(1);
+		assertThat(metrics.operation("TransactionManager", "withoutTransaction").getCount()).isEqualTo(1);
+	}
+}
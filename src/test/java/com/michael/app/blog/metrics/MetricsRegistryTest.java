@@ -0,0 +1,58 @@
+package com.michael.app.blog.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+	private MBeanServer server;
+	private MetricsRegistry metrics;
+
+	@Before
+	public void setUp() {
+		server = MBeanServerFactory.newMBeanServer();
+		metrics = new MetricsRegistry(server);
+	}
+
+	@Test
+	public void testOperationStatsAreReadableOverJmx() throws Exception {
+		OperationStats stats = metrics.operation("BlogRepository", "findAll");
+		stats.time(() -> List.of(1, 2, 3));
+		ObjectName name = new ObjectName("com.michael.app.blog:type=BlogRepository,name=findAll");
+		assertThat(server.getAttribute(name, "Count")).isEqualTo(1L);
+		assertThat(server.getAttribute(name, "MaxResultSize")).isEqualTo(3L);
+		assertThat(metrics.operation("BlogRepository", "findAll")).isSameAs(stats);
+	}
+
+	@Test
+	public void testFailedCallsCountAsErrors() {
+		OperationStats stats = metrics.operation("BlogRepository", "delete");
+		assertThatThrownBy(() -> stats.time(() -> {
+			throw new IllegalStateException("down");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(stats.getErrors()).isEqualTo(1);
+		assertThat(stats.getCount()).isEqualTo(1);
+		stats.reset();
+		assertThat(stats.getErrors()).isZero();
+		assertThat(stats.getCount()).isZero();
+	}
+
+	@Test
+	public void testLaterRegistryReplacesTheMBean() throws Exception {
+		metrics.transaction("CONTENT").committed(1_000_000);
+		TransactionStats replacement = new MetricsRegistry(server).transaction("CONTENT");
+		ObjectName name = new ObjectName("com.michael.app.blog:type=Transaction,name=CONTENT");
+		assertThat(server.getAttribute(name, "Commits")).isEqualTo(0L);
+		replacement.aborted(2_000_000);
+		assertThat(server.getAttribute(name, "Aborts")).isEqualTo(1L);
+		assertThat((double) server.getAttribute(name, "MaxMillis")).isBetween(2.0, 2.1);
+	}
+}
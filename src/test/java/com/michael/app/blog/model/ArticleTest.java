@@ -3,6 +3,7 @@ package com.michael.app.blog.model;
 import static org.assertj.core.api.Assertions.*;
 
 import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -27,7 +28,7 @@ public class ArticleTest {
 		Article article = new Article(id, title, content);
 		assertThat(article.getTitle()).isEqualTo(title);
 		assertThat(article.getContent()).isEqualTo(content);
-		assertThat(article.getTags()).isInstanceOf(HashSet.class);
+		assertThat(article.getTags()).isSameAs(TagSet.EMPTY);
 	}
 
 	@Test
@@ -44,23 +45,23 @@ public class ArticleTest {
 	public void testAddTagSuccess() {
 		Article article = new Article(id, title, content);
 		Tag tag = new Tag(tagLabel);
-		article.addTag(tag);
+		article = article.withTag(tag);
 		assertThat(article.getTags()).contains(tag);
 	}
 	
 	@Test
 	public void testAddNullTag() {
 		Article article = new Article(id, title, content);
-		assertThatThrownBy(() -> article.addTag(null)).isInstanceOf(IllegalArgumentException.class).hasMessage("Inserted tag cannot be null!");
+		assertThatThrownBy(() -> article.withTag(null)).isInstanceOf(IllegalArgumentException.class).hasMessage("Inserted tag cannot be null!");
 	}
 	
 	@Test
 	public void testAddDuplicateTagsDoesNotIncreaseSize() {
 		Article article = new Article(id, title, content);
 		Tag tag = new Tag(tagLabel);
-		article.addTag(tag);
+		article = article.withTag(tag);
 		Tag tag2 = new Tag(tagLabel);
-		article.addTag(tag2);
+		article = article.withTag(tag2);
 		assertThat(article.getTags()).contains(tag2);
 		assertThat(article.getTags()).hasSize(1);
 	}
@@ -71,8 +72,57 @@ public class ArticleTest {
 		Tag tag1 = new Tag(tagLabel);
 		String label2 = "tech";
 		Tag tag2 = new Tag(label2);
-		article.addTag(tag1);
-		article.addTag(tag2);
+		article = article.withTag(tag1);
+		article = article.withTag(tag2);
 		assertThat(article.getTags()).hasSize(2);
 	}
+	
+	@Test
+	public void testRemoveTag() {
+		Article article = new Article(id, title, content);
+		Tag tag = new Tag(tagLabel);
+		article = article.withTag(tag);
+		assertThat(article.withoutTag(new Tag(tagLabel)).getTags()).isEmpty();
+	}
+	
+	@Test
+	public void testWithTagLeavesTheOriginalUnchanged() {
+		Article article = new Article(id, title, content);
+		Article tagged = article.withTag(new Tag(tagLabel));
+		assertThat(article.getTags()).isEmpty();
+		assertThat(tagged.getTags()).containsExactly(new Tag(tagLabel));
+		assertThat(tagged.getContent()).isEqualTo(content);
+		assertThat(tagged).isNotEqualTo(article);
+	}
+	
+	@Test
+	public void testEqualArticlesHaveEqualHashCodes() {
+		Article article = new Article(id, title, content, Set.of(new Tag(tagLabel)));
+		Article same = new Article(id, title, content, new HashSet<>(Set.of(new Tag(tagLabel))));
+		assertThat(article).isEqualTo(same);
+		assertThat(article.hashCode()).isEqualTo(same.hashCode());
+		assertThat(article).isNotEqualTo(new Article(id, title, "Not anymore"));
+	}
+	
+	@Test
+	public void testHasSameIdComparesIdsOnly() {
+		Article article = new Article(id, title, content);
+		assertThat(article.hasSameId(new Article(id, "Steak", "My favourite"))).isTrue();
+		assertThat(article.hasSameId(new Article("2", title, content))).isFalse();
+		assertThat(new Article(null, title, content).hasSameId(new Article(null, title, content))).isFalse();
+		assertThat(article.hasSameId(null)).isFalse();
+	}
+	
+	@Test
+	public void testTagsAreCopiedOnCreation() {
+		Set<Tag> tags = new HashSet<>(Set.of(new Tag(tagLabel)));
+		Article article = new Article(id, title, content, tags);
+		tags.add(new Tag("tech"));
+		assertThat(article.getTags()).containsExactly(new Tag(tagLabel));
+	}
+	
+	@Test
+	public void testNullTagsCreationFail() {
+		assertThatThrownBy(() -> new Article(id, title, content, null)).isInstanceOf(IllegalArgumentException.class).hasMessage("Article tags cannot be null!");
+	}
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.michael.app.blog.model;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+
+public class TagPoolTest {
+
+	@Test
+	public void testSameLabelReturnsSameInstance() {
+		assertThat(TagPool.intern("cooking")).isSameAs(TagPool.intern("cooking"));
+	}
+
+	@Test
+	public void testLabelsAreCanonicalised() {
+		Tag tag = TagPool.intern("Baking");
+		assertThat(tag.getLabel()).isEqualTo("baking");
+		assertThat(TagPool.intern("baking")).isSameAs(tag);
+	}
+
+	@Test
+	public void testInterningATagReturnsThePooledInstance() {
+		Tag pooled = TagPool.intern("travel");
+		assertThat(TagPool.intern(new Tag("travel"))).isSameAs(pooled);
+	}
+
+	@Test
+	public void testInvalidLabelsAreRejected() {
+		assertThatThrownBy(() -> TagPool.intern((String) null)).isInstanceOf(IllegalArgumentException.class).hasMessage("Tag label cannot be null!");
+		assertThatThrownBy(() -> TagPool.intern(" ")).isInstanceOf(IllegalArgumentException.class).hasMessage("Tag label cannot be blank!");
+	}
+}
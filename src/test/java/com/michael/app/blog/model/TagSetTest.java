@@ -0,0 +1,79 @@
+package com.michael.app.blog.model;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class TagSetTest {
+
+	private final Tag cooking = new Tag("cooking");
+	private final Tag tech = new Tag("tech");
+
+	@Test
+	public void testCopyIsSortedAndWithoutDuplicates() {
+		TagSet tags = TagSet.copyOf(List.of(tech, cooking, new Tag("cooking")));
+		assertThat(tags).containsExactly(cooking, tech);
+	}
+
+	@Test
+	public void testCopyHoldsPooledInstances() {
+		TagSet tags = TagSet.copyOf(Set.of(new Tag("cooking")));
+		assertThat(tags.iterator().next()).isSameAs(TagPool.intern("cooking"));
+	}
+
+	@Test
+	public void testEmptyCopyIsTheSharedEmptySet() {
+		assertThat(TagSet.copyOf(new HashSet<>())).isSameAs(TagSet.EMPTY);
+	}
+
+	@Test
+	public void testEqualsAndHashCodeFollowTheSetContract() {
+		TagSet tags = TagSet.copyOf(Set.of(cooking, tech));
+		Set<Tag> hashSet = new HashSet<>(Set.of(cooking, tech));
+		assertThat(tags).isEqualTo(hashSet);
+		assertThat(hashSet).isEqualTo(tags);
+		assertThat(tags.hashCode()).isEqualTo(hashSet.hashCode());
+		assertThat(tags).isEqualTo(TagSet.copyOf(List.of(tech, cooking)));
+	}
+
+	@Test
+	public void testWithAndWithoutReturnNewSets() {
+		TagSet tags = TagSet.EMPTY.with(tech);
+		TagSet added = tags.with(cooking);
+		assertThat(tags).containsExactly(tech);
+		assertThat(added).containsExactly(cooking, tech);
+		assertThat(added.without(tech)).containsExactly(cooking);
+		assertThat(added.without(cooking).without(tech)).isSameAs(TagSet.EMPTY);
+	}
+
+	@Test
+	public void testWithExistingOrWithoutMissingTagReturnsSameSet() {
+		TagSet tags = TagSet.copyOf(Set.of(cooking));
+		assertThat(tags.with(new Tag("cooking"))).isSameAs(tags);
+		assertThat(tags.without(tech)).isSameAs(tags);
+	}
+
+	@Test
+	public void testContains() {
+		TagSet tags = TagSet.copyOf(Set.of(cooking));
+		assertThat(tags.contains(new Tag("cooking"))).isTrue();
+		assertThat(tags.contains(tech)).isFalse();
+		assertThat(tags.contains("cooking")).isFalse();
+	}
+
+	@Test
+	public void testSetIsImmutable() {
+		TagSet tags = TagSet.copyOf(Set.of(cooking));
+		assertThatThrownBy(() -> tags.add(tech)).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> tags.iterator().remove()).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void testNullTagIsRejected() {
+		assertThatThrownBy(() -> TagSet.EMPTY.with(null)).isInstanceOf(IllegalArgumentException.class).hasMessage("Inserted tag cannot be null!");
+	}
+}
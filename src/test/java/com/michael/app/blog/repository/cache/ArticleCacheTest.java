@@ -0,0 +1,111 @@
+package com.michael.app.blog.repository.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+
+public class ArticleCacheTest {
+
+	private Article article1;
+	private Article article2;
+	private Article article3;
+	private Tag tag;
+
+	@Before
+	public void setUp() {
+		article1 = new Article("000000000000000000000000", "Parmesan eggplants", "I like them");
+		article2 = new Article("000000000000000000000001", "Fettuccine Alfredo", "America thinks it's something special");
+		article3 = new Article("000000000000000000000002", "Steak", "My favourite");
+		tag = new Tag("cooking");
+		article1 = article1.withTag(tag);
+	}
+
+	@Test
+	public void testShouldThrowExceptionWhenSizeIsNegative() {
+		assertThatThrownBy(() -> new ArticleCache(-1))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Cache size cannot be negative!");
+	}
+
+	@Test
+	public void testHitsAndMissesAreCounted() {
+		ArticleCache cache = new ArticleCache(10_000);
+		assertThat(cache.getArticle(article1.getId())).isNull();
+		cache.putArticle(article1);
+		assertThat(cache.getArticle(article1.getId())).isSameAs(article1);
+		assertThat(cache.getMisses()).isEqualTo(1);
+		assertThat(cache.getHits()).isEqualTo(1);
+		assertThat(cache.getSizeInBytes()).isEqualTo(ArticleCache.estimateBytes(article1));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEntryIsEvictedWhenFull() {
+		long bytes = Math.max(ArticleCache.estimateBytes(article1),
+			Math.max(ArticleCache.estimateBytes(article2), ArticleCache.estimateBytes(article3)));
+		ArticleCache cache = new ArticleCache(2 * bytes);
+		cache.putArticle(article1);
+		cache.putArticle(article2);
+		cache.getArticle(article1.getId());
+		cache.putArticle(article3);
+		assertThat(cache.getArticle(article2.getId())).isNull();
+		assertThat(cache.getArticle(article1.getId())).isSameAs(article1);
+		assertThat(cache.getArticle(article3.getId())).isSameAs(article3);
+		assertThat(cache.getEvictions()).isEqualTo(1);
+		assertThat(cache.getSizeInBytes()).isLessThanOrEqualTo(cache.getMaxBytes());
+	}
+
+	@Test
+	public void testEntryLargerThanTheCacheIsNotStored() {
+		ArticleCache cache = new ArticleCache(10);
+		cache.putArticle(article1);
+		assertThat(cache.getEntryCount()).isZero();
+		assertThat(cache.getEvictions()).isZero();
+	}
+
+	@Test
+	public void testReplacingAnEntryDoesNotLeakSize() {
+		ArticleCache cache = new ArticleCache(10_000);
+		cache.putArticle(article1);
+		cache.putArticle(article1);
+		assertThat(cache.getSizeInBytes()).isEqualTo(ArticleCache.estimateBytes(article1));
+	}
+
+	@Test
+	public void testInvalidateArticleRemovesTagListsContainingIt() {
+		ArticleCache cache = new ArticleCache(10_000);
+		cache.putArticle(article1);
+		cache.putArticlesWithTag(tag, Arrays.asList(article1));
+		cache.putArticlesWithTag(new Tag("other"), Arrays.asList(article2));
+		cache.invalidateArticle(article1.getId());
+		assertThat(cache.getArticle(article1.getId())).isNull();
+		assertThat(cache.getArticlesWithTag(tag)).isNull();
+		assertThat(cache.getArticlesWithTag(new Tag("other"))).containsExactly(article2);
+	}
+
+	@Test
+	public void testInvalidateTagsRemovesTheirLists() {
+		ArticleCache cache = new ArticleCache(10_000);
+		cache.putArticlesWithTag(tag, Collections.emptyList());
+		cache.invalidateTags(Collections.singleton(tag));
+		assertThat(cache.getArticlesWithTag(tag)).isNull();
+		assertThat(cache.getSizeInBytes()).isZero();
+	}
+	
+	@Test
+	public void testChangeNotificationsInvalidateEntries() {
+		ArticleCache cache = new ArticleCache(10_000);
+		cache.putArticle(article1);
+		cache.putArticle(article2);
+		cache.putArticlesWithTag(tag, Collections.emptyList());
+		cache.articleChanged(article1);
+		cache.articleRemoved(article2.getId());
+		assertThat(cache.getEntryCount()).isZero();
+	}
+}
@@ -0,0 +1,146 @@
+package com.michael.app.blog.repository.cache;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.BlogRepository;
+import com.michael.app.blog.repository.BulkSaveResult;
+
+public class CachingBlogRepositoryTest {
+
+	@Mock
+	private BlogRepository delegate;
+
+	private AutoCloseable closeable;
+	private ArticleCache cache;
+	private CachingBlogRepository repository;
+	private Article article;
+	private Tag tag;
+
+	@Before
+	public void setUp() {
+		closeable = MockitoAnnotations.openMocks(this);
+		cache = new ArticleCache(100_000);
+		repository = new CachingBlogRepository(delegate, cache);
+		tag = new Tag("cooking");
+		article = new Article("000000000000000000000000", "Parmesan eggplants", "I like them");
+		article = article.withTag(tag);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		closeable.close();
+	}
+
+	@Test
+	public void testFindByIdIsServedFromCacheAfterFirstRead() {
+		when(delegate.findById(article.getId())).thenReturn(article);
+		assertThat(repository.findById(article.getId())).isSameAs(article);
+		assertThat(repository.findById(article.getId())).isSameAs(article);
+		verify(delegate, times(1)).findById(article.getId());
+		assertThat(cache.getHits()).isEqualTo(1);
+	}
+
+	@Test
+	public void testMissingArticleIsNotCached() {
+		assertThat(repository.findById("missing")).isNull();
+		assertThat(repository.findById("missing")).isNull();
+		verify(delegate, times(2)).findById("missing");
+	}
+
+	@Test
+	public void testReadRacingAWriteIsNotCached() {
+		when(delegate.findById(article.getId())).thenAnswer(invocation -> {
+			// a concurrent delete lands between the read and the put
+			cache.invalidateArticle(article.getId());
+			return article;
+		});
+		when(delegate.findAllWithTag(tag)).thenAnswer(invocation -> {
+			cache.invalidateTags(article.getTags());
+			return Arrays.asList(article);
+		});
+		assertThat(repository.findById(article.getId())).isEqualTo(article);
+		assertThat(repository.findAllWithTag(tag)).containsExactly(article);
+		assertThat(cache.getEntryCount()).isZero();
+	}
+
+	@Test
+	public void testFindAllWithTagIsServedFromCacheAfterFirstRead() {
+		when(delegate.findAllWithTag(tag)).thenReturn(Arrays.asList(article));
+		repository.findAllWithTag(tag);
+		assertThat(repository.findAllWithTag(tag)).containsExactly(article);
+		verify(delegate, times(1)).findAllWithTag(tag);
+	}
+
+	@Test
+	public void testUncachedQueriesGoToTheDelegate() {
+		repository.findAll();
+		repository.findPage(null, 10);
+		repository.findPageWithTag(tag, null, 10);
+		repository.streamAll(10);
+		repository.search("parmesan", 10);
+		verify(delegate).findAll();
+		verify(delegate).findPage(null, 10);
+		verify(delegate).findPageWithTag(tag, null, 10);
+		verify(delegate).streamAll(10);
+		verify(delegate).search("parmesan", 10);
+	}
+
+	@Test
+	public void testSaveInvalidatesItsTagLists() {
+		when(delegate.findAllWithTag(tag)).thenReturn(Arrays.asList());
+		when(delegate.save(article)).thenReturn(article);
+		repository.findAllWithTag(tag);
+		assertThat(repository.save(article)).isSameAs(article);
+		repository.findAllWithTag(tag);
+		verify(delegate, times(2)).findAllWithTag(tag);
+	}
+
+	@Test
+	public void testUpdateInvalidatesOldAndNewEntries() {
+		Tag otherTag = new Tag("other");
+		Article updated = new Article(article.getId(), "Steak", "My favourite");
+		updated = updated.withTag(otherTag);
+		when(delegate.findById(article.getId())).thenReturn(article);
+		when(delegate.findAllWithTag(tag)).thenReturn(Arrays.asList(article));
+		when(delegate.findAllWithTag(otherTag)).thenReturn(Arrays.asList());
+		when(delegate.update(updated)).thenReturn(1L);
+		repository.findById(article.getId());
+		repository.findAllWithTag(tag);
+		repository.findAllWithTag(otherTag);
+		assertThat(repository.update(updated)).isEqualTo(1L);
+		assertThat(cache.getEntryCount()).isZero();
+	}
+
+	@Test
+	public void testDeleteInvalidatesTheArticleAndItsTagLists() {
+		when(delegate.findById(article.getId())).thenReturn(article);
+		when(delegate.findAllWithTag(tag)).thenReturn(Arrays.asList(article));
+		when(delegate.delete(article.getId())).thenReturn(1L);
+		repository.findById(article.getId());
+		repository.findAllWithTag(tag);
+		assertThat(repository.delete(article.getId())).isEqualTo(1L);
+		assertThat(cache.getEntryCount()).isZero();
+	}
+
+	@Test
+	public void testSaveAllInvalidatesTheTagListsOfSavedArticles() {
+		when(delegate.findAllWithTag(tag)).thenReturn(Arrays.asList());
+		when(delegate.saveAll(Arrays.asList(article)))
+			.thenReturn(new BulkSaveResult(Arrays.asList(article), Map.of()));
+		repository.findAllWithTag(tag);
+		assertThat(repository.saveAll(Arrays.asList(article)).getSavedArticles()).containsExactly(article);
+		assertThat(cache.getEntryCount()).isZero();
+	}
+}
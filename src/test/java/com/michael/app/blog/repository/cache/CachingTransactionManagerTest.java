@@ -0,0 +1,80 @@
+package com.michael.app.blog.repository.cache;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.BlogRepository;
+import com.michael.app.blog.transaction.TransactionCode;
+import com.michael.app.blog.transaction.TransactionManager;
+import com.michael.app.blog.transaction.TransactionProfile;
+
+public class CachingTransactionManagerTest {
+
+	@Mock
+	private TransactionManager backend;
+
+	@Mock
+	private BlogRepository repository;
+
+	private AutoCloseable closeable;
+	private ArticleCache cache;
+	private CachingTransactionManager transactionManager;
+	private Article article;
+
+	@Before
+	public void setUp() {
+		closeable = MockitoAnnotations.openMocks(this);
+		cache = new ArticleCache(100_000);
+		transactionManager = new CachingTransactionManager(backend, cache);
+		article = new Article("000000000000000000000000", "Parmesan eggplants", "I like them").withTag(new Tag("cooking"));
+		when(backend.doInTransaction(any(), any())).thenAnswer(
+			answer -> ((TransactionCode<?>) answer.getArgument(1)).apply(repository));
+		when(backend.doWithoutTransaction(any())).thenAnswer(
+			answer -> ((TransactionCode<?>) answer.getArgument(0)).apply(repository));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		closeable.close();
+	}
+
+	@Test
+	public void testWritesAreInvalidatedOnlyAfterTheTransaction() {
+		cache.putArticle(article);
+		transactionManager.doInTransaction(TransactionProfile.CONTENT, caching -> {
+			caching.update(article.withoutTag(new Tag("cooking")));
+			// still the committed version until the transaction is over
+			assertThat(cache.getArticle(article.getId())).isEqualTo(article);
+			return null;
+		});
+		assertThat(cache.getArticle(article.getId())).isNull();
+	}
+
+	@Test
+	public void testReadsInsideATransactionBypassTheCache() {
+		when(repository.findById(article.getId())).thenReturn(article);
+		transactionManager.doInTransaction(TransactionProfile.CONTENT, caching -> caching.findById(article.getId()));
+		assertThat(cache.getEntryCount()).isZero();
+		transactionManager.doWithoutTransaction(caching -> caching.findById(article.getId()));
+		assertThat(cache.getArticle(article.getId())).isEqualTo(article);
+	}
+
+	@Test
+	public void testWritesOfAFailedTransactionAreInvalidatedToo() {
+		cache.putArticle(article);
+		assertThatThrownBy(() -> transactionManager.doInTransaction(TransactionProfile.CONTENT, caching -> {
+			caching.delete(article.getId());
+			throw new IllegalStateException("commit failed");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(cache.getArticle(article.getId())).isNull();
+	}
+}
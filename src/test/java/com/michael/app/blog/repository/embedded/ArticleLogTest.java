@@ -0,0 +1,132 @@
+package com.michael.app.blog.repository.embedded;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+
+public class ArticleLogTest {
+
+	private static final String ID1 = "000000000000000000000000";
+	private static final String ID2 = "000000000000000000000001";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path path;
+	private Article article1;
+	private Article article2;
+
+	@Before
+	public void setUp() {
+		path = folder.getRoot().toPath().resolve("articles.log");
+		article1 = new Article(ID1, "Steak", "My favourite").withTag(new Tag("food"));
+		article2 = new Article(ID2, "Carbonara", "No cream");
+	}
+
+	@Test
+	public void testReadsBackAppendedArticles() throws IOException {
+		try(ArticleLog log = new ArticleLog(path)) {
+			Map<String, Integer> offsets = log.append(writes(ID1, article1, ID2, article2), true);
+			assertThat(log.read(offsets.get(ID1))).isEqualTo(article1);
+			assertThat(log.read(offsets.get(ID2))).isEqualTo(article2);
+		}
+	}
+
+	@Test
+	public void testReplaysCommittedBatchesAfterReopening() throws IOException {
+		try(ArticleLog log = new ArticleLog(path)) {
+			log.append(writes(ID1, article1, ID2, article2), true);
+			log.append(writes(ID1, null), true);
+		}
+		try(ArticleLog log = new ArticleLog(path)) {
+			assertThat(replay(log)).containsExactly("put " + ID1, "put " + ID2, "delete " + ID1);
+		}
+	}
+
+	@Test
+	public void testDropsTheTornTail() throws IOException {
+		int committed;
+		try(ArticleLog log = new ArticleLog(path)) {
+			log.append(writes(ID1, article1), true);
+			committed = log.size();
+			log.append(writes(ID2, article2), true);
+		}
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			// corrupt the last byte of the second article
+			channel.write(ByteBuffer.wrap(new byte[] { 42 }), committed + ArticleLog.HEADER_BYTES + 10);
+		}
+		try(ArticleLog log = new ArticleLog(path)) {
+			assertThat(log.size()).isEqualTo(committed);
+			assertThat(replay(log)).containsExactly("put " + ID1);
+		}
+	}
+
+	@Test
+	public void testDropsATailWhoseLengthWouldOverflow() throws IOException {
+		int committed;
+		try(ArticleLog log = new ArticleLog(path)) {
+			log.append(writes(ID1, article1), true);
+			committed = log.size();
+		}
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			ByteBuffer header = ByteBuffer.allocate(ArticleLog.HEADER_BYTES).putInt(Integer.MAX_VALUE - 4).put((byte) 1);
+			channel.write(header.rewind(), committed);
+		}
+		try(ArticleLog log = new ArticleLog(path)) {
+			assertThat(log.size()).isEqualTo(committed);
+			assertThat(replay(log)).containsExactly("put " + ID1);
+		}
+	}
+
+	@Test
+	public void testGrowsBeyondTheInitialMapping() throws IOException {
+		Article large = new Article(ID1, "Steak", "x".repeat(600_000));
+		try(ArticleLog log = new ArticleLog(path)) {
+			log.append(writes(ID1, large), true);
+			int offset = log.append(writes(ID1, large), true).get(ID1);
+			assertThat(log.read(offset)).isEqualTo(large);
+		}
+		try(ArticleLog log = new ArticleLog(path)) {
+			assertThat(replay(log)).containsExactly("put " + ID1, "put " + ID1);
+		}
+	}
+
+	private static Map<String, Article> writes(Object... idsAndArticles) {
+		Map<String, Article> writes = new LinkedHashMap<>();
+		for(int i = 0; i < idsAndArticles.length; i += 2)
+			writes.put((String) idsAndArticles[i], (Article) idsAndArticles[i + 1]);
+		return writes;
+	}
+
+	private static List<String> replay(ArticleLog log) {
+		List<String> records = new ArrayList<>();
+		log.replay(new ArticleLog.Replay() {
+			@Override
+			public void put(Article article, int offset) {
+				records.add("put " + article.getId());
+			}
+
+			@Override
+			public void delete(String id) {
+				records.add("delete " + id);
+			}
+		});
+		return records;
+	}
+}
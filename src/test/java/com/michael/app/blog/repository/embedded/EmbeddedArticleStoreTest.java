@@ -0,0 +1,137 @@
+package com.michael.app.blog.repository.embedded;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+
+public class EmbeddedArticleStoreTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path path;
+	private EmbeddedArticleStore store;
+	private BlogEmbeddedRepository repository;
+
+	@Before
+	public void setUp() throws IOException {
+		path = folder.getRoot().toPath().resolve("articles.log");
+		store = new EmbeddedArticleStore(path);
+		repository = new BlogEmbeddedRepository(store, null);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		store.close();
+	}
+
+	@Test
+	public void testRecoversArticlesAndTagsOnReopen() throws IOException {
+		Tag tag = new Tag("food");
+		Article steak = repository.save(new Article(null, "Steak", "My favourite").withTag(tag));
+		Article carbonara = repository.save(new Article(null, "Carbonara", "No cream").withTag(tag));
+		repository.update(steak.withoutTag(tag));
+		repository.delete(carbonara.getId());
+		store.close();
+		store = new EmbeddedArticleStore(path);
+		repository = new BlogEmbeddedRepository(store, null);
+		assertThat(repository.findAll()).containsExactly(steak.withoutTag(tag));
+		assertThat(store.idsWithTag(tag, null)).isEmpty();
+	}
+
+	@Test
+	public void testBatchIsDiscardedWhenTheOperationThrows() {
+		assertThatThrownBy(() -> store.writeBatch(writes -> {
+			new BlogEmbeddedRepository(store, writes).save(new Article(null, "Steak", "My favourite"));
+			throw new IllegalStateException("boom");
+		}, true)).isInstanceOf(IllegalStateException.class);
+		assertThat(repository.findAll()).isEmpty();
+		assertThat(store.getLogBytes()).isZero();
+	}
+
+	@Test
+	public void testCompactionKeepsOnlyLiveRecords() throws IOException {
+		Article article = repository.save(new Article(null, "Steak", "My favourite"));
+		for(int i = 0; i < 10; i++)
+			repository.update(new Article(article.getId(), "Steak " + i, "My favourite"));
+		long before = store.getLogBytes();
+		store.compact();
+		assertThat(store.getCompactions()).isEqualTo(1);
+		assertThat(store.getLogBytes()).isLessThan(before);
+		assertThat(store.getLiveBytes()).isLessThan(store.getLogBytes());
+		assertThat(repository.findById(article.getId()).getTitle()).isEqualTo("Steak 9");
+		store.close();
+		store = new EmbeddedArticleStore(path);
+		assertThat(store.read(article.getId()).getTitle()).isEqualTo("Steak 9");
+	}
+
+	@Test
+	public void testWritesAfterCompactionSurviveReopening() throws IOException {
+		Article article = repository.save(new Article(null, "Steak", "My favourite"));
+		store.compact();
+		Article carbonara = repository.save(new Article(null, "Carbonara", "No cream"));
+		store.close();
+		store = new EmbeddedArticleStore(path);
+		assertThat(store.read(article.getId())).isEqualTo(article);
+		assertThat(store.read(carbonara.getId())).isEqualTo(carbonara);
+	}
+
+	@Test
+	public void testFailedCompactionKeepsTheCurrentLog() throws IOException {
+		Article article = repository.save(new Article(null, "Steak", "My favourite"));
+		// a non-empty directory where the compacted copy goes makes the compaction fail
+		Files.createDirectories(path.resolveSibling(path.getFileName() + ".compact").resolve("blocker"));
+		store.compact();
+		assertThat(store.getCompactions()).isZero();
+		Article carbonara = repository.save(new Article(null, "Carbonara", "No cream"));
+		store.close();
+		store = new EmbeddedArticleStore(path);
+		assertThat(store.read(article.getId())).isEqualTo(article);
+		assertThat(store.read(carbonara.getId())).isEqualTo(carbonara);
+	}
+
+	@Test
+	public void testListenersSeeBatchesInCommitOrder() throws Exception {
+		List<String> published = Collections.synchronizedList(new ArrayList<>());
+		Article article = repository.save(new Article(null, "Steak", "0"));
+		store.addListener(changes -> published.add(changes.get(article.getId()).getContent()));
+		List<Thread> writers = new ArrayList<>();
+		AtomicInteger version = new AtomicInteger();
+		for(int i = 0; i < 4; i++) {
+			Thread writer = new Thread(() -> {
+				for(int j = 0; j < 200; j++)
+					store.writeBatch(writes -> writes.put(article.getId(),
+						new Article(article.getId(), "Steak", String.valueOf(version.incrementAndGet()))), false);
+			});
+			writers.add(writer);
+			writer.start();
+		}
+		for(Thread writer : writers)
+			writer.join();
+		assertThat(published).hasSize(800);
+		assertThat(published.stream().map(Integer::valueOf).toList()).isSorted();
+	}
+
+	@Test
+	public void testSmallLogIsNotCompacted() {
+		Article article = repository.save(new Article(null, "Steak", "My favourite"));
+		repository.delete(article.getId());
+		store.compactIfWasteful();
+		assertThat(store.getCompactions()).isZero();
+	}
+}
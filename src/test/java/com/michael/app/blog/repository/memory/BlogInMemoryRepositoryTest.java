@@ -0,0 +1,95 @@
+package com.michael.app.blog.repository.memory;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.memory.InMemoryArticleStore.Transaction;
+
+public class BlogInMemoryRepositoryTest {
+
+	private InMemoryArticleStore store;
+	private BlogInMemoryRepository repository;
+
+	@Before
+	public void setUp() {
+		store = new InMemoryArticleStore();
+		repository = new BlogInMemoryRepository(store, null);
+	}
+
+	@Test
+	public void testSaveAssignsIdAndCommits() {
+		Article saved = repository.save(new Article(null, "Steak", "My favourite"));
+		assertThat(saved.getId()).isNotNull();
+		assertThat(repository.findById(saved.getId())).isEqualTo(saved);
+		assertThat(store.getCommittedTimestamp()).isEqualTo(1);
+	}
+
+	@Test
+	public void testUpdateAndDeleteCountMatches() {
+		Article saved = repository.save(new Article(null, "Steak", "My favourite"));
+		assertThat(repository.update(new Article(saved.getId(), "Grilled steak", "My favourite"))).isEqualTo(1);
+		assertThat(repository.update(new Article("000000000000000000000000", "Carbonara", "No cream"))).isZero();
+		assertThat(repository.delete(saved.getId())).isEqualTo(1);
+		assertThat(repository.delete(saved.getId())).isZero();
+		assertThat(repository.findAll()).isEmpty();
+	}
+
+	@Test
+	public void testPagesFollowIdOrder() {
+		repository.saveAll(Arrays.asList(new Article(null, "Steak", "a"), new Article(null, "Carbonara", "b"),
+			new Article(null, "Tiramisu", "c")));
+		String firstId = repository.findPage(null, 1).get(0).getId();
+		assertThat(repository.findPage(firstId, 10)).extracting("title").containsExactly("Carbonara", "Tiramisu");
+	}
+
+	@Test
+	public void testFindPageWithTagSkipsArticlesThatLostTheTag() {
+		Tag tag = new Tag("food");
+		Article tagged = repository.save(new Article(null, "Steak", "My favourite").withTag(tag));
+		repository.save(new Article(null, "Carbonara", "No cream").withTag(tag));
+		repository.update(tagged.withoutTag(tag));
+		assertThat(repository.findPageWithTag(tag, null, 10)).extracting("title").containsExactly("Carbonara");
+		assertThat(repository.findAllWithTag(tag)).extracting("title").containsExactly("Carbonara");
+	}
+
+	@Test
+	public void testSearchRanksTitleMatchesFirst() {
+		repository.save(new Article(null, "Carbonara", "Better than steak"));
+		repository.save(new Article(null, "Steak", "My favourite"));
+		repository.save(new Article(null, "Tiramisu", "Dessert"));
+		assertThat(repository.search("steak", 10)).extracting("title").containsExactly("Steak", "Carbonara");
+		assertThatThrownBy(() -> repository.search(" ", 10))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Search query cannot be empty!");
+	}
+
+	@Test
+	public void testTransactionReadsItsOwnWritesOnly() {
+		Transaction transaction = store.begin();
+		BlogInMemoryRepository transactional = new BlogInMemoryRepository(store, transaction);
+		Article saved = transactional.save(new Article(null, "Steak", "My favourite"));
+		assertThat(transactional.findAll()).containsExactly(saved);
+		assertThat(repository.findAll()).isEmpty();
+		store.commit(transaction);
+		assertThat(repository.findAll()).containsExactly(saved);
+	}
+
+	@Test
+	public void testShouldThrowOnInvalidArguments() {
+		assertThatThrownBy(() -> repository.save(null))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Cannot save null article!");
+		assertThatThrownBy(() -> repository.update(new Article(null, "Steak", "My favourite")))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Article has null id!");
+		assertThatThrownBy(() -> repository.findPage(null, 0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Page limit must be positive!");
+	}
+}
@@ -0,0 +1,115 @@
+package com.michael.app.blog.repository.memory;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.memory.InMemoryArticleStore.Transaction;
+
+public class InMemoryArticleStoreTest {
+
+	private static final String ID = "000000000000000000000000";
+
+	private InMemoryArticleStore store;
+
+	@Before
+	public void setUp() {
+		store = new InMemoryArticleStore();
+	}
+
+	@Test
+	public void testSnapshotDoesNotSeeLaterCommits() {
+		commit(new Article(ID, "Steak", "My favourite"));
+		Transaction reader = store.begin();
+		commit(new Article(ID, "Grilled steak", "My favourite"));
+		assertThat(store.read(ID, reader.getSnapshot()).getTitle()).isEqualTo("Steak");
+		assertThat(store.read(ID, InMemoryArticleStore.LATEST).getTitle()).isEqualTo("Grilled steak");
+		store.end(reader);
+	}
+
+	@Test
+	public void testFirstCommitterWins() {
+		commit(new Article(ID, "Steak", "My favourite"));
+		Transaction first = store.begin();
+		Transaction second = store.begin();
+		first.getWrites().put(ID, new Article(ID, "First", "My favourite"));
+		second.getWrites().put(ID, new Article(ID, "Second", "My favourite"));
+		store.commit(first);
+		assertThatThrownBy(() -> store.commit(second))
+			.isInstanceOf(WriteConflictException.class)
+			.hasMessage("Write conflict on article " + ID);
+		assertThat(store.read(ID, InMemoryArticleStore.LATEST).getTitle()).isEqualTo("First");
+		assertThat(store.getActiveTransactions()).isZero();
+	}
+
+	@Test
+	public void testDeletedArticleIsDroppedOnceNoSnapshotSeesIt() {
+		Tag tag = new Tag("food");
+		commit(new Article(ID, "Steak", "My favourite").withTag(tag));
+		Transaction reader = store.begin();
+		Transaction deletion = store.begin();
+		deletion.getWrites().put(ID, null);
+		store.commit(deletion);
+		assertThat(store.ids(null)).containsExactly(ID);
+		assertThat(store.read(ID, reader.getSnapshot())).isNotNull();
+		store.end(reader);
+		commit(new Article("000000000000000000000001", "Carbonara", "No cream"));
+		assertThat(store.read(ID, InMemoryArticleStore.LATEST)).isNull();
+	}
+
+	@Test
+	public void testTagIndexForgetsTagsNoVersionCarries() {
+		Tag tag = new Tag("food");
+		commit(new Article(ID, "Steak", "My favourite").withTag(tag));
+		assertThat(store.idsWithTag(tag, null)).containsExactly(ID);
+		commit(new Article(ID, "Steak", "My favourite"));
+		assertThat(store.idsWithTag(tag, null)).isEmpty();
+	}
+
+	@Test
+	public void testListenersReceiveEachCommit() {
+		List<Map<String, Article>> commits = new ArrayList<>();
+		store.addListener(commits::add);
+		Article article = new Article(ID, "Steak", "My favourite");
+		commit(article);
+		store.autoCommit(transaction -> transaction.getWrites().put(ID, null));
+		assertThat(commits).hasSize(2);
+		assertThat(commits.get(0)).containsEntry(ID, article);
+		assertThat(commits.get(1)).containsEntry(ID, null);
+		assertThat(store.getCommittedTimestamp()).isEqualTo(2);
+	}
+
+	@Test
+	public void testListenersSeeConcurrentCommitsInCommitOrder() throws Exception {
+		List<Long> published = Collections.synchronizedList(new ArrayList<>());
+		store.addListener(changes -> published.add(store.getCommittedTimestamp()));
+		List<Thread> writers = new ArrayList<>();
+		for(int i = 0; i < 4; i++) {
+			Thread writer = new Thread(() -> {
+				for(int j = 0; j < 500; j++) {
+					Article version = new Article(ID, "Steak", "v" + j);
+					store.autoCommit(transaction -> transaction.getWrites().put(ID, version));
+				}
+			});
+			writers.add(writer);
+			writer.start();
+		}
+		for(Thread writer : writers)
+			writer.join();
+		assertThat(published).hasSize(2000).isSorted().doesNotHaveDuplicates();
+	}
+
+	private void commit(Article article) {
+		Transaction transaction = store.begin();
+		transaction.getWrites().put(article.getId(), article);
+		store.commit(transaction);
+	}
+}
@@ -0,0 +1,113 @@
+package com.michael.app.blog.repository.mongo;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import org.bson.Document;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.michael.app.blog.repository.IndexStatus;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.StateID;
+import de.flapdoodle.reverse.TransitionWalker;
+
+public class BlogMongoIndexManagerTest {
+
+	private static TransitionWalker.ReachedState<RunningMongodProcess> server;
+	private static String connectionString;
+
+	private MongoClient client;
+	private MongoCollection<Document> articleCollection;
+	private BlogMongoIndexManager indexManager;
+	private String blogDb = "blog";
+	private String articleCollectionName = "blog";
+
+	@BeforeClass
+	public static void setUpServer() {
+		server = Mongod.instance().transitions(Version.Main.V8_1)
+			.walker()
+			.initState(StateID.of(RunningMongodProcess.class));
+		ServerAddress addr = server.current().getServerAddress();
+		connectionString = "mongodb://" + addr.getHost() + ":" + addr.getPort();
+	}
+
+	@AfterClass
+	public static void shutDownServer() {
+		server.close();
+	}
+
+	@Before
+	public void setUp() {
+		client = MongoClients.create(connectionString);
+		client.getDatabase(blogDb).drop();
+		articleCollection = client.getDatabase(blogDb).getCollection(articleCollectionName);
+		indexManager = new BlogMongoIndexManager(client, blogDb, articleCollectionName);
+	}
+
+	@After
+	public void tearDown() {
+		client.close();
+	}
+
+	@Test
+	public void testIndexesArePendingBeforeBeingEnsured() {
+		assertThat(indexManager.getIndexStatus()).containsEntry("tags_id", IndexStatus.PENDING);
+	}
+
+	@Test
+	public void testEnsureIndexesCreatesDeclaredIndexes() {
+		indexManager.ensureIndexes();
+		assertThat(indexManager.getIndexStatus()).containsEntry("tags_id", IndexStatus.READY);
+		assertThat(readIndexNames()).contains("tags_id");
+		Document tagsIndex = StreamSupport.stream(articleCollection.listIndexes().spliterator(), false)
+			.filter(index -> "tags_id".equals(index.getString("name")))
+			.findFirst().orElseThrow();
+		assertThat(tagsIndex.get("key", Document.class)).isEqualTo(new Document("tags", 1).append("_id", 1));
+	}
+
+	@Test
+	public void testEnsureIndexesCreatesWeightedTextIndex() {
+		indexManager.ensureIndexes();
+		assertThat(indexManager.getIndexStatus()).containsEntry("title_content_text", IndexStatus.READY);
+		Document textIndex = StreamSupport.stream(articleCollection.listIndexes().spliterator(), false)
+			.filter(index -> "title_content_text".equals(index.getString("name")))
+			.findFirst().orElseThrow();
+		assertThat(textIndex.get("weights", Document.class)).isEqualTo(new Document("content", 1).append("title", 10));
+	}
+
+	@Test
+	public void testEnsureIndexesIsIdempotent() {
+		indexManager.ensureIndexes();
+		indexManager.ensureIndexes();
+		assertThat(indexManager.getIndexStatus()).containsEntry("tags_id", IndexStatus.READY);
+		assertThat(readIndexNames()).containsOnlyOnce("tags_id");
+	}
+
+	@Test
+	public void testEnsureIndexesReportsFailureWhenServerIsUnreachable() {
+		try (MongoClient unreachable = MongoClients.create("mongodb://localhost:1/?serverSelectionTimeoutMS=100")) {
+			BlogMongoIndexManager failingManager = new BlogMongoIndexManager(unreachable, blogDb, articleCollectionName);
+			failingManager.ensureIndexes();
+			assertThat(failingManager.getIndexStatus()).containsEntry("tags_id", IndexStatus.FAILED);
+		}
+	}
+
+	private List<String> readIndexNames() {
+		return StreamSupport.stream(articleCollection.listIndexes().spliterator(), false)
+			.map(index -> index.getString("name"))
+			.toList();
+	}
+}
@@ -8,10 +8,13 @@ import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.bson.Document;
@@ -20,11 +23,15 @@ import org.bson.types.ObjectId;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.ClientSession;
 import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
 import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.repository.BulkSaveResult;
 
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
 import de.flapdoodle.embed.mongo.commands.ServerAddress;
 import de.flapdoodle.embed.mongo.distribution.Version;
 import de.flapdoodle.embed.mongo.transitions.Mongod;
@@ -124,13 +131,124 @@ public class BlogMongoRepositoryTest {
 		Article article1 = new Article(id1, "Parmesan eggplants", "I like them");
 		Tag tag = new Tag("cooking");
 		Article article2 = new Article(id2, "Parmesan eggplants", "I like them");
-		article1.addTag(tag);
+		article1 = article1.withTag(tag);
 		addArticle(article1);
 		addArticle(article2);
 		assertThat(blogRepository.findAllWithTag(tag)).contains(article1);
 		assertThat(blogRepository.findAllWithTag(tag)).doesNotContain(article2);
 	}
 	
+	@Test
+	public void testFindPageReturnsArticlesInIdOrderUpToLimit() {
+		Article article1 = new Article(id1, "Parmesan eggplants", "I like them");
+		Article article2 = new Article(id2, "Fettuccine Alfredo", "America thinks it's something special");
+		Article article3 = new Article("000000000000000000000002", "Steak", "My favourite");
+		addArticle(article3);
+		addArticle(article1);
+		addArticle(article2);
+		assertThat(blogRepository.findPage(null, 2))
+			.extracting(ArticleSummary::getId)
+			.containsExactly(id1, id2);
+	}
+	
+	@Test
+	public void testFindPageReturnsArticlesAfterGivenId() {
+		Article article1 = new Article(id1, "Parmesan eggplants", "I like them");
+		Article article2 = new Article(id2, "Fettuccine Alfredo", "America thinks it's something special");
+		addArticle(article1);
+		addArticle(article2);
+		assertThat(blogRepository.findPage(id1, 2))
+			.extracting(ArticleSummary::getId)
+			.containsExactly(id2);
+		assertThat(blogRepository.findPage(id2, 2)).isEmpty();
+	}
+	
+	@Test
+	public void testFindPageWithTagReturnsOnlyTaggedArticlesAfterGivenId() {
+		Tag tag = new Tag("cooking");
+		Article article1 = new Article(id1, "Parmesan eggplants", "I like them");
+		Article article2 = new Article(id2, "Fettuccine Alfredo", "America thinks it's something special");
+		Article article3 = new Article("000000000000000000000002", "Steak", "My favourite");
+		article1 = article1.withTag(tag);
+		article3 = article3.withTag(tag);
+		addArticle(article1);
+		addArticle(article2);
+		addArticle(article3);
+		assertThat(blogRepository.findPageWithTag(tag, null, 1))
+			.extracting(ArticleSummary::getId)
+			.containsExactly(id1);
+		assertThat(blogRepository.findPageWithTag(tag, id1, 5))
+			.extracting(ArticleSummary::getId)
+			.containsExactly(article3.getId());
+	}
+	
+	@Test
+	public void testFindPageProjectsOnlySummaryFields() {
+		Article article = new Article(id1, "Parmesan eggplants", "I like them");
+		article = article.withTag(new Tag("cooking"));
+		addArticle(article);
+		ArticleSummary summary = blogRepository.findPage(null, 1).get(0);
+		assertThat(summary).isNotInstanceOf(Article.class);
+		assertThat(summary).isEqualTo(new ArticleSummary(id1, "Parmesan eggplants", article.getTags()));
+	}
+	
+	@Test
+	public void testSearchRanksTitleMatchesFirstAndLimitsResults() {
+		articleCollection.createIndexes(BlogMongoIndexManager.ARTICLE_INDEXES);
+		addArticle(new Article(id1, "Fettuccine Alfredo", "Better with parmesan"));
+		addArticle(new Article(id2, "Parmesan eggplants", "I like them"));
+		addArticle(new Article("000000000000000000000002", "Steak", "My favourite"));
+		List<ArticleSummary> results = blogRepository.search("parmesan", 10);
+		assertThat(results).extracting(ArticleSummary::getId).containsExactly(id2, id1);
+		assertThat(results.get(0)).isNotInstanceOf(Article.class);
+		assertThat(blogRepository.search("parmesan", 1)).extracting(ArticleSummary::getId).containsExactly(id2);
+	}
+	
+	@Test
+	public void testSearchRejectsEmptyQueryAndNonPositiveLimit() {
+		assertThatThrownBy(() -> blogRepository.search(" ", 10))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Search query cannot be empty!");
+		assertThatThrownBy(() -> blogRepository.search("parmesan", 0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Search limit must be positive!");
+	}
+	
+	@Test
+	public void testShouldThrowExceptionWhenPageLimitIsNotPositive() {
+		assertThatThrownBy(() -> blogRepository.findPage(null, 0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Page limit must be positive!");
+	}
+	
+	@Test
+	public void testStreamAllReturnsEveryArticleAcrossBatches() {
+		Article article1 = new Article(id1, "Parmesan eggplants", "I like them");
+		Article article2 = new Article(id2, "Fettuccine Alfredo", "America thinks it's something special");
+		Article article3 = new Article("000000000000000000000002", "Steak", "My favourite");
+		addArticle(article1);
+		addArticle(article2);
+		addArticle(article3);
+		try (Stream<Article> articles = blogRepository.streamAll(1)) {
+			assertThat(articles).containsExactlyInAnyOrder(article1, article2, article3);
+		}
+	}
+	
+	@Test
+	public void testStreamAllCanBeClosedBeforeBeingConsumed() {
+		addArticle(new Article(id1, "Parmesan eggplants", "I like them"));
+		Stream<Article> articles = blogRepository.streamAll(1);
+		articles.close();
+		assertThat(blogRepository.findAll()).hasSize(1);
+	}
+	
+	@Test
+	public void testShouldThrowExceptionWhenStreamBatchSizeIsNotPositive() {
+		assertThatThrownBy(() -> blogRepository.streamAll(0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Batch size must be positive!");
+	}
+	
 	@Test
 	public void testSaveForNewArticle() {
 		Article article = new Article(null, "Parmesan eggplants", "I like them");
@@ -154,7 +272,7 @@ public class BlogMongoRepositoryTest {
 		tags.add(tag);
 		addArticle(article);
 		Article updatedArticle = new Article(id1, "Parmesan eggplants with extra cheese", "I like them a lot", tags);
-		blogRepository.update(updatedArticle);
+		assertThat(blogRepository.update(updatedArticle)).isEqualTo(1);
 		Article foundArticle = readAllArticlesFromDatabase().get(0);
 		assertThat(foundArticle.getId()).isEqualTo(updatedArticle.getId());
 		assertThat(foundArticle.getTitle()).isEqualTo(updatedArticle.getTitle());
@@ -162,6 +280,13 @@ public class BlogMongoRepositoryTest {
 		assertThat(foundArticle.getTags()).isEqualTo(updatedArticle.getTags());
 	}
 	
+	@Test
+	public void testUpdateForNonExistingArticleMatchesNothing() {
+		Article article = new Article(id1, "Parmesan eggplants", "I like them");
+		assertThat(blogRepository.update(article)).isZero();
+		assertThat(readAllArticlesFromDatabase()).isEmpty();
+	}
+	
 	@Test
 	public void testShouldThrowExceptionWhenUpdatingNullArticle() {
 		assertThatThrownBy(() -> blogRepository.update(null)).isInstanceOf(IllegalArgumentException.class).hasMessage("Cannot update null article!");
@@ -179,7 +304,7 @@ public class BlogMongoRepositoryTest {
 		Article articleToDelete = new Article(id2, "Fettuccine Alfredo", "America thinks it's something special");
 		addArticle(article);
 		addArticle(articleToDelete);
-		blogRepository.delete(articleToDelete.getId());
+		assertThat(blogRepository.delete(articleToDelete.getId())).isEqualTo(1);
 		assertThat(readAllArticlesFromDatabase()).contains(article);
 		assertThat(readAllArticlesFromDatabase()).doesNotContain(articleToDelete);
 	}
@@ -188,7 +313,7 @@ public class BlogMongoRepositoryTest {
 	public void testDeleteForNonExistingArticle() {
 		Article article = new Article(id1, "Parmesan eggplants", "I like them");
 		addArticle(article);
-		blogRepository.delete(id2);
+		assertThat(blogRepository.delete(id2)).isZero();
 		assertThat(readAllArticlesFromDatabase()).contains(article);
 	}
 	
@@ -197,6 +322,42 @@ public class BlogMongoRepositoryTest {
 		assertThatThrownBy(() -> blogRepository.delete(null)).isInstanceOf(IllegalArgumentException.class).hasMessage("Cannot delete: given id is null!");
 	}
 
+	@Test
+	public void testSaveAllInsertsEveryArticleWithGeneratedIds() {
+		Article article1 = new Article(null, "Parmesan eggplants", "I like them");
+		Article article2 = new Article(null, "Fettuccine Alfredo", "America thinks it's something special");
+		BulkSaveResult result = blogRepository.saveAll(Arrays.asList(article1, article2));
+		assertThat(result.hasErrors()).isFalse();
+		assertThat(result.getSavedArticles()).extracting(Article::getId).doesNotContainNull();
+		assertThat(readAllArticlesFromDatabase()).containsExactlyInAnyOrderElementsOf(result.getSavedArticles());
+	}
+	
+	@Test
+	public void testSaveAllKeepsGoingAfterAFailedArticle() {
+		articleCollection.createIndex(Indexes.ascending("title"), new IndexOptions().unique(true));
+		Article article1 = new Article(null, "Parmesan eggplants", "I like them");
+		Article duplicate = new Article(null, "Parmesan eggplants", "I don't like them");
+		Article article3 = new Article(null, "Steak", "My favourite");
+		BulkSaveResult result = blogRepository.saveAll(Arrays.asList(article1, duplicate, article3));
+		assertThat(result.getErrors()).containsOnlyKeys(1);
+		assertThat(result.getSavedArticles()).extracting(Article::getTitle)
+			.containsExactly("Parmesan eggplants", "Steak");
+		assertThat(readAllArticlesFromDatabase()).hasSize(2);
+	}
+	
+	@Test
+	public void testSaveAllOfNoArticlesWritesNothing() {
+		assertThat(blogRepository.saveAll(Collections.emptyList()).getSavedCount()).isZero();
+		assertThat(readAllArticlesFromDatabase()).isEmpty();
+	}
+	
+	@Test
+	public void testShouldThrowWhenSavingAllNullArticles() {
+		assertThatThrownBy(() -> blogRepository.saveAll(null))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Cannot save null articles!");
+	}
+
 	private void addArticle(Article article) {
 		List<String> tagLabels = article.getTags().stream()
 			.map(Tag::getLabel)
@@ -0,0 +1,83 @@
+package com.michael.app.blog.repository.mongo;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.michael.app.blog.metrics.MetricsRegistry;
+import com.michael.app.blog.metrics.OperationStats;
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+public class CommandStatisticsTest {
+
+	private static final BsonDocument FIND = BsonDocument.parse(
+		"{find: 'articles', filter: {tags: {$all: ['java', 'mongo']}, _id: {$gt: 'abc'}}, sort: {_id: 1}, limit: 20, $db: 'blog'}");
+	private static final BsonDocument FIND_REPLY = BsonDocument.parse(
+		"{cursor: {id: 0, ns: 'blog.articles', firstBatch: [{_id: 'a'}, {_id: 'b'}]}, ok: 1}");
+
+	private CommandStatistics statistics;
+	private ConnectionDescription connection;
+
+	@Before
+	public void setUp() {
+		statistics = new CommandStatistics(new MetricsRegistry(null), 50);
+		connection = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+	}
+
+	@Test
+	public void testLatencyAndBatchSizeAreRecordedPerCommand() {
+		statistics.commandStarted(new CommandStartedEvent(null, 1, 1, connection, "blog", "find", FIND));
+		statistics.commandSucceeded(new CommandSucceededEvent(null, 1, 1, connection, "blog", "find", FIND_REPLY,
+			TimeUnit.MILLISECONDS.toNanos(3)));
+		OperationStats find = statistics.stats("find");
+		assertThat(find.getCount()).isEqualTo(1);
+		assertThat(find.getMaxResultSize()).isEqualTo(2);
+		assertThat(find.getMaxMillis()).isBetween(2.9, 3.1);
+		assertThat(statistics.stats("insert").getCount()).isZero();
+		assertThat(statistics.getSlowCommands()).isZero();
+	}
+
+	@Test
+	public void testOnlyCommandsOverTheThresholdAreSlow() {
+		statistics.commandStarted(new CommandStartedEvent(null, 1, 1, connection, "blog", "find", FIND));
+		statistics.commandStarted(new CommandStartedEvent(null, 2, 2, connection, "blog", "find", FIND));
+		statistics.commandSucceeded(new CommandSucceededEvent(null, 1, 1, connection, "blog", "find", FIND_REPLY,
+			TimeUnit.MILLISECONDS.toNanos(80)));
+		statistics.commandFailed(new CommandFailedEvent(null, 2, 2, connection, "blog", "find",
+			TimeUnit.MILLISECONDS.toNanos(60), new MongoException("interrupted")));
+		assertThat(statistics.getSlowCommands()).isEqualTo(2);
+		assertThat(statistics.stats("find").getErrors()).isEqualTo(1);
+	}
+
+	@Test
+	public void testZeroThresholdDisablesTheLog() {
+		statistics = new CommandStatistics(new MetricsRegistry(null), 0);
+		statistics.commandStarted(new CommandStartedEvent(null, 1, 1, connection, "blog", "find", FIND));
+		statistics.commandSucceeded(new CommandSucceededEvent(null, 1, 1, connection, "blog", "find", FIND_REPLY,
+			TimeUnit.SECONDS.toNanos(5)));
+		assertThat(statistics.getSlowCommands()).isZero();
+		assertThat(statistics.stats("find").getCount()).isEqualTo(1);
+		assertThatThrownBy(() -> new CommandStatistics(new MetricsRegistry(null), -1))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Slow command threshold cannot be negative!");
+	}
+
+	@Test
+	public void testDescriptionHidesTheQueryValues() {
+		assertThat(CommandStatistics.describe("find", "blog", FIND))
+			.isEqualTo("find blog.articles {filter: {tags: {$all: [?, ...]}, _id: {$gt: ?}}, sort: {_id: ?}}");
+		assertThat(CommandStatistics.describe("commitTransaction", "admin", BsonDocument.parse("{commitTransaction: 1}")))
+			.isEqualTo("commitTransaction admin");
+	}
+}
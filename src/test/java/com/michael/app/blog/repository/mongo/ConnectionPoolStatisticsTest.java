@@ -0,0 +1,77 @@
+package com.michael.app.blog.repository.mongo;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+
+public class ConnectionPoolStatisticsTest {
+
+	private ConnectionPoolStatistics statistics;
+	private ServerId serverId;
+	private ConnectionId connectionId;
+
+	@Before
+	public void setUp() {
+		statistics = new ConnectionPoolStatistics();
+		serverId = new ServerId(new ClusterId(), new ServerAddress());
+		connectionId = new ConnectionId(serverId);
+	}
+
+	@Test
+	public void testCheckOutsAreTrackedUntilCheckedIn() {
+		statistics.connectionCreated(new ConnectionCreatedEvent(connectionId));
+		statistics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 1));
+		statistics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 2));
+		assertThat(statistics.getWaiting()).isEqualTo(2);
+		statistics.connectionCheckedOut(new ConnectionCheckedOutEvent(connectionId, 1, 0));
+		statistics.connectionCheckedOut(new ConnectionCheckedOutEvent(connectionId, 2, 0));
+		assertThat(statistics.getInUse()).isEqualTo(2);
+		assertThat(statistics.getWaiting()).isZero();
+		statistics.connectionCheckedIn(new ConnectionCheckedInEvent(connectionId, 1));
+		assertThat(statistics.getInUse()).isEqualTo(1);
+		assertThat(statistics.getPeakInUse()).isEqualTo(2);
+		assertThat(statistics.getCheckOuts()).isEqualTo(2);
+		assertThat(statistics.getOpenConnections()).isEqualTo(1);
+	}
+
+	@Test
+	public void testCheckOutWaitsAreTimed() {
+		statistics.connectionCheckedOut(new ConnectionCheckedOutEvent(connectionId, 1, TimeUnit.MILLISECONDS.toNanos(4)));
+		statistics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(serverId, 2,
+			ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.MILLISECONDS.toNanos(500)));
+		assertThat(statistics.getCheckOutWaits().getCount()).isEqualTo(2);
+		assertThat(statistics.getCheckOutWaits().getErrors()).isEqualTo(1);
+		assertThat(statistics.getCheckOutWaits().getMaxMillis()).isBetween(499.0, 501.0);
+	}
+
+	@Test
+	public void testFailedCheckOutIsNoLongerWaiting() {
+		statistics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 1));
+		statistics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(serverId, 1,
+			ConnectionCheckOutFailedEvent.Reason.TIMEOUT, 0));
+		assertThat(statistics.getWaiting()).isZero();
+		assertThat(statistics.getCheckOutFailures()).isEqualTo(1);
+	}
+
+	@Test
+	public void testClosedConnectionsAreNotOpen() {
+		statistics.connectionCreated(new ConnectionCreatedEvent(connectionId));
+		statistics.connectionClosed(new ConnectionClosedEvent(connectionId, ConnectionClosedEvent.Reason.IDLE));
+		assertThat(statistics.getOpenConnections()).isZero();
+		assertThat(statistics.getConnectionsCreated()).isEqualTo(1);
+	}
+}
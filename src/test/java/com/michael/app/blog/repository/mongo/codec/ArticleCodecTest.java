@@ -0,0 +1,89 @@
+package com.michael.app.blog.repository.mongo.codec;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
+import com.michael.app.blog.model.Tag;
+
+public class ArticleCodecTest {
+
+	private String id;
+	private Article article;
+
+	@Before
+	public void setUp() {
+		id = "000000000000000000000000";
+		article = new Article(id, "Parmesan eggplants", "I like them");
+		article = article.withTag(new Tag("cooking"));
+	}
+
+	@Test
+	public void testArticleIsEncodedInTheStoredLayout() {
+		BsonDocument document = encode(new ArticleCodec(), article);
+		assertThat(document).isEqualTo(new BsonDocument("_id", new BsonObjectId(new ObjectId(id)))
+			.append("title", new BsonString("Parmesan eggplants"))
+			.append("content", new BsonString("I like them"))
+			.append("tags", new BsonArray(Arrays.asList(new BsonString("cooking")))));
+	}
+
+	@Test
+	public void testArticleWithoutIdIsEncodedWithoutId() {
+		BsonDocument document = encode(new ArticleCodec(), new Article(null, "Parmesan eggplants", "I like them"));
+		assertThat(document.containsKey("_id")).isFalse();
+	}
+
+	@Test
+	public void testArticleRoundTrip() {
+		ArticleCodec codec = new ArticleCodec();
+		assertThat(decode(codec, encode(codec, article))).isEqualTo(article);
+	}
+
+	@Test
+	public void testUnknownFieldsAreSkipped() {
+		BsonDocument document = encode(new ArticleCodec(), article)
+			.append("views", new BsonInt32(3));
+		assertThat(decode(new ArticleCodec(), document)).isEqualTo(article);
+	}
+
+	@Test
+	public void testSummaryIsDecodedWithoutContent() {
+		ArticleSummary summary = decode(new ArticleSummaryCodec(), encode(new ArticleCodec(), article));
+		assertThat(summary).isEqualTo(new ArticleSummary(id, "Parmesan eggplants", article.getTags()));
+	}
+
+	@Test
+	public void testProviderOnlyServesTheArticleClasses() {
+		ArticleCodecProvider provider = new ArticleCodecProvider();
+		assertThat(provider.get(Article.class, ArticleCodecProvider.CODEC_REGISTRY)).isInstanceOf(ArticleCodec.class);
+		assertThat(provider.get(ArticleSummary.class, ArticleCodecProvider.CODEC_REGISTRY))
+			.isInstanceOf(ArticleSummaryCodec.class);
+		assertThat(provider.get(String.class, ArticleCodecProvider.CODEC_REGISTRY)).isNull();
+	}
+
+	private <T> BsonDocument encode(Codec<T> codec, T value) {
+		BsonDocument document = new BsonDocument();
+		codec.encode(new BsonDocumentWriter(document), value, EncoderContext.builder().build());
+		return document;
+	}
+
+	private <T> T decode(Codec<T> codec, BsonDocument document) {
+		return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+	}
+}
@@ -1,12 +1,17 @@
 package com.michael.app.blog.service.mongo;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import org.junit.After;
 import org.junit.Before;
@@ -18,12 +23,18 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
 import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.model.TagPool;
+import com.michael.app.blog.repository.ArticleChangeFeed;
+import com.michael.app.blog.repository.ArticleChangeListener;
 import com.michael.app.blog.repository.BlogRepository;
+import com.michael.app.blog.repository.BulkSaveResult;
 import com.michael.app.blog.service.ArticleNotFoundException;
 import com.michael.app.blog.service.BlogService;
 import com.michael.app.blog.transaction.TransactionCode;
 import com.michael.app.blog.transaction.TransactionManager;
+import com.michael.app.blog.transaction.TransactionProfile;
 
 public class BlogMongoServiceTest {
 
@@ -33,6 +44,9 @@ public class BlogMongoServiceTest {
 	@Mock
 	private BlogRepository repository;
 	
+	@Mock
+	private ArticleChangeFeed changeFeed;
+	
 	private BlogService service;
 	
 	private AutoCloseable closeable;
@@ -48,11 +62,15 @@ public class BlogMongoServiceTest {
 	@Before
 	public void setup() {
 		closeable = MockitoAnnotations.openMocks(this);
-		when(transactionManager.doInTransaction(any())).thenAnswer(answer -> {
+		when(transactionManager.doInTransaction(any(), any())).thenAnswer(answer -> {
+			TransactionCode<?> code = answer.getArgument(1);
+			return code.apply(repository);
+		});
+		when(transactionManager.doWithoutTransaction(any())).thenAnswer(answer -> {
 			TransactionCode<?> code = answer.getArgument(0);
 			return code.apply(repository);
 		});
-		service = new BlogMongoService(transactionManager);
+		service = new BlogMongoService(transactionManager, changeFeed);
 		id1 = "000000000000000000000000";
 		id2 = "000000000000000000000001";
 		tagLabels = new HashSet<String>();
@@ -72,7 +90,8 @@ public class BlogMongoServiceTest {
 		when(repository.findAll()).thenReturn(articles);
 		List<Article> foundArticles = service.getAllArticles();
 		assertThat(foundArticles).isEqualTo(articles);
-		verify(transactionManager).doInTransaction(any());
+		verify(transactionManager).doWithoutTransaction(any());
+		verify(transactionManager, never()).doInTransaction(any(), any());
 		verify(repository).findAll();
 	}
 	
@@ -82,10 +101,91 @@ public class BlogMongoServiceTest {
 		when(repository.findAllWithTag(tag)).thenReturn(Arrays.asList(article));
 		List<Article> foundArticles = service.getArticlesByTag("cooking");
 		assertThat(foundArticles).contains(article);
-		verify(transactionManager).doInTransaction(any());
+		verify(transactionManager).doWithoutTransaction(any());
+		verify(transactionManager, never()).doInTransaction(any(), any());
 		verify(repository).findAllWithTag(tag);
 	}
 	
+	@Test
+	public void testTagQueriesDoNotGrowTheTagPool() {
+		int pooled = TagPool.size();
+		service.getArticlesByTag("never-saved-filter-text");
+		service.getArticlesByTagPage("another-typo", null, 10);
+		assertThat(TagPool.size()).isEqualTo(pooled);
+	}
+	
+	@Test
+	public void testGetArticlesPage() {
+		List<ArticleSummary> page = Arrays.asList(article);
+		when(repository.findPage(id1, 10)).thenReturn(page);
+		assertThat(service.getArticlesPage(id1, 10)).isEqualTo(page);
+		verify(transactionManager).doWithoutTransaction(any());
+		verify(transactionManager, never()).doInTransaction(any(), any());
+		verify(repository).findPage(id1, 10);
+	}
+	
+	@Test
+	public void testGetArticlesByTagPage() {
+		Tag tag = new Tag("cooking");
+		List<ArticleSummary> page = Arrays.asList(article);
+		when(repository.findPageWithTag(tag, null, 10)).thenReturn(page);
+		assertThat(service.getArticlesByTagPage("cooking", null, 10)).isEqualTo(page);
+		verify(transactionManager).doWithoutTransaction(any());
+		verify(transactionManager, never()).doInTransaction(any(), any());
+		verify(repository).findPageWithTag(tag, null, 10);
+	}
+	
+	@Test
+	public void testSearchArticles() {
+		List<ArticleSummary> results = Arrays.asList(article);
+		when(repository.search("parmesan", 10)).thenReturn(results);
+		assertThat(service.searchArticles("parmesan", 10)).isEqualTo(results);
+		verify(transactionManager).doWithoutTransaction(any());
+		verify(transactionManager, never()).doInTransaction(any(), any());
+	}
+	
+	@Test
+	public void testGetArticleWhenArticleExists() {
+		when(repository.findById(id1)).thenReturn(article);
+		assertThat(service.getArticle(id1)).isEqualTo(article);
+		verify(transactionManager).doWithoutTransaction(any());
+		verify(transactionManager, never()).doInTransaction(any(), any());
+	}
+	
+	@Test
+	public void testShouldThrowExceptionWhenGettingNonExistingArticle() {
+		when(repository.findById(id1)).thenReturn(null);
+		assertThatThrownBy(() -> service.getArticle(id1))
+			.isInstanceOf(ArticleNotFoundException.class)
+			.hasMessage("Article not found with ID: " + id1);
+	}
+	
+	@Test
+	public void testForEachArticleVisitsStreamedArticlesAndClosesTheStream() {
+		Article article2 = new Article(id2, "Fettuccine Alfredo", "America thinks it's something special");
+		AtomicBoolean closed = new AtomicBoolean(false);
+		when(repository.streamAll(50)).thenReturn(Stream.of(article, article2).onClose(() -> closed.set(true)));
+		List<Article> visited = new ArrayList<>();
+		long processed = service.forEachArticle(50, visited::add);
+		assertThat(processed).isEqualTo(2);
+		assertThat(visited).containsExactly(article, article2);
+		assertThat(closed).isTrue();
+		verify(transactionManager).doWithoutTransaction(any());
+		verify(transactionManager, never()).doInTransaction(any(), any());
+	}
+	
+	@Test
+	public void testForEachArticleClosesTheStreamWhenActionFails() {
+		AtomicBoolean closed = new AtomicBoolean(false);
+		when(repository.streamAll(50)).thenReturn(Stream.of(article).onClose(() -> closed.set(true)));
+		assertThatThrownBy(() -> service.forEachArticle(50, a -> {
+				throw new IllegalStateException("export failed");
+			}))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("export failed");
+		assertThat(closed).isTrue();
+	}
+	
 	@Test
 	public void testSaveArticleWhenArticleDoesNotExist() {
 		ArgumentCaptor<Article> articleCaptor = ArgumentCaptor.forClass(Article.class);
@@ -95,7 +195,7 @@ public class BlogMongoServiceTest {
 		Article savedArticle = service.saveArticle("Parmesan eggplants", "I like them", tagLabels);
 		verify(repository, times(1)).save(articleCaptor.capture());
 		Article createdArticle = articleCaptor.getValue();
-		verify(transactionManager).doInTransaction(any());
+		verify(transactionManager).doInTransaction(eq(TransactionProfile.CONTENT), any());
 		assertThat(createdArticle.getTitle()).isEqualTo(savedArticle.getTitle());
 		assertThat(createdArticle.getContent()).isEqualTo(savedArticle.getContent());
 		assertThat(createdArticle.getTags()).isEqualTo(savedArticle.getTags());
@@ -118,55 +218,103 @@ public class BlogMongoServiceTest {
 	
 	@Test
 	public void testUpdateWhenArticleAlreadyExists() {
-		when(repository.findById(id1)).thenReturn(article);
+		when(repository.update(any())).thenReturn(1L);
 		ArgumentCaptor<Article> articleCaptor = ArgumentCaptor.forClass(Article.class);
 		tagLabels.add("cooking");
 		Article updatedArticle = service.updateArticle(id1, "Parmesan eggplants with extra cheese", "I like them a lot", tagLabels);
-		verify(repository).findById(id1);
+		verify(transactionManager).doInTransaction(eq(TransactionProfile.CONTENT), any());
 		verify(repository).update(articleCaptor.capture());
 		assertThat(articleCaptor.getValue()).isEqualTo(updatedArticle);
+		verifyNoMoreInteractions(repository);
 	}
 	
 	@Test
 	public void testShouldThrowExceptionWhenUpdatedArticleDoesNotExist() {
-		when(repository.findById(id1)).thenReturn(null);
+		when(repository.update(any())).thenReturn(0L);
 		assertThatThrownBy(() -> service.updateArticle(id1, "Parmesan eggplants", "I like them", tagLabels))
 			.isInstanceOf(ArticleNotFoundException.class).hasMessage("Article not found with ID: " + id1);
+		verify(repository, never()).findById(any());
 	}
 	
 	@Test
 	public void testShouldThrowExceptionWhenUpdatingArticleWithInvalidFormat() {
-		when(repository.findById(id1)).thenReturn(article);
 		assertThatThrownBy(() -> service.updateArticle(id1, "", "", tagLabels))
 			.isInstanceOf(IllegalArgumentException.class);
-		verify(repository).findById(id1);
-		verifyNoMoreInteractions(ignoreStubs(repository));
+		verifyNoInteractions(repository);
 	}
 	
 	@Test
 	public void testShouldThrowExceptionWhenUpdatingArticleWithInvalidTagLabels() {
 		tagLabels.add("");
-		when(repository.findById(id1)).thenReturn(article);
 		assertThatThrownBy(() -> service.updateArticle(id1, "Parmesan eggplants", "I like them", tagLabels))
 			.isInstanceOf(IllegalArgumentException.class);
-		verify(repository).findById(id1);
-		verifyNoMoreInteractions(ignoreStubs(repository));
+		verifyNoInteractions(repository);
 	}
 	
 	@Test
 	public void testDeleteWhenArticleExists() {
-		when(repository.findById(id1)).thenReturn(article);
+		when(repository.delete(id1)).thenReturn(1L);
 		service.deleteArticle(id1);
-		verify(repository).findById(id1);
+		verify(transactionManager).doInTransaction(eq(TransactionProfile.CONTENT), any());
 		verify(repository).delete(id1);
-		verifyNoMoreInteractions(ignoreStubs(repository));
+		verifyNoMoreInteractions(repository);
 	}
 	
 	@Test
 	public void testShouldThrowExceptionWhenDeletingNonExistingArticle() {
-		when(repository.findById(id1)).thenReturn(null);
+		when(repository.delete(id1)).thenReturn(0L);
 		assertThatThrownBy(() -> service.deleteArticle(id1))
 			.isInstanceOf(ArticleNotFoundException.class)
 			.hasMessage("Article not found with ID: " + id1);
+		verify(repository, never()).findById(any());
+	}
+	
+	@Test
+	public void testWatchArticlesSubscribesToTheChangeFeed() {
+		ArticleChangeListener listener = mock(ArticleChangeListener.class);
+		ArticleChangeFeed.Subscription subscription = mock(ArticleChangeFeed.Subscription.class);
+		when(changeFeed.watch(listener)).thenReturn(subscription);
+		assertThat(service.watchArticles(listener)).isSameAs(subscription);
+		verifyNoInteractions(transactionManager);
+	}
+	
+	@Test
+	public void testSaveArticlesSavesEachChunkOutsideTransactions() {
+		Article article1 = new Article(null, "Parmesan eggplants", "I like them");
+		Article article2 = new Article(null, "Fettuccine Alfredo", "America thinks it's something special");
+		Article article3 = new Article(null, "Steak", "My favourite");
+		Article saved1 = new Article(id1, article1.getTitle(), article1.getContent());
+		Article saved3 = new Article(id2, article3.getTitle(), article3.getContent());
+		when(repository.saveAll(Arrays.asList(article1, article2)))
+			.thenReturn(new BulkSaveResult(Arrays.asList(saved1), Map.of(1, "duplicate key")));
+		when(repository.saveAll(Arrays.asList(article3)))
+			.thenReturn(new BulkSaveResult(Arrays.asList(saved3), Map.of()));
+		BulkSaveResult result = service.saveArticles(Arrays.asList(article1, article2, article3), 2);
+		assertThat(result.getSavedArticles()).containsExactly(saved1, saved3);
+		assertThat(result.getErrors()).containsExactly(entry(1, "duplicate key"));
+		verify(transactionManager, times(2)).doWithoutTransaction(any());
+		verify(transactionManager, never()).doInTransaction(any(), any());
+	}
+	
+	@Test
+	public void testSaveArticlesReportsAFailedChunkAgainstEachOfItsArticles() {
+		Article article1 = new Article(null, "Parmesan eggplants", "I like them");
+		Article article2 = new Article(null, "Fettuccine Alfredo", "America thinks it's something special");
+		Article article3 = new Article(null, "Steak", "My favourite");
+		when(repository.saveAll(Arrays.asList(article1, article2))).thenThrow(new RuntimeException("Connection lost"));
+		when(repository.saveAll(Arrays.asList(article3))).thenThrow(new RuntimeException("Connection lost"));
+		BulkSaveResult result = service.saveArticles(Arrays.asList(article1, article2, article3), 2);
+		assertThat(result.getSavedArticles()).isEmpty();
+		assertThat(result.getErrors()).containsExactly(
+			entry(0, "Connection lost"), entry(1, "Connection lost"), entry(2, "Connection lost"));
+	}
+	
+	@Test
+	public void testSaveArticlesShouldThrowWhenChunkSizeIsNotPositive() {
+		List<Article> articles = Arrays.asList(article);
+		assertThatThrownBy(() -> service.saveArticles(articles, 0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Chunk size must be positive!");
+		verifyNoInteractions(transactionManager);
 	}
 }
@@ -0,0 +1,64 @@
+package com.michael.app.blog.transaction;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.repository.embedded.EmbeddedArticleStore;
+
+public class BlogEmbeddedTransactionManagerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private EmbeddedArticleStore store;
+	private BlogEmbeddedTransactionManager manager;
+
+	@Before
+	public void setUp() throws IOException {
+		store = new EmbeddedArticleStore(folder.getRoot().toPath().resolve("articles.log"));
+		manager = new BlogEmbeddedTransactionManager(store);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		store.close();
+	}
+
+	@Test
+	public void testTransactionReadsItsOwnWritesAndCommitsThemTogether() {
+		long count = manager.doInTransaction(TransactionProfile.CONTENT, repository -> {
+			repository.save(new Article(null, "Steak", "My favourite"));
+			repository.save(new Article(null, "Carbonara", "No cream"));
+			return (long) repository.findAll().size();
+		});
+		assertThat(count).isEqualTo(2);
+		assertThat(manager.getCommits()).isEqualTo(1);
+		assertThat(store.ids(null)).hasSize(2);
+	}
+
+	@Test
+	public void testFailedTransactionLeavesNoWrites() {
+		assertThatThrownBy(() -> manager.doInTransaction(TransactionProfile.LIGHTWEIGHT, repository -> {
+			repository.save(new Article(null, "Steak", "My favourite"));
+			throw new IllegalStateException("boom");
+		}))
+			.isInstanceOf(TransactionException.class)
+			.hasMessage("Transaction failed: boom");
+		assertThat(store.ids(null)).isEmpty();
+	}
+
+	@Test
+	public void testDoWithoutTransactionWrapsErrors() {
+		assertThatThrownBy(() -> manager.doWithoutTransaction(repository -> repository.save(null)))
+			.isInstanceOf(TransactionException.class)
+			.hasMessage("Operation failed: Cannot save null article!");
+	}
+}
@@ -0,0 +1,81 @@
+package com.michael.app.blog.transaction;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.repository.memory.BlogInMemoryRepository;
+import com.michael.app.blog.repository.memory.InMemoryArticleStore;
+import com.michael.app.blog.repository.memory.WriteConflictException;
+
+public class BlogInMemoryTransactionManagerTest {
+
+	private InMemoryArticleStore store;
+	private Article article;
+
+	@Before
+	public void setUp() {
+		store = new InMemoryArticleStore();
+		article = new BlogInMemoryRepository(store, null).save(new Article(null, "Steak", "My favourite"));
+	}
+
+	@Test
+	public void testConflictingTransactionIsRunAgain() {
+		BlogInMemoryTransactionManager manager = new BlogInMemoryTransactionManager(store, new RetryPolicy(1_000, 0, 0));
+		AtomicInteger attempts = new AtomicInteger();
+		long updated = manager.doInTransaction(TransactionProfile.CONTENT, repository -> {
+			Article current = repository.findById(article.getId());
+			if(attempts.getAndIncrement() == 0)
+				concurrentUpdate("Grilled steak");
+			return repository.update(new Article(current.getId(), current.getTitle() + "!", current.getContent()));
+		});
+		assertThat(updated).isEqualTo(1);
+		assertThat(attempts).hasValue(2);
+		assertThat(store.read(article.getId(), InMemoryArticleStore.LATEST).getTitle()).isEqualTo("Grilled steak!");
+		assertThat(manager.getConflicts()).isEqualTo(1);
+		assertThat(manager.getCommits()).isEqualTo(1);
+	}
+
+	@Test
+	public void testShouldThrowWhenRetriesAreExhausted() {
+		BlogInMemoryTransactionManager manager = new BlogInMemoryTransactionManager(store, RetryPolicy.NONE);
+		assertThatThrownBy(() -> manager.doInTransaction(TransactionProfile.DEFAULT, repository -> {
+			concurrentUpdate("Grilled steak");
+			return repository.update(new Article(article.getId(), "Raw steak", "My favourite"));
+		}))
+			.isInstanceOf(TransactionException.class)
+			.hasCauseInstanceOf(WriteConflictException.class);
+		assertThat(manager.getExhaustedRetries()).isEqualTo(1);
+		assertThat(store.getActiveTransactions()).isZero();
+	}
+
+	@Test
+	public void testFailedTransactionLeavesNoWrites() {
+		BlogInMemoryTransactionManager manager = new BlogInMemoryTransactionManager(store);
+		assertThatThrownBy(() -> manager.doInTransaction(TransactionProfile.DEFAULT, repository -> {
+			repository.delete(article.getId());
+			throw new IllegalStateException("boom");
+		}))
+			.isInstanceOf(TransactionException.class)
+			.hasMessage("Transaction failed: boom");
+		assertThat(store.read(article.getId(), InMemoryArticleStore.LATEST)).isEqualTo(article);
+	}
+
+	@Test
+	public void testDoWithoutTransactionWrapsErrors() {
+		BlogInMemoryTransactionManager manager = new BlogInMemoryTransactionManager(store);
+		Article found = manager.doWithoutTransaction(repository -> repository.findById(article.getId()));
+		assertThat(found).isEqualTo(article);
+		assertThatThrownBy(() -> manager.doWithoutTransaction(repository -> repository.save(null)))
+			.isInstanceOf(TransactionException.class)
+			.hasMessage("Operation failed: Cannot save null article!");
+	}
+
+	private void concurrentUpdate(String title) {
+		new BlogInMemoryRepository(store, null).update(new Article(article.getId(), title, article.getContent()));
+	}
+}
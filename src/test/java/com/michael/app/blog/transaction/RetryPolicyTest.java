@@ -0,0 +1,32 @@
+package com.michael.app.blog.transaction;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+
+public class RetryPolicyTest {
+
+	@Test
+	public void testBackoffStaysWithinTheExponentialBound() {
+		RetryPolicy policy = new RetryPolicy(1_000, 10, 50);
+		for(int i = 0; i < 100; i++) {
+			assertThat(policy.backoffMillis(0)).isBetween(0L, 10L);
+			assertThat(policy.backoffMillis(1)).isBetween(0L, 20L);
+			assertThat(policy.backoffMillis(40)).isBetween(0L, 50L);
+		}
+	}
+
+	@Test
+	public void testNoBackoffWhenInitialBackoffIsZero() {
+		assertThat(RetryPolicy.NONE.backoffMillis(3)).isZero();
+	}
+
+	@Test
+	public void testShouldThrowWhenPolicyIsInvalid() {
+		assertThatThrownBy(() -> new RetryPolicy(-1, 0, 0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Invalid retry policy!");
+		assertThatThrownBy(() -> new RetryPolicy(0, 10, 5))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -2,6 +2,9 @@ package com.michael.app.blog.transaction.mongo;
 
 import static org.mockito.Mockito.*;
 
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -16,8 +19,14 @@ import com.michael.app.blog.model.Article;
 import com.michael.app.blog.repository.BlogRepositoryFactory;
 import com.michael.app.blog.repository.mongo.BlogMongoRepository;
 import com.michael.app.blog.transaction.BlogMongoTransactionManager;
+import com.michael.app.blog.transaction.RetryPolicy;
+import com.michael.app.blog.transaction.TransactionProfile;
+import com.michael.app.blog.transaction.TransactionProfiles;
 import com.michael.app.blog.transaction.TransactionCode;
 import com.michael.app.blog.transaction.TransactionException;
+import com.mongodb.MongoException;
+import com.mongodb.TransactionOptions;
+import com.mongodb.WriteConcern;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
@@ -76,4 +85,116 @@ public class BlogMongoTransactionManagerTest {
 			.hasMessageContaining("Repository error");
 		verify(blogRepository).save(any(Article.class));
 	}
-}
\ No newline at end of file
+	
+	@Test
+	public void testDoWithoutTransactionRunsCodeInASessionWithoutTransaction() {
+		TransactionCode<Boolean> code = repository -> {
+			repository.findById(id);
+			return true;
+		};
+		assertThat(manager.doWithoutTransaction(code)).isTrue();
+		ArgumentCaptor<ClientSession> sessionCaptor = ArgumentCaptor.forClass(ClientSession.class);
+		verify(factory).createRepository(sessionCaptor.capture());
+		assertThat(sessionCaptor.getValue().hasActiveTransaction()).isFalse();
+		verify(blogRepository).findById(id);
+	}
+	
+	@Test
+	public void testDoWithoutTransactionWrapsExceptions() {
+		when(blogRepository.findById(id)).thenThrow(new RuntimeException("Repository error"));
+		TransactionCode<Article> code = repository -> repository.findById(id);
+		assertThatThrownBy(() -> manager.doWithoutTransaction(code))
+			.isInstanceOf(TransactionException.class)
+			.hasMessage("Operation failed: Repository error");
+	}
+	
+	@Test
+	public void testTransientTransactionErrorIsRetried() {
+		when(blogRepository.findById(id))
+			.thenThrow(transientError())
+			.thenReturn(new Article(id, "title", "content"));
+		manager = new BlogMongoTransactionManager(client, factory, new RetryPolicy(10_000, 0, 0), TransactionProfiles.DEFAULT);
+		Article result = manager.doInTransaction(repository -> repository.findById(id));
+		assertThat(result.getId()).isEqualTo(id);
+		verify(blogRepository, times(2)).findById(id);
+		assertThat(manager.getTransactionRetries()).isEqualTo(1);
+		assertThat(manager.getExhaustedRetries()).isZero();
+	}
+	
+	@Test
+	public void testTransientTransactionErrorFailsOnceTheTimeBudgetIsSpent() {
+		when(blogRepository.findById(id)).thenThrow(transientError());
+		manager = new BlogMongoTransactionManager(client, factory, RetryPolicy.NONE, TransactionProfiles.DEFAULT);
+		TransactionCode<Article> code = repository -> repository.findById(id);
+		assertThatThrownBy(() -> manager.doInTransaction(code))
+			.isInstanceOf(TransactionException.class)
+			.hasMessage("Transaction failed: Write conflict");
+		verify(blogRepository, times(1)).findById(id);
+		assertThat(manager.getTransactionRetries()).isZero();
+		assertThat(manager.getExhaustedRetries()).isEqualTo(1);
+	}
+	
+	@Test
+	public void testOtherErrorsAreNotRetried() {
+		when(blogRepository.findById(id)).thenThrow(new RuntimeException("Repository error"));
+		TransactionCode<Article> code = repository -> repository.findById(id);
+		assertThatThrownBy(() -> manager.doInTransaction(code))
+			.isInstanceOf(TransactionException.class);
+		verify(blogRepository, times(1)).findById(id);
+		assertThat(manager.getTransactionRetries()).isZero();
+		assertThat(manager.getExhaustedRetries()).isZero();
+	}
+	
+	@Test
+	public void testUnknownCommitResultRetriesOnlyTheCommit() {
+		MongoClient mockClient = mock(MongoClient.class);
+		ClientSession session = mock(ClientSession.class);
+		when(mockClient.startSession()).thenReturn(session);
+		MongoException unknownCommitResult = new MongoException("Connection reset");
+		unknownCommitResult.addLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL);
+		doThrow(unknownCommitResult).doNothing().when(session).commitTransaction();
+		manager = new BlogMongoTransactionManager(mockClient, factory, new RetryPolicy(10_000, 0, 0), TransactionProfiles.DEFAULT);
+		TransactionCode<Long> code = repository -> repository.delete(id);
+		assertThat(manager.doInTransaction(code)).isZero();
+		verify(blogRepository, times(1)).delete(id);
+		verify(session, times(2)).commitTransaction();
+		assertThat(manager.getCommitRetries()).isEqualTo(1);
+	}
+	
+	@Test
+	public void testTransientCommitErrorRetriesTheWholeTransaction() {
+		MongoClient mockClient = mock(MongoClient.class);
+		ClientSession session = mock(ClientSession.class);
+		when(mockClient.startSession()).thenReturn(session);
+		doThrow(transientError()).doNothing().when(session).commitTransaction();
+		manager = new BlogMongoTransactionManager(mockClient, factory, new RetryPolicy(10_000, 0, 0), TransactionProfiles.DEFAULT);
+		manager.doInTransaction(repository -> repository.delete(id));
+		verify(blogRepository, times(2)).delete(id);
+		verify(session, times(2)).startTransaction(any(TransactionOptions.class));
+		verify(session, never()).abortTransaction();
+		assertThat(manager.getTransactionRetries()).isEqualTo(1);
+	}
+	
+	private MongoException transientError() {
+		MongoException error = new MongoException(112, "Write conflict");
+		error.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+		return error;
+	}
+	
+	@Test
+	public void testDoInTransactionStartsTheTransactionWithTheProfileOptions() {
+		MongoClient mockClient = mock(MongoClient.class);
+		ClientSession session = mock(ClientSession.class);
+		when(mockClient.startSession()).thenReturn(session);
+		TransactionOptions contentOptions = TransactionOptions.builder()
+			.writeConcern(WriteConcern.MAJORITY)
+			.maxCommitTime(5L, TimeUnit.SECONDS)
+			.build();
+		manager = new BlogMongoTransactionManager(mockClient, factory, RetryPolicy.DEFAULT,
+			new TransactionProfiles(Map.of(TransactionProfile.CONTENT, contentOptions)));
+		manager.doInTransaction(TransactionProfile.CONTENT, repository -> repository.delete(id));
+		manager.doInTransaction(repository -> repository.delete(id));
+		verify(session).startTransaction(contentOptions);
+		verify(session).startTransaction(TransactionOptions.builder().build());
+	}
+}
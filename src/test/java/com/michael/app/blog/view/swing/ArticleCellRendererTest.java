@@ -0,0 +1,74 @@
+package com.michael.app.blog.view.swing;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.image.BufferedImage;
+import java.util.Set;
+
+import javax.swing.JList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.michael.app.blog.model.ArticleSummary;
+import com.michael.app.blog.model.Tag;
+import com.michael.app.blog.model.TagSet;
+
+public class ArticleCellRendererTest {
+
+	private FontMetrics metrics;
+
+	@Before
+	public void setUp() {
+		metrics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).getGraphics()
+			.getFontMetrics(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+	}
+
+	@Test
+	public void testShortTextIsNotTruncated() {
+		assertThat(ArticleCellRenderer.truncate("Steak", metrics, metrics.stringWidth("Steak"))).isEqualTo("Steak");
+	}
+
+	@Test
+	public void testLongTextIsTruncatedWithinTheWidth() {
+		String title = "Parmesan eggplants with extra cheese";
+		int maxWidth = metrics.stringWidth("Parmesan eggplants");
+		String truncated = ArticleCellRenderer.truncate(title, metrics, maxWidth);
+		assertThat(truncated).startsWith("Parmesan").endsWith("...");
+		assertThat(metrics.stringWidth(truncated)).isLessThanOrEqualTo(maxWidth);
+	}
+
+	@Test
+	public void testBadgesStopAtTheMaximumWidth() {
+		TagSet tags = TagSet.copyOf(Set.of(new Tag("cooking"), new Tag("tech")));
+		int all = ArticleCellRenderer.badgesWidth(metrics, tags, Integer.MAX_VALUE);
+		assertThat(all).isPositive();
+		assertThat(ArticleCellRenderer.badgesWidth(metrics, tags, all - 1)).isLessThan(all);
+		assertThat(ArticleCellRenderer.badgesWidth(metrics, TagSet.EMPTY, Integer.MAX_VALUE)).isZero();
+	}
+
+	@Test
+	public void testPrototypeFixesTheCellSize() {
+		JList<ArticleSummary> list = new JList<>();
+		ArticleCellRenderer renderer = new ArticleCellRenderer();
+		list.setCellRenderer(renderer);
+		list.setPrototypeCellValue(ArticleCellRenderer.PROTOTYPE);
+		assertThat(list.getFixedCellHeight()).isEqualTo(renderer.getPreferredSize().height);
+		assertThat(list.getFixedCellWidth()).isEqualTo(renderer.getPreferredSize().width);
+	}
+
+	@Test
+	public void testRendererPaintsTitleAndBadges() {
+		JList<ArticleSummary> list = new JList<>();
+		ArticleSummary article = new ArticleSummary("000000000000000000000000", "Parmesan eggplants",
+			Set.of(new Tag("cooking"), new Tag("italian")));
+		ArticleCellRenderer renderer = new ArticleCellRenderer();
+		assertThat(renderer.getListCellRendererComponent(list, article, 0, true, false)).isSameAs(renderer);
+		assertThat(renderer.getBackground()).isEqualTo(list.getSelectionBackground());
+		renderer.setSize(renderer.getPreferredSize());
+		BufferedImage image = new BufferedImage(renderer.getWidth(), renderer.getHeight(), BufferedImage.TYPE_INT_RGB);
+		assertThatCode(() -> renderer.paint(image.getGraphics())).doesNotThrowAnyException();
+	}
+}
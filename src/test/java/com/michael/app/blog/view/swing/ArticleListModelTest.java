@@ -0,0 +1,144 @@
+package com.michael.app.blog.view.swing;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.swing.JList;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
+
+public class ArticleListModelTest {
+
+	private ArticleListModel model;
+	private List<String> events;
+	private Article article1;
+	private Article article2;
+	private Article article3;
+	private Article article4;
+
+	@Before
+	public void setUp() {
+		model = new ArticleListModel();
+		events = new ArrayList<>();
+		article1 = new Article("000000000000000000000000", "Parmesan eggplants", "I like them");
+		article2 = new Article("000000000000000000000001", "Fettuccine Alfredo", "America thinks it's something special");
+		article3 = new Article("000000000000000000000002", "Steak", "My favourite");
+		article4 = new Article("000000000000000000000003", "Carbonara", "No cream");
+	}
+
+	@Test
+	public void testAddAllFiresOneInterval() {
+		model.addElement(article1);
+		listen();
+		model.addAll(Arrays.asList(article2, article3));
+		assertThat(Collections.list(model.elements())).containsExactly(article1, article2, article3);
+		assertThat(events).containsExactly("added 1-2");
+	}
+
+	@Test
+	public void testIndexOfIdFollowsStructuralChanges() {
+		model.addAll(Arrays.asList(article1, article2, article3));
+		assertThat(model.indexOfId(article3.getId())).isEqualTo(2);
+		model.remove(0);
+		assertThat(model.indexOfId(article3.getId())).isEqualTo(1);
+		assertThat(model.indexOfId(article1.getId())).isEqualTo(-1);
+		model.addElement(article4);
+		assertThat(model.indexOfId(article4.getId())).isEqualTo(2);
+	}
+
+	@Test
+	public void testReplaceAllFiresOneChangeForTheCommonRows() {
+		model.addAll(Arrays.asList(article1, article2, article3));
+		listen();
+		model.replaceAll(Arrays.asList(article4, article1));
+		assertThat(Collections.list(model.elements())).containsExactly(article4, article1);
+		assertThat(events).containsExactly("removed 2-2", "changed 0-1");
+	}
+
+	@Test
+	public void testRefreshWithSameContentsFiresNothing() {
+		model.addAll(Arrays.asList(article1, article2));
+		listen();
+		model.refresh(Arrays.asList(article1, new Article(article2.getId(), article2.getTitle(), article2.getContent())));
+		assertThat(events).isEmpty();
+	}
+
+	@Test
+	public void testRefreshFiresOnlyTheDifferences() {
+		model.addAll(Arrays.asList(article1, article2, article3));
+		listen();
+		Article changed = new Article(article3.getId(), "Grilled steak", "My favourite");
+		model.refresh(Arrays.asList(article1, article4, changed));
+		assertThat(Collections.list(model.elements())).containsExactly(article1, article4, changed);
+		assertThat(events).containsExactly("removed 1-1", "added 1-1", "changed 2-2");
+	}
+
+	@Test
+	public void testRefreshMovesReorderedRows() {
+		model.addAll(Arrays.asList(article1, article2, article3));
+		listen();
+		model.refresh(Arrays.asList(article3, article1, article2));
+		assertThat(Collections.list(model.elements())).containsExactly(article3, article1, article2);
+		assertThat(model.indexOfId(article2.getId())).isEqualTo(2);
+		assertThat(events).containsExactly("changed 0-2");
+	}
+
+	@Test
+	public void testReorderingDoesNotDropTheSelection() {
+		model.addAll(Arrays.asList(article1, article2, article3));
+		JList<ArticleSummary> list = new JList<>(model);
+		list.setSelectedIndex(1);
+		List<Integer> selectionEvents = new ArrayList<>();
+		list.addListSelectionListener(e -> selectionEvents.add(list.getSelectedIndex()));
+		model.refresh(Arrays.asList(article2, article3, article1));
+		assertThat(list.getSelectedIndex()).isEqualTo(1);
+		assertThat(selectionEvents).isEmpty();
+	}
+
+	@Test
+	public void testRefreshToEmptyRemovesEveryRowAtOnce() {
+		model.addAll(Arrays.asList(article1, article2, article3));
+		listen();
+		model.refresh(Collections.emptyList());
+		assertThat(model.isEmpty()).isTrue();
+		assertThat(events).containsExactly("removed 0-2");
+	}
+
+	@Test
+	public void testRefreshKeepsTheSelectionOnTheSameArticle() {
+		model.addAll(Arrays.asList(article1, article2, article3));
+		JList<ArticleSummary> list = new JList<>(model);
+		list.setSelectedIndex(2);
+		model.refresh(Arrays.asList(article4, article2, article3));
+		assertThat(list.getSelectedValue()).isEqualTo(article3);
+	}
+
+	private void listen() {
+		model.addListDataListener(new ListDataListener() {
+			@Override
+			public void intervalAdded(ListDataEvent e) {
+				events.add("added " + e.getIndex0() + "-" + e.getIndex1());
+			}
+
+			@Override
+			public void intervalRemoved(ListDataEvent e) {
+				events.add("removed " + e.getIndex0() + "-" + e.getIndex1());
+			}
+
+			@Override
+			public void contentsChanged(ListDataEvent e) {
+				events.add("changed " + e.getIndex0() + "-" + e.getIndex1());
+			}
+		});
+	}
+}
@@ -10,6 +10,7 @@ import org.mockito.MockitoAnnotations;
 
 import com.michael.app.blog.controller.BlogController;
 import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.ArticleSummary;
 import com.michael.app.blog.model.Tag;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -94,9 +95,10 @@ public class BlogSwingViewTest extends AssertJSwingJUnitTestCase{
 	}
 	
 	@Test
-	public void startShouldCallControllerAllArticlesAndSetShowingToTrue() {
+	public void startShouldCallControllerFirstArticlesPageAndSetShowingToTrue() {
 		GuiActionRunner.execute(() -> blogView.start());
-		verify(blogController).allArticles();
+		verify(blogController).articlesPage(null, BlogSwingView.ARTICLE_PAGE_SIZE);
+		verify(blogController).watchArticles();
 		window.requireVisible();
 	}
 	
@@ -175,9 +177,32 @@ public class BlogSwingViewTest extends AssertJSwingJUnitTestCase{
 		window.button(JButtonMatcher.withText("Filter")).requireEnabled();
 	}
 	
+	@Test @GUITest
+	public void testSearchButtonFollowsTheFilterText() {
+		window.button(JButtonMatcher.withText("Search")).requireDisabled();
+		window.textBox("FilterTextBox").enterText(" ");
+		window.button(JButtonMatcher.withText("Search")).requireDisabled();
+		window.textBox("FilterTextBox").enterText("parmesan");
+		window.button(JButtonMatcher.withText("Search")).requireEnabled();
+	}
+	
+	@Test @GUITest
+	public void testSearchButtonDelegatesToTheController() {
+		window.textBox("FilterTextBox").enterText("parmesan");
+		window.button(JButtonMatcher.withText("Search")).click();
+		verify(blogController).searchArticles("parmesan", BlogSwingView.SEARCH_LIMIT);
+	}
+	
+	@Test @GUITest
+	public void testShowSearchResultsReplacesTheList() {
+		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(article1));
+		GuiActionRunner.execute(() -> blogView.showSearchResults(Arrays.asList(article2)));
+		assertThat(window.list("articleList").contents()).containsExactly(article2.toString());
+	}
+	
 	@Test @GUITest
 	public void testWhenArticleIsSelectedTitleContentAndTagsAreShown() {
-		article1.addTag(tag);
+		article1 = article1.withTag(tag);
 		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(article1));
 		window.list("articleList").selectItem(0);
 		window.textBox("TitleTextBox").requireText(title);
@@ -186,6 +211,36 @@ public class BlogSwingViewTest extends AssertJSwingJUnitTestCase{
 		assertThat(listContents).containsExactly(tag.toString());
 	}
 	
+	@Test @GUITest
+	public void testWhenASummaryIsSelectedTitleAndTagsAreShownAndContentIsRequested() {
+		Set<Tag> tags = new HashSet<>();
+		tags.add(tag);
+		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(new ArticleSummary(id1, title, tags)));
+		window.list("articleList").selectItem(0);
+		window.textBox("TitleTextBox").requireText(title);
+		window.textBox("ContentTextBox").requireText("");
+		assertThat(window.list("tagList").contents()).containsExactly(tag.toString());
+		verify(blogController).article(id1);
+	}
+	
+	@Test @GUITest
+	public void testShowArticleFillsTheContentOfTheSelectedSummary() {
+		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(new ArticleSummary(id1, title, new HashSet<>())));
+		window.list("articleList").selectItem(0);
+		GuiActionRunner.execute(() -> blogView.showArticle(article1));
+		window.textBox("ContentTextBox").requireText(content);
+		window.button(JButtonMatcher.withText("Save")).requireEnabled();
+	}
+	
+	@Test @GUITest
+	public void testShowArticleIsIgnoredWhenItIsNotTheSelectedArticle() {
+		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(
+			new ArticleSummary("000000000000000000000002", "Steak", new HashSet<>())));
+		window.list("articleList").selectItem(0);
+		GuiActionRunner.execute(() -> blogView.showArticle(article1));
+		window.textBox("ContentTextBox").requireText("");
+	}
+	
 	@Test @GUITest
 	public void testWhenATagIsSelectedTagLabelIsShown() {
 		GuiActionRunner.execute(() -> blogView.getListTagsModel().addElement(tag));
@@ -206,6 +261,62 @@ public class BlogSwingViewTest extends AssertJSwingJUnitTestCase{
 		assertThat(listContents).containsExactly(article1.toString(), article2.toString());
 	}
 	
+	@Test @GUITest
+	public void testShowArticlesPageReplacesTheListWithTheFirstPage() {
+		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(
+			new Article("000000000000000000000002", "Steak", "My favourite")
+		));
+		GuiActionRunner.execute(() -> blogView.start());
+		GuiActionRunner.execute(() ->
+			blogView.showArticlesPage(null, Arrays.<ArticleSummary>asList(article1, article2))
+		);
+		String[] listContents = window.list("articleList").contents();
+		assertThat(listContents).containsExactly(article1.toString(), article2.toString());
+	}
+	
+	@Test @GUITest
+	public void testShowArticlesPageAppendsFollowingPages() {
+		Article article3 = new Article("000000000000000000000002", "Steak", "My favourite");
+		GuiActionRunner.execute(() -> blogView.start());
+		GuiActionRunner.execute(() -> blogView.showArticlesPage(null, Arrays.<ArticleSummary>asList(article1)));
+		GuiActionRunner.execute(() -> blogView.showArticlesPage(id1, Arrays.<ArticleSummary>asList(article3)));
+		String[] listContents = window.list("articleList").contents();
+		assertThat(listContents).containsExactly(article1.toString(), article3.toString());
+	}
+	
+	@Test @GUITest
+	public void testRefreshReorderingTheListKeepsTheSelectedArticle() {
+		GuiActionRunner.execute(() -> blogView.showAllArticles(Arrays.asList(article1, article2)));
+		window.list("articleList").selectItem(0);
+		GuiActionRunner.execute(() -> blogView.showAllArticles(Arrays.asList(article2, article1)));
+		window.list("articleList").requireSelection(article1.toString());
+		window.textBox("TitleTextBox").requireText(article1.getTitle());
+		window.textBox("ContentTextBox").requireText(article1.getContent());
+	}
+	
+	@Test @GUITest
+	public void testRefreshDroppingTheSelectedArticleClearsTheDetails() {
+		GuiActionRunner.execute(() -> blogView.showAllArticles(Arrays.asList(article1, article2)));
+		window.list("articleList").selectItem(0);
+		GuiActionRunner.execute(() -> blogView.showAllArticles(Arrays.asList(article2)));
+		window.list("articleList").requireNoSelection();
+		window.textBox("TitleTextBox").requireText("");
+		window.textBox("ContentTextBox").requireText("");
+	}
+	
+	@Test @GUITest
+	public void testArticleChangesAreAppliedToTheListInOneFlush() {
+		Article updatedArticle = new Article(id1, "Steak", "My favourite");
+		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(article1));
+		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(article2));
+		blogView.articleChanged(new Article(id1, "Lasagna", "Too heavy"));
+		blogView.articleChanged(updatedArticle);
+		blogView.articleRemoved(id2);
+		GuiActionRunner.execute(() -> blogView.flushChanges());
+		String[] listContents = window.list("articleList").contents();
+		assertThat(listContents).containsExactly(updatedArticle.toString());
+	}
+	
 	@Test @GUITest
 	public void testShowErrorShouldShowTheMessageInTheErrorLabel() {
 		GuiActionRunner.execute(
@@ -214,6 +325,16 @@ public class BlogSwingViewTest extends AssertJSwingJUnitTestCase{
 		window.label("errorMessageLabel").requireText("error message");
 	}
 	
+	@Test @GUITest
+	public void testShowErrorDoesNotEndAPageLoadInFlight() {
+		GuiActionRunner.execute(() -> blogView.getListArticlesModel().reload(null));
+		GuiActionRunner.execute(() -> blogView.showError("error message"));
+		assertThat(blogView.getListArticlesModel().isLoading()).isTrue();
+		GuiActionRunner.execute(() -> blogView.showPageError(null, "page error"));
+		assertThat(blogView.getListArticlesModel().isLoading()).isFalse();
+		window.label("errorMessageLabel").requireText("page error");
+	}
+	
 	@Test @GUITest
 	public void testArticleAddedAddsTheArticleToTheListAndResetsTheErrorLabel() {
 		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(article1));
@@ -240,12 +361,22 @@ public class BlogSwingViewTest extends AssertJSwingJUnitTestCase{
 		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(article1));
 		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(article2));
 		window.list("articleList").selectItem(0);
-		GuiActionRunner.execute(() -> blogView.articleDeleted());
+		GuiActionRunner.execute(() -> blogView.articleDeleted(article1.getId()));
 		String[] listContents = window.list("articleList").contents();
 		assertThat(listContents).containsExactly(article2.toString());
 		window.label("errorMessageLabel").requireText(" ");
 	}
 	
+	@Test @GUITest
+	public void testArticleDeletedRemovesTheDeletedArticleNotTheSelectedOne() {
+		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(article1));
+		GuiActionRunner.execute(() -> blogView.getListArticlesModel().addElement(article2));
+		window.list("articleList").selectItem(1);
+		GuiActionRunner.execute(() -> blogView.articleDeleted(article1.getId()));
+		String[] listContents = window.list("articleList").contents();
+		assertThat(listContents).containsExactly(article2.toString());
+	}
+	
 	@Test @GUITest
 	public void testAddedTagAddsTheTagToTheListAndResetsTheErrorLabel() {
 		window.textBox("TagTextBox").enterText("test");
@@ -385,7 +516,7 @@ public class BlogSwingViewTest extends AssertJSwingJUnitTestCase{
 		window.list("articleList").selectItem(0);
 		GuiActionRunner.execute(() -> blogView.getListTagsModel().addElement(tag));
 		window.list("tagList").selectItem(0);
-		GuiActionRunner.execute(() -> blogView.articleDeleted());
+		GuiActionRunner.execute(() -> blogView.articleDeleted(article1.getId()));
 		window.textBox("TitleTextBox").requireEmpty();
 		window.textBox("ContentTextBox").requireEmpty();
 		window.list("articleList").requireNoSelection();
@@ -423,16 +554,16 @@ public class BlogSwingViewTest extends AssertJSwingJUnitTestCase{
 	}
 	
 	@Test
-	public void testFilterShouldDelegateToBlogControllerAllArticlesWithTag() {
+	public void testFilterShouldDelegateToBlogControllerFirstArticlesPageWithTag() {
 		window.textBox("FilterTextBox").enterText("test");
 		window.button(JButtonMatcher.withText("Filter")).click();
-		verify(blogController).allArticlesWithTag("test");
+		verify(blogController).articlesPageWithTag("test", null, BlogSwingView.ARTICLE_PAGE_SIZE);
 	}
 
 	@Test
-	public void testResetShouldDelegateToBlogControllerAllArticles() {
+	public void testResetShouldDelegateToBlogControllerFirstArticlesPage() {
 		window.button(JButtonMatcher.withText("Reset")).click();
-		verify(blogController).allArticles();
+		verify(blogController).articlesPage(null, BlogSwingView.ARTICLE_PAGE_SIZE);
 	}
 	
 	@Test
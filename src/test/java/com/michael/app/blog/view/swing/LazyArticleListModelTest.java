@@ -0,0 +1,233 @@
+package com.michael.app.blog.view.swing;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.michael.app.blog.model.Article;
+import com.michael.app.blog.model.Tag;
+
+public class LazyArticleListModelTest {
+
+	@Mock
+	private LazyArticleListModel.PageLoader pageLoader;
+
+	private AutoCloseable closeable;
+	private LazyArticleListModel model;
+	private Article article1;
+	private Article article2;
+	private Article article3;
+
+	@Before
+	public void setUp() {
+		closeable = MockitoAnnotations.openMocks(this);
+		model = new LazyArticleListModel(pageLoader, 2);
+		article1 = new Article("000000000000000000000000", "Parmesan eggplants", "I like them");
+		article2 = new Article("000000000000000000000001", "Fettuccine Alfredo", "America thinks it's something special");
+		article3 = new Article("000000000000000000000002", "Steak", "My favourite");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		closeable.close();
+	}
+
+	@Test
+	public void testShouldThrowExceptionWhenPageSizeIsNotPositive() {
+		assertThatThrownBy(() -> new LazyArticleListModel(pageLoader, 0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Page size must be positive!");
+	}
+
+	@Test
+	public void testNothingIsLoadedBeforeReload() {
+		model.loadMore();
+		verifyNoInteractions(pageLoader);
+		assertThat(model.isExhausted()).isTrue();
+	}
+
+	@Test
+	public void testReloadRequestsTheFirstPage() {
+		model.reload("cooking");
+		verify(pageLoader).loadPage("cooking", null, 2);
+		assertThat(model.isLoading()).isTrue();
+	}
+
+	@Test
+	public void testFirstPageReplacesContents() {
+		model.addElement(article3);
+		model.reload(null);
+		model.pageLoaded(null, Arrays.asList(article1, article2));
+		assertThat(Collections.list(model.elements())).containsExactly(article1, article2);
+		assertThat(model.isLoading()).isFalse();
+		assertThat(model.isExhausted()).isFalse();
+	}
+
+	@Test
+	public void testLoadMoreRequestsThePageAfterTheLastLoadedId() {
+		model.reload(null);
+		model.pageLoaded(null, Arrays.asList(article1, article2));
+		model.loadMore();
+		verify(pageLoader).loadPage(null, article2.getId(), 2);
+	}
+
+	@Test
+	public void testLoadMoreIsIgnoredWhileAPageIsLoading() {
+		model.reload(null);
+		model.loadMore();
+		verify(pageLoader).loadPage(null, null, 2);
+		verifyNoMoreInteractions(pageLoader);
+	}
+
+	@Test
+	public void testFollowingPageIsAppendedAndShortPageExhaustsTheListing() {
+		model.reload(null);
+		model.pageLoaded(null, Arrays.asList(article1, article2));
+		model.loadMore();
+		model.pageLoaded(article2.getId(), Arrays.asList(article3));
+		assertThat(Collections.list(model.elements())).containsExactly(article1, article2, article3);
+		assertThat(model.isExhausted()).isTrue();
+		model.loadMore();
+		verify(pageLoader, times(2)).loadPage(any(), any(), eq(2));
+	}
+
+	@Test
+	public void testOutOfSequencePageIsDropped() {
+		model.reload(null);
+		model.pageLoaded(article1.getId(), Arrays.asList(article3));
+		assertThat(model.isEmpty()).isTrue();
+		assertThat(model.isLoading()).isTrue();
+	}
+
+	@Test
+	public void testPageFailedAllowsLoadingAgain() {
+		model.reload(null);
+		model.pageFailed(null);
+		model.loadMore();
+		verify(pageLoader, times(2)).loadPage(null, null, 2);
+	}
+
+	@Test
+	public void testFailureOfAnotherPageKeepsLoading() {
+		model.reload(null);
+		model.pageFailed(article1.getId());
+		model.loadMore();
+		assertThat(model.isLoading()).isTrue();
+		verify(pageLoader).loadPage(null, null, 2);
+	}
+
+	@Test
+	public void testShowAllReplacesContentsAndStopsPaging() {
+		model.reload(null);
+		model.showAll(Arrays.asList(article1, article2));
+		assertThat(Collections.list(model.elements())).containsExactly(article1, article2);
+		assertThat(model.isExhausted()).isTrue();
+		assertThat(model.isLoading()).isFalse();
+	}
+
+	@Test
+	public void testSearchResultsDoNotTakeNewArticles() {
+		model.showSearchResults(Arrays.asList(article2, article1));
+		model.articleAdded(article3);
+		model.applyChanges(Collections.singletonMap(article3.getId(), article3));
+		assertThat(Collections.list(model.elements())).containsExactly(article2, article1);
+		assertThat(model.isShowingSearchResults()).isTrue();
+		model.reload(null);
+		assertThat(model.isShowingSearchResults()).isFalse();
+	}
+
+	@Test
+	public void testArticleAddedIsAppendedOnlyWhenAllPagesAreLoaded() {
+		model.reload(null);
+		model.pageLoaded(null, Arrays.asList(article1, article2));
+		model.articleAdded(article3);
+		assertThat(Collections.list(model.elements())).containsExactly(article1, article2);
+		model.loadMore();
+		model.pageLoaded(article2.getId(), Collections.emptyList());
+		model.articleAdded(article3);
+		assertThat(Collections.list(model.elements())).containsExactly(article1, article2, article3);
+	}
+	
+	@Test
+	public void testApplyChangesReplacesRemovesAndAppendsInOnePass() {
+		Article updated = new Article(article1.getId(), "Lasagna", "Too heavy");
+		model.reload(null);
+		model.pageLoaded(null, Arrays.asList(article1, article2));
+		model.loadMore();
+		model.pageLoaded(article2.getId(), Collections.emptyList());
+		Map<String, Article> changes = new LinkedHashMap<>();
+		changes.put(article2.getId(), null);
+		changes.put(article1.getId(), updated);
+		changes.put(article3.getId(), article3);
+		model.applyChanges(changes);
+		assertThat(Collections.list(model.elements())).containsExactly(updated, article3);
+	}
+	
+	@Test
+	public void testApplyChangesDoesNotAppendBeforeAllPagesAreLoaded() {
+		model.reload(null);
+		model.pageLoaded(null, Arrays.asList(article1, article2));
+		model.applyChanges(Collections.singletonMap(article3.getId(), article3));
+		assertThat(Collections.list(model.elements())).containsExactly(article1, article2);
+	}
+	
+	@Test
+	public void testApplyChangesDropsArticlesOutsideTheFilter() {
+		Tag tag = new Tag("cooking");
+		Article tagged = new Article(article1.getId(), article1.getTitle(), article1.getContent());
+		tagged = tagged.withTag(tag);
+		model.reload("cooking");
+		model.pageLoaded(null, Arrays.asList(tagged));
+		model.applyChanges(Collections.singletonMap(article1.getId(), article1));
+		assertThat(model.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void testApplyChangesMatchesTheFilterIgnoringCase() {
+		Article tagged = new Article(article1.getId(), article1.getTitle(), article1.getContent())
+			.withTag(new Tag("Cooking"));
+		model.reload("COOKING");
+		model.pageLoaded(null, Arrays.asList(tagged));
+		model.applyChanges(Collections.singletonMap(tagged.getId(), tagged));
+		assertThat(Collections.list(model.elements())).containsExactly(tagged);
+	}
+
+	@Test
+	public void testArticleAddedSkipsArticlesAlreadyListed() {
+		model.reload(null);
+		model.pageLoaded(null, Arrays.asList(article1));
+		model.applyChanges(Collections.singletonMap(article2.getId(), article2));
+		model.articleAdded(article2);
+		assertThat(Collections.list(model.elements())).containsExactly(article1, article2);
+	}
+
+	@Test
+	public void testSearchResultsAreNotFilteredByThePreviousTag() {
+		model.reload("cooking");
+		model.pageLoaded(null, Arrays.asList());
+		model.showSearchResults(Arrays.asList(article1));
+		Article edited = new Article(article1.getId(), article1.getTitle(), "Now I don't like them");
+		model.applyChanges(Collections.singletonMap(edited.getId(), edited));
+		assertThat(Collections.list(model.elements())).containsExactly(edited);
+		model.loadMore();
+		verify(pageLoader).loadPage("cooking", null, 2);
+		verifyNoMoreInteractions(pageLoader);
+	}
+
+	@Test
+	public void testIndexOfIdComparesIdsOnly() {
+		model.showAll(Arrays.asList(article1, article2));
+		assertThat(model.indexOfId(article2.getId())).isEqualTo(1);
+		assertThat(model.indexOfId(article3.getId())).isEqualTo(-1);
+	}
+}